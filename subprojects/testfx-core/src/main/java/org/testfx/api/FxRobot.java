@@ -50,6 +50,7 @@ import org.testfx.service.query.NodeQuery;
 import org.testfx.service.query.PointQuery;
 import org.testfx.service.support.Capture;
 import org.testfx.util.BoundsQueryUtils;
+import org.testfx.util.WaitForAsyncUtils;
 
 import static org.testfx.util.NodeQueryUtils.isVisible;
 import static org.testfx.util.WaitForAsyncUtils.asyncFx;
@@ -61,7 +62,8 @@ public class FxRobot implements FxRobotInterface {
     private final FxRobotContext context;
 
     /**
-     * Constructs all robot-related implementations and sets {@link #targetPos(Pos)} to {@link Pos#CENTER}.
+     * Creates a robot backed by a new {@link FxRobotContext}, which shares the stateless robot-related services of
+     * {@link FxService#serviceContext()}, and sets {@link #targetPos(Pos)} to {@link Pos#CENTER}.
      */
     public FxRobot() {
         context = new FxRobotContext();
@@ -448,6 +450,18 @@ public class FxRobot implements FxRobotInterface {
         return this;
     }
 
+    @Override
+    public FxRobot waitForPulses(int pulseCount) {
+        WaitForAsyncUtils.waitForPulses(pulseCount);
+        return this;
+    }
+
+    @Override
+    public FxRobot waitForQuietPulse() {
+        WaitForAsyncUtils.waitForQuietPulse();
+        return this;
+    }
+
     @Override
     public FxRobot push(KeyCode... combination) {
         context.getTypeRobot().push(combination);
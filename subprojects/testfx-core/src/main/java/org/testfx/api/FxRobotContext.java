@@ -17,6 +17,7 @@
 package org.testfx.api;
 
 import javafx.geometry.Pos;
+import javafx.stage.Window;
 
 import org.testfx.robot.BaseRobot;
 import org.testfx.robot.ClickRobot;
@@ -28,73 +29,77 @@ import org.testfx.robot.ScrollRobot;
 import org.testfx.robot.SleepRobot;
 import org.testfx.robot.TypeRobot;
 import org.testfx.robot.WriteRobot;
-import org.testfx.robot.impl.BaseRobotImpl;
 import org.testfx.robot.impl.ClickRobotImpl;
 import org.testfx.robot.impl.DragRobotImpl;
 import org.testfx.robot.impl.KeyboardRobotImpl;
 import org.testfx.robot.impl.MouseRobotImpl;
 import org.testfx.robot.impl.MoveRobotImpl;
 import org.testfx.robot.impl.ScrollRobotImpl;
-import org.testfx.robot.impl.SleepRobotImpl;
 import org.testfx.robot.impl.TypeRobotImpl;
 import org.testfx.robot.impl.WriteRobotImpl;
 import org.testfx.service.finder.NodeFinder;
 import org.testfx.service.finder.WindowFinder;
 import org.testfx.service.locator.BoundsLocator;
 import org.testfx.service.locator.PointLocator;
-import org.testfx.service.locator.impl.BoundsLocatorImpl;
-import org.testfx.service.locator.impl.PointLocatorImpl;
 import org.testfx.service.support.CaptureSupport;
-import org.testfx.service.support.impl.CaptureSupportImpl;
 
 /**
  * Stores the robot implementations, the window and node finders, position calculators, and capture support for
  * {@link FxRobot}.
+ * <p>
+ * The stateless services, most notably the {@link BaseRobot}, are taken from the shared {@link FxServiceContext}.
+ * The robots that keep per-test state, i.e. the pressed mouse buttons and keys, are owned by this context and are
+ * created on first use; {@link #reset()} clears that state.
+ * <p>
+ * The target window is not per-test state: it is held by the {@link WindowFinder} of the shared
+ * {@link FxServiceContext}, which the node lookups of {@link FxAssert} use as well, so it is global to the JVM.
  */
 public class FxRobotContext {
 
-    private final WindowFinder windowFinder;
-    private final NodeFinder nodeFinder;
-    private final BoundsLocator boundsLocator;
-    private final PointLocator pointLocator;
-    private final BaseRobot baseRobot;
-    private final MouseRobot mouseRobot;
-    private final KeyboardRobot keyboardRobot;
-    private final MoveRobot moveRobot;
-    private final SleepRobot sleepRobot;
-    private final ClickRobot clickRobot;
-    private final DragRobot dragRobot;
-    private final ScrollRobot scrollRobot;
-    private final TypeRobot typeRobot;
-    private final WriteRobot writeRobot;
-    private final CaptureSupport captureSupport;
+    private final FxServiceContext serviceContext;
+    private MouseRobot mouseRobot;
+    private KeyboardRobot keyboardRobot;
+    private MoveRobot moveRobot;
+    private ClickRobot clickRobot;
+    private DragRobot dragRobot;
+    private ScrollRobot scrollRobot;
+    private TypeRobot typeRobot;
+    private WriteRobot writeRobot;
     private Pos pointPosition;
 
     public FxRobotContext() {
-        windowFinder = FxService.serviceContext().getWindowFinder();
-        nodeFinder = FxService.serviceContext().getNodeFinder();
-        boundsLocator = new BoundsLocatorImpl();
-        pointLocator = new PointLocatorImpl(boundsLocator);
-        baseRobot = new BaseRobotImpl();
-        keyboardRobot = new KeyboardRobotImpl(baseRobot);
-        mouseRobot = new MouseRobotImpl(baseRobot);
-        sleepRobot = new SleepRobotImpl();
-        typeRobot = new TypeRobotImpl(keyboardRobot, sleepRobot);
-        writeRobot = new WriteRobotImpl(baseRobot, sleepRobot, windowFinder);
-        moveRobot = new MoveRobotImpl(baseRobot, mouseRobot, sleepRobot);
-        clickRobot = new ClickRobotImpl(mouseRobot, moveRobot, sleepRobot);
-        dragRobot = new DragRobotImpl(mouseRobot, moveRobot);
-        scrollRobot = new ScrollRobotImpl(mouseRobot);
-        captureSupport = new CaptureSupportImpl(baseRobot);
+        this(FxService.serviceContext());
+    }
+
+    public FxRobotContext(FxServiceContext serviceContext) {
+        this.serviceContext = serviceContext;
+        pointPosition = Pos.CENTER;
+    }
+
+    /**
+     * Releases all mouse buttons and keys pressed through this context, resets the point position to
+     * {@link Pos#CENTER} and clears the target window. Robots that have not been used yet are not created.
+     * <p>
+     * As the target window is shared by all contexts of the {@link FxServiceContext}, clearing it also affects
+     * other {@link FxRobot}s, e.g. of tests that run concurrently in the same JVM.
+     */
+    public void reset() {
+        if (mouseRobot != null) {
+            mouseRobot.release();
+        }
+        if (keyboardRobot != null) {
+            keyboardRobot.release();
+        }
         pointPosition = Pos.CENTER;
+        getWindowFinder().targetWindow((Window) null);
     }
 
     public WindowFinder getWindowFinder() {
-        return windowFinder;
+        return serviceContext.getWindowFinder();
     }
 
     public NodeFinder getNodeFinder() {
-        return nodeFinder;
+        return serviceContext.getNodeFinder();
     }
 
     public Pos getPointPosition() {
@@ -106,55 +111,79 @@ public class FxRobotContext {
     }
 
     public BoundsLocator getBoundsLocator() {
-        return boundsLocator;
+        return serviceContext.getBoundsLocator();
     }
 
     public PointLocator getPointLocator() {
-        return pointLocator;
+        return serviceContext.getPointLocator();
     }
 
     public BaseRobot getBaseRobot() {
-        return baseRobot;
+        return serviceContext.getBaseRobot();
     }
 
     public MouseRobot getMouseRobot() {
+        if (mouseRobot == null) {
+            mouseRobot = new MouseRobotImpl(getBaseRobot());
+        }
         return mouseRobot;
     }
 
     public KeyboardRobot getKeyboardRobot() {
+        if (keyboardRobot == null) {
+            keyboardRobot = new KeyboardRobotImpl(getBaseRobot());
+        }
         return keyboardRobot;
     }
 
     public MoveRobot getMoveRobot() {
+        if (moveRobot == null) {
+            moveRobot = new MoveRobotImpl(getBaseRobot(), getMouseRobot(), getSleepRobot());
+        }
         return moveRobot;
     }
 
     public SleepRobot getSleepRobot() {
-        return sleepRobot;
+        return serviceContext.getSleepRobot();
     }
 
     public ClickRobot getClickRobot() {
+        if (clickRobot == null) {
+            clickRobot = new ClickRobotImpl(getMouseRobot(), getMoveRobot(), getSleepRobot());
+        }
         return clickRobot;
     }
 
     public DragRobot getDragRobot() {
+        if (dragRobot == null) {
+            dragRobot = new DragRobotImpl(getMouseRobot(), getMoveRobot());
+        }
         return dragRobot;
     }
 
     public ScrollRobot getScrollRobot() {
+        if (scrollRobot == null) {
+            scrollRobot = new ScrollRobotImpl(getMouseRobot());
+        }
         return scrollRobot;
     }
 
     public TypeRobot getTypeRobot() {
+        if (typeRobot == null) {
+            typeRobot = new TypeRobotImpl(getKeyboardRobot(), getSleepRobot());
+        }
         return typeRobot;
     }
 
     public WriteRobot getWriteRobot() {
+        if (writeRobot == null) {
+            writeRobot = new WriteRobotImpl(getBaseRobot(), getSleepRobot(), getWindowFinder());
+        }
         return writeRobot;
     }
 
     public CaptureSupport getCaptureSupport() {
-        return captureSupport;
+        return serviceContext.getCaptureSupport();
     }
 
 }
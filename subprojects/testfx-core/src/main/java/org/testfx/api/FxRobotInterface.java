@@ -498,6 +498,16 @@ public interface FxRobotInterface {
      */
     FxRobotInterface interrupt(int attemptsCount);
 
+    /**
+     * Calls {@link WaitForAsyncUtils#waitForPulses(int)} and returns itself for method chaining.
+     */
+    FxRobotInterface waitForPulses(int pulseCount);
+
+    /**
+     * Calls {@link WaitForAsyncUtils#waitForQuietPulse()} and returns itself for method chaining.
+     */
+    FxRobotInterface waitForQuietPulse();
+
     /**
      * Calls {@link org.testfx.robot.SleepRobot#sleep(long)} and returns itself for more method chaining.
      */
@@ -27,7 +27,7 @@ public final class FxService {
         throw new UnsupportedOperationException();
     }
 
-    public static FxServiceContext serviceContext() {
+    public static synchronized FxServiceContext serviceContext() {
         if (context == null) {
             context = new FxServiceContext();
         }
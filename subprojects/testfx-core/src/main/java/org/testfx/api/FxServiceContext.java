@@ -17,11 +17,17 @@
 package org.testfx.api;
 
 import org.testfx.robot.BaseRobot;
+import org.testfx.robot.SleepRobot;
 import org.testfx.robot.impl.BaseRobotImpl;
+import org.testfx.robot.impl.SleepRobotImpl;
 import org.testfx.service.finder.NodeFinder;
 import org.testfx.service.finder.WindowFinder;
 import org.testfx.service.finder.impl.NodeFinderImpl;
 import org.testfx.service.finder.impl.WindowFinderImpl;
+import org.testfx.service.locator.BoundsLocator;
+import org.testfx.service.locator.PointLocator;
+import org.testfx.service.locator.impl.BoundsLocatorImpl;
+import org.testfx.service.locator.impl.PointLocatorImpl;
 import org.testfx.service.support.CaptureSupport;
 import org.testfx.service.support.impl.CaptureSupportImpl;
 
@@ -33,29 +39,69 @@ import org.testfx.service.support.impl.CaptureSupportImpl;
  *     <li>a {@link NodeFinder}</li>
  *     <li>a {@link BaseRobot}</li>
  *     <li>{@link CaptureSupport}</li>
+ *     <li>a {@link BoundsLocator} and a {@link PointLocator}</li>
+ *     <li>a {@link SleepRobot}</li>
  * </ul>
+ * These objects hold no per-test state and are shared by every {@link FxRobotContext}, so that only one
+ * {@link BaseRobot} (and thus one AWT or Glass robot) is created per JVM. Each object is created on first use.
  */
 public class FxServiceContext {
 
-    private final WindowFinder windowFinder = new WindowFinderImpl();
-    private final NodeFinder nodeFinder = new NodeFinderImpl(windowFinder);
-    private final BaseRobot baseRobot = new BaseRobotImpl();
-    private final CaptureSupport captureSupport = new CaptureSupportImpl(baseRobot);
+    private WindowFinder windowFinder;
+    private NodeFinder nodeFinder;
+    private BaseRobot baseRobot;
+    private CaptureSupport captureSupport;
+    private BoundsLocator boundsLocator;
+    private PointLocator pointLocator;
+    private SleepRobot sleepRobot;
 
-    public WindowFinder getWindowFinder() {
+    public synchronized WindowFinder getWindowFinder() {
+        if (windowFinder == null) {
+            windowFinder = new WindowFinderImpl();
+        }
         return windowFinder;
     }
 
-    public NodeFinder getNodeFinder() {
+    public synchronized NodeFinder getNodeFinder() {
+        if (nodeFinder == null) {
+            nodeFinder = new NodeFinderImpl(getWindowFinder());
+        }
         return nodeFinder;
     }
 
-    public BaseRobot getBaseRobot() {
+    public synchronized BaseRobot getBaseRobot() {
+        if (baseRobot == null) {
+            baseRobot = new BaseRobotImpl();
+        }
         return baseRobot;
     }
 
-    public CaptureSupport getCaptureSupport() {
+    public synchronized CaptureSupport getCaptureSupport() {
+        if (captureSupport == null) {
+            captureSupport = new CaptureSupportImpl(getBaseRobot());
+        }
         return captureSupport;
     }
 
+    public synchronized BoundsLocator getBoundsLocator() {
+        if (boundsLocator == null) {
+            boundsLocator = new BoundsLocatorImpl();
+        }
+        return boundsLocator;
+    }
+
+    public synchronized PointLocator getPointLocator() {
+        if (pointLocator == null) {
+            pointLocator = new PointLocatorImpl(getBoundsLocator());
+        }
+        return pointLocator;
+    }
+
+    public synchronized SleepRobot getSleepRobot() {
+        if (sleepRobot == null) {
+            sleepRobot = new SleepRobotImpl();
+        }
+        return sleepRobot;
+    }
+
 }
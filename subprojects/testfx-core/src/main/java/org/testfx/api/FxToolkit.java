@@ -26,14 +26,14 @@ import javafx.application.Application;
 import javafx.application.Platform;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
-import javafx.scene.input.KeyCode;
-import javafx.scene.input.MouseButton;
 import javafx.stage.Stage;
 import javafx.stage.Window;
 
+import org.testfx.toolkit.AnimationClock;
 import org.testfx.toolkit.ApplicationLauncher;
 import org.testfx.toolkit.ApplicationService;
 import org.testfx.toolkit.ToolkitService;
+import org.testfx.toolkit.impl.AnimationClockImpl;
 import org.testfx.toolkit.impl.ApplicationLauncherImpl;
 import org.testfx.toolkit.impl.ApplicationServiceImpl;
 import org.testfx.toolkit.impl.ToolkitServiceImpl;
@@ -96,6 +96,7 @@ public final class FxToolkit {
     private static final ApplicationService APP_SERVICE = new ApplicationServiceImpl();
     private static final FxToolkitContext CONTEXT = new FxToolkitContext();
     private static final ToolkitService SERVICE = new ToolkitServiceImpl(APP_LAUNCHER, APP_SERVICE);
+    private static final AnimationClock ANIMATION_CLOCK = new AnimationClockImpl();
     static final String UNSUPPORTED_OPERATION_ERROR_MESSAGE = "Internal Error";
     static final String UNSUPPORTED_OPERATION_CALLING_CLASS = "com.sun.glass.ui.gtk.GtkApplication";
     static final String MISSING_LIBGTK_3_0_USER_MESSAGE = "Package libgtk-3-0 probably not installed";
@@ -115,6 +116,9 @@ public final class FxToolkit {
                             CONTEXT.getApplicationClass(), CONTEXT.getApplicationArgs()));
             CONTEXT.setRegisteredStage(primaryStage);
             Platform.setImplicitExit(false);
+            if (CONTEXT.isVirtualAnimationTime()) {
+                ANIMATION_CLOCK.startVirtualTime(CONTEXT.getAnimationRate());
+            }
             return primaryStage;
         }
         catch (UnsupportedOperationException exception) {
@@ -255,11 +259,10 @@ public final class FxToolkit {
 
     /**
      * Runs on the {@code JavaFX Application Thread}: Releases remaining mouse and keyboard events.
-     * Not cleaning these events may have side effects on the next UI tests
+     * Not cleaning these events may have side effects on the next UI tests. See {@link FxRobotContext#reset()}.
      */
     public static void cleanupInput(FxRobot robot) {
-        robot.release(new MouseButton[0]);
-        robot.release(new KeyCode[0]);
+        robot.robotContext().reset();
     }
 
     /**
@@ -269,6 +272,14 @@ public final class FxToolkit {
         return CONTEXT;
     }
 
+    /**
+     * Returns the clock of the animations, which {@link #registerPrimaryStage()} switches to virtual time if
+     * {@link FxToolkitContext#isVirtualAnimationTime()} is set.
+     */
+    public static AnimationClock animationClock() {
+        return ANIMATION_CLOCK;
+    }
+
     /**
      * Waits for the given future to be set before returning or times out after
      * {@link FxToolkitContext#getSetupTimeoutInMillis()} is reached.
@@ -33,6 +33,7 @@ import org.testfx.toolkit.PrimaryStageApplication;
  *     <li>the registered {@link Stage}</li>
  *     <li>the timeout limit for launching an application</li>
  *     <li>the timeout limit for setting up a component</li>
+ *     <li>whether animations run on virtual time and at which rate</li>
  * </ul>
  */
 public class FxToolkitContext {
@@ -68,6 +69,18 @@ public class FxToolkitContext {
      */
     private long setupTimeoutInMillis = Long.getLong("testfx.setup.timeout", 30000);
 
+    /**
+     * Whether {@link FxToolkit#registerPrimaryStage()} switches the {@link FxToolkit#animationClock() animation
+     * clock} to virtual time. Default value: the {@code testfx.animation.virtual_time} property, or {@literal false}
+     */
+    private boolean virtualAnimationTime = Boolean.getBoolean("testfx.animation.virtual_time");
+
+    /**
+     * The rate at which virtual time advances relative to real time, {@code 0} to only advance it explicitly.
+     * Default value: the {@code testfx.animation.rate} property, or 0
+     */
+    private double animationRate = animationRateProperty();
+
     public CompletableFuture<Stage> getPrimaryStageFuture() {
         return primaryStageFuture;
     }
@@ -116,4 +129,33 @@ public class FxToolkitContext {
         this.setupTimeoutInMillis = setupTimeoutInMillis;
     }
 
+    public boolean isVirtualAnimationTime() {
+        return virtualAnimationTime;
+    }
+
+    public void setVirtualAnimationTime(boolean virtualAnimationTime) {
+        this.virtualAnimationTime = virtualAnimationTime;
+    }
+
+    public double getAnimationRate() {
+        return animationRate;
+    }
+
+    public void setAnimationRate(double animationRate) {
+        this.animationRate = animationRate;
+    }
+
+    private static double animationRateProperty() {
+        String animationRate = System.getProperty("testfx.animation.rate", "0");
+        try {
+            return Double.parseDouble(animationRate);
+        }
+        catch (NumberFormatException e) {
+            System.err.println("\"testfx.animation.rate\" property must be a number but was: \"" + animationRate +
+                    "\".\nUsing default of \"0\".");
+            e.printStackTrace();
+            return 0;
+        }
+    }
+
 }
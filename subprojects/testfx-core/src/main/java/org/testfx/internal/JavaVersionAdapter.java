@@ -96,6 +96,23 @@ public final class JavaVersionAdapter {
         return windows;
     }
 
+    /**
+     * Returns the live list of showing windows on Java 9+, or {@code null} on Java 8 where the list of windows
+     * is not observable.
+     */
+    @SuppressWarnings("unchecked")
+    public static ObservableList<Window> getObservableWindows() {
+        if (currentVersion().isJava8()) {
+            return null;
+        }
+        try {
+            return (ObservableList<Window>) Window.class.getMethod("getWindows").invoke(null);
+        }
+        catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
     public static boolean isNotVisible(Node node) {
         if (currentVersion().isJava8()) {
             try {
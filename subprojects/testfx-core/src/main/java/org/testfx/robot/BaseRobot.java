@@ -16,12 +16,18 @@
  */
 package org.testfx.robot;
 
+import java.util.Collection;
+import java.util.List;
 import javafx.geometry.Point2D;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.MouseButton;
+import javafx.scene.paint.Color;
+
+import org.testfx.service.support.ArgbPixels;
+import org.testfx.util.PixelSamplingUtils;
 
 public interface BaseRobot {
 
@@ -33,6 +39,18 @@ public interface BaseRobot {
                       KeyCode key,
                       String character);
 
+    /**
+     * Types the given characters into the given scene one after the other, each with the key at the same index of
+     * the given {@code keys}. Implementations may fire the key events of all characters at once.
+     */
+    default void typeKeyboard(Scene scene,
+                              List<KeyCode> keys,
+                              String characters) {
+        for (int index = 0; index < keys.size(); index++) {
+            typeKeyboard(scene, keys.get(index), characters.substring(index, index + 1));
+        }
+    }
+
     /**
      *
      * @return the current mouse location
@@ -54,4 +72,24 @@ public interface BaseRobot {
      */
     Image captureRegion(Rectangle2D region);
 
+    /**
+     * Returns the colors of the pixels at the given points, taken from a single screen capture of the region
+     * that bounds all of them.
+     *
+     * @param points the given points
+     * @return the colors of the pixels, in the order of the given points
+     */
+    default List<Color> capturePixelColors(Collection<Point2D> points) {
+        return PixelSamplingUtils.capturePixelColors(points, this::captureRegion);
+    }
+
+    /**
+     *
+     * @param region the given bounds for the pixels
+     * @return the pixels of a screen capture of the given region
+     */
+    default ArgbPixels capturePixels(Rectangle2D region) {
+        return ArgbPixels.of(captureRegion(region));
+    }
+
 }
@@ -16,18 +16,23 @@
  */
 package org.testfx.robot.impl;
 
+import java.util.Collection;
+import java.util.List;
 import javafx.geometry.Point2D;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.MouseButton;
+import javafx.scene.paint.Color;
 
 import org.testfx.robot.BaseRobot;
 import org.testfx.service.adapter.RobotAdapter;
 import org.testfx.service.adapter.impl.AwtRobotAdapter;
+import org.testfx.service.adapter.impl.EventRobotAdapter;
 import org.testfx.service.adapter.impl.GlassRobotAdapter;
 import org.testfx.service.adapter.impl.JavafxRobotAdapter;
+import org.testfx.service.support.ArgbPixels;
 
 public class BaseRobotImpl implements BaseRobot {
 
@@ -51,9 +56,16 @@ public class BaseRobotImpl implements BaseRobot {
                 }
                 robotAdapter = GlassRobotAdapter.createGlassRobot();
                 break;
+            case "event":
+                if (verbose) {
+                    System.out.println("testfx: initializing event robot");
+                }
+                robotAdapter = new EventRobotAdapter();
+                break;
             default:
                 throw new IllegalStateException(String.format(
-                        "unknown robot adapter 'testfx.robot=%s' (must be 'awt' or 'glass')", robotAdapterName));
+                        "unknown robot adapter 'testfx.robot=%s' (must be 'awt', 'glass' or 'event')",
+                        robotAdapterName));
         }
         javafxRobotAdapter = new JavafxRobotAdapter();
     }
@@ -77,6 +89,12 @@ public class BaseRobotImpl implements BaseRobot {
         javafxRobotAdapter.keyRelease(key);
     }
 
+    @Override
+    public void typeKeyboard(Scene scene, List<KeyCode> keys, String characters) {
+        javafxRobotAdapter.robotCreate(scene);
+        javafxRobotAdapter.keyTypeAll(keys, characters);
+    }
+
     @Override
     public Point2D retrieveMouse() {
         return robotAdapter.getMouseLocation();
@@ -107,4 +125,15 @@ public class BaseRobotImpl implements BaseRobot {
         return robotAdapter.getCaptureRegion(region);
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public List<Color> capturePixelColors(Collection<Point2D> points) {
+        return robotAdapter.getCapturePixelColors(points);
+    }
+
+    @Override
+    public ArgbPixels capturePixels(Rectangle2D region) {
+        return robotAdapter.getCapturePixels(region);
+    }
+
 }
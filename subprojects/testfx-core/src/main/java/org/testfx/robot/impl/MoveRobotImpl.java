@@ -17,11 +17,13 @@
 package org.testfx.robot.impl;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
-import java.util.stream.Stream;
+import java.util.concurrent.TimeUnit;
 import javafx.geometry.Point2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Window;
 
 import org.testfx.robot.BaseRobot;
 import org.testfx.robot.Motion;
@@ -30,11 +32,48 @@ import org.testfx.robot.MoveRobot;
 import org.testfx.robot.SleepRobot;
 import org.testfx.service.query.PointQuery;
 
+import static org.testfx.internal.JavaVersionAdapter.getWindows;
+import static org.testfx.util.WaitForAsyncUtils.asyncFx;
+import static org.testfx.util.WaitForAsyncUtils.waitFor;
+
+/**
+ * Moves the mouse along the path of a {@link Motion}, in one of the {@link MoveMode}s. The mode is selected by the
+ * {@code testfx.robot.move_mode} property ({@code stepwise}, {@code timed} or {@code teleport}), and defaults to
+ * {@link MoveMode#STEPWISE}. The points of the path are computed one at a time as the mouse moves along it.
+ */
 public class MoveRobotImpl implements MoveRobot {
 
+    /**
+     * The ways in which the mouse can be moved along a path.
+     */
+    public enum MoveMode {
+
+        /**
+         * Moves the mouse one pixel at a time, up to {@code testfx.robot.move_max_count} steps, and sleeps for
+         * one millisecond after each step.
+         */
+        STEPWISE,
+
+        /**
+         * Moves the mouse once per frame of the {@code testfx.robot.move_frame_rate} property (60 by default) for
+         * at most {@code testfx.robot.move_duration} milliseconds (100 by default), or one pixel at a time if that
+         * takes fewer steps.
+         */
+        TIMED,
+
+        /**
+         * Moves the mouse straight to the target, stopping only at the points of the path where the node under the
+         * mouse changes, so that the entered and exited events of these nodes are still fired.
+         */
+        TELEPORT
+
+    }
+
     private static final long SLEEP_AFTER_MOVEMENT_STEP_IN_MILLIS = 1;
     private static final long MIN_POINT_OFFSET_COUNT = 1;
     private static final long MAX_POINT_OFFSET_COUNT;
+    private static final long MOVE_DURATION_IN_MILLIS;
+    private static final int MOVE_FRAME_RATE;
 
     static {
         int maxOffsetCount;
@@ -50,14 +89,48 @@ public class MoveRobotImpl implements MoveRobot {
         MAX_POINT_OFFSET_COUNT = maxOffsetCount;
     }
 
+    static {
+        int moveDuration;
+        try {
+            moveDuration = Integer.getInteger("testfx.robot.move_duration", 100);
+        }
+        catch (NumberFormatException e) {
+            System.err.println("\"testfx.robot.move_duration\" property must be a number but was: \"" +
+                    System.getProperty("testfx.robot.move_duration") + "\".\nUsing default of \"100\" milliseconds.");
+            e.printStackTrace();
+            moveDuration = 100;
+        }
+        MOVE_DURATION_IN_MILLIS = moveDuration;
+    }
+
+    static {
+        int moveFrameRate;
+        try {
+            moveFrameRate = Integer.getInteger("testfx.robot.move_frame_rate", 60);
+        }
+        catch (NumberFormatException e) {
+            System.err.println("\"testfx.robot.move_frame_rate\" property must be a number but was: \"" +
+                    System.getProperty("testfx.robot.move_frame_rate") + "\".\nUsing default of \"60\".");
+            e.printStackTrace();
+            moveFrameRate = 60;
+        }
+        MOVE_FRAME_RATE = Math.max(1, moveFrameRate);
+    }
+
     private final BaseRobot baseRobot;
     private final MouseRobot mouseRobot;
     private final SleepRobot sleepRobot;
+    private final MoveMode moveMode;
 
     public MoveRobotImpl(BaseRobot baseRobot, MouseRobot mouseRobot, SleepRobot sleepRobot) {
+        this(baseRobot, mouseRobot, sleepRobot, defaultMoveMode());
+    }
+
+    public MoveRobotImpl(BaseRobot baseRobot, MouseRobot mouseRobot, SleepRobot sleepRobot, MoveMode moveMode) {
         this.baseRobot = baseRobot;
         this.mouseRobot = mouseRobot;
         this.sleepRobot = sleepRobot;
+        this.moveMode = moveMode;
     }
 
     @Override
@@ -94,72 +167,130 @@ public class MoveRobotImpl implements MoveRobot {
             motion = Motion.DIRECT;
         }
         double directDistance = sourcePoint.distance(targetPoint);
-        double horizontalDistance = sourcePoint.distance(targetPoint.getX(), sourcePoint.getY());
-        double verticalDistance = sourcePoint.distance(sourcePoint.getX(), targetPoint.getY());
-
-        int totalStepsCount = (int) limitValueBetween(
-                directDistance, MIN_POINT_OFFSET_COUNT, MAX_POINT_OFFSET_COUNT
-        );
-
-        List<Point2D> path = new ArrayList<>(totalStepsCount);
-        double percentHorizontal = horizontalDistance / (horizontalDistance +
-                verticalDistance);
-        int horizontalStepsCount = (int) (totalStepsCount * percentHorizontal);
-        int verticalStepsCount = totalStepsCount - horizontalStepsCount;
-        switch (motion) {
-            case DIRECT:
-                path = interpolatePointsBetween(sourcePoint, targetPoint, totalStepsCount);
+        int stepsCount = (int) limitValueBetween(directDistance, MIN_POINT_OFFSET_COUNT, MAX_POINT_OFFSET_COUNT);
+        switch (moveMode) {
+            case STEPWISE: {
+                Path path = new Path(sourcePoint, targetPoint, motion, stepsCount);
+                // the last point of the path is always equal to the targetPoint.
+                for (int step = 1; step < path.stepsCount; step++) {
+                    mouseRobot.moveNoWait(path.pointAt(step));
+                    sleepRobot.sleep(SLEEP_AFTER_MOVEMENT_STEP_IN_MILLIS);
+                }
                 break;
-            case HORIZONTAL_FIRST: {
-                Point2D intermediate = new Point2D(targetPoint.getX(), sourcePoint.getY());
-                path = Stream.concat(
-                        interpolatePointsBetween(
-                                sourcePoint, intermediate, horizontalStepsCount).stream(),
-                        interpolatePointsBetween(
-                                intermediate, targetPoint, verticalStepsCount).stream())
-                        .collect(Collectors.toList());
+            }
+            case TIMED: {
+                long frameCount = Math.max(1, (MOVE_DURATION_IN_MILLIS * MOVE_FRAME_RATE) / 1000);
+                Path path = new Path(sourcePoint, targetPoint, motion,
+                        (int) limitValueBetween(directDistance, MIN_POINT_OFFSET_COUNT, frameCount));
+                long frameNanos = TimeUnit.SECONDS.toNanos(1) / MOVE_FRAME_RATE;
+                long startNanos = System.nanoTime();
+                for (int step = 1; step < path.stepsCount; step++) {
+                    mouseRobot.moveNoWait(path.pointAt(step));
+                    long remainingMillis = TimeUnit.NANOSECONDS.toMillis(
+                            startNanos + (step * frameNanos) - System.nanoTime());
+                    if (remainingMillis > 0) {
+                        sleepRobot.sleep(remainingMillis);
+                    }
+                }
                 break;
             }
-            case VERTICAL_FIRST: {
-                Point2D intermediate = new Point2D(sourcePoint.getX(), targetPoint.getY());
-                path = Stream.concat(
-                        interpolatePointsBetween(
-                                sourcePoint, intermediate, verticalStepsCount).stream(),
-                        interpolatePointsBetween(
-                                intermediate, targetPoint, horizontalStepsCount).stream())
-                        .collect(Collectors.toList());
+            case TELEPORT: {
+                Path path = new Path(sourcePoint, targetPoint, motion, stepsCount);
+                for (Point2D point : waitFor(asyncFx(() -> queryHoverPoints(path)))) {
+                    mouseRobot.moveNoWait(point);
+                }
                 break;
             }
+            default:
+                throw new IllegalStateException("unknown move mode: " + moveMode);
         }
+        mouseRobot.move(targetPoint);
+    }
 
-        for (int i = 0; i < path.size() - 1; i++) {
-            // using path.size() - 1 because the last element is always equal to the targetPoint
-            Point2D point = path.get(i);
-            mouseRobot.moveNoWait(point);
-            sleepRobot.sleep(SLEEP_AFTER_MOVEMENT_STEP_IN_MILLIS);
+    /**
+     * Returns the points of the given path, except the last one, at which the node under the mouse differs from
+     * the node under the previous point.
+     */
+    private static List<Point2D> queryHoverPoints(Path path) {
+        List<Point2D> hoverPoints = new ArrayList<>();
+        Node previousNode = pickNode(path.pointAt(0));
+        for (int step = 1; step < path.stepsCount; step++) {
+            Point2D point = path.pointAt(step);
+            Node node = pickNode(point);
+            if (node != previousNode) {
+                hoverPoints.add(point);
+                previousNode = node;
+            }
         }
-        mouseRobot.move(targetPoint);
+        return hoverPoints;
     }
 
-    private List<Point2D> interpolatePointsBetween(Point2D sourcePoint,
-                                                   Point2D targetPoint,
-                                                   int pointOffsetCount) {
-        List<Point2D> points = new ArrayList<>();
-        for (int pointOffset = 1; pointOffset <= pointOffsetCount; pointOffset++) {
-            double factor = (double) pointOffset / (double) pointOffsetCount;
-            Point2D point = interpolatePointBetween(sourcePoint, targetPoint, factor);
-            points.add(point);
+    /**
+     * Returns the topmost visible node that is not mouse transparent and contains the given point on the screen,
+     * or {@code null} if there is none.
+     */
+    private static Node pickNode(Point2D screenPoint) {
+        List<Window> windows = getWindows();
+        for (int index = windows.size() - 1; index >= 0; index--) {
+            Window window = windows.get(index);
+            Scene scene = window.getScene();
+            if (!window.isShowing() || scene == null || scene.getRoot() == null) {
+                continue;
+            }
+            Node node = scene.getRoot();
+            if (!containsScreenPoint(node, screenPoint)) {
+                continue;
+            }
+            Node childNode = node;
+            while (childNode != null) {
+                node = childNode;
+                childNode = null;
+                if (node instanceof Parent) {
+                    List<Node> children = ((Parent) node).getChildrenUnmodifiable();
+                    for (int childIndex = children.size() - 1; childIndex >= 0; childIndex--) {
+                        if (containsScreenPoint(children.get(childIndex), screenPoint)) {
+                            childNode = children.get(childIndex);
+                            break;
+                        }
+                    }
+                }
+            }
+            return node;
+        }
+        return null;
+    }
+
+    private static boolean containsScreenPoint(Node node, Point2D screenPoint) {
+        if (!node.isVisible() || node.isMouseTransparent()) {
+            return false;
         }
-        return Collections.unmodifiableList(points);
+        Point2D localPoint = node.screenToLocal(screenPoint);
+        return localPoint != null && node.contains(localPoint);
     }
 
-    private double limitValueBetween(double value,
+    private static MoveMode defaultMoveMode() {
+        String moveMode = System.getProperty("testfx.robot.move_mode", "stepwise");
+        switch (moveMode) {
+            case "stepwise":
+                return MoveMode.STEPWISE;
+            case "timed":
+                return MoveMode.TIMED;
+            case "teleport":
+                return MoveMode.TELEPORT;
+            default:
+                System.err.println("\"testfx.robot.move_mode\" property must be \"stepwise\", \"timed\" or " +
+                        "\"teleport\" but was: \"" + moveMode + "\".\nUsing default of \"stepwise\".");
+                return MoveMode.STEPWISE;
+        }
+    }
+
+    private static double limitValueBetween(double value,
                                      double minValue,
                                      double maxValue) {
         return Math.max(minValue, Math.min(maxValue, value));
     }
 
-    private Point2D interpolatePointBetween(Point2D point0,
+    private static Point2D interpolatePointBetween(Point2D point0,
                                             Point2D point1,
                                             double factor) {
         double x = interpolateValuesBetween(point0.getX(), point1.getX(), factor);
@@ -167,10 +298,58 @@ public class MoveRobotImpl implements MoveRobot {
         return new Point2D(x, y);
     }
 
-    private double interpolateValuesBetween(double value0,
+    private static double interpolateValuesBetween(double value0,
                                             double value1,
                                             double factor) {
         return value0 + ((value1 - value0) * factor);
     }
 
+    /**
+     * The points of a motion from a source point to a target point, split into a number of steps. Point {@code 0}
+     * is the source point and point {@code stepsCount} the target point.
+     */
+    private static final class Path {
+
+        private final Point2D sourcePoint;
+        private final Point2D intermediatePoint;
+        private final Point2D targetPoint;
+        private final int stepsCount;
+        private final int firstStepsCount;
+
+        private Path(Point2D sourcePoint, Point2D targetPoint, Motion motion, int stepsCount) {
+            this.sourcePoint = sourcePoint;
+            this.targetPoint = targetPoint;
+            this.stepsCount = stepsCount;
+            double horizontalDistance = sourcePoint.distance(targetPoint.getX(), sourcePoint.getY());
+            double verticalDistance = sourcePoint.distance(sourcePoint.getX(), targetPoint.getY());
+            double percentHorizontal = horizontalDistance / (horizontalDistance + verticalDistance);
+            int horizontalStepsCount = (int) (stepsCount * percentHorizontal);
+            switch (motion) {
+                case HORIZONTAL_FIRST:
+                    intermediatePoint = new Point2D(targetPoint.getX(), sourcePoint.getY());
+                    firstStepsCount = horizontalStepsCount;
+                    break;
+                case VERTICAL_FIRST:
+                    intermediatePoint = new Point2D(sourcePoint.getX(), targetPoint.getY());
+                    firstStepsCount = stepsCount - horizontalStepsCount;
+                    break;
+                default:
+                    intermediatePoint = targetPoint;
+                    firstStepsCount = stepsCount;
+                    break;
+            }
+        }
+
+        private Point2D pointAt(int step) {
+            if (step == 0) {
+                return sourcePoint;
+            }
+            if (step <= firstStepsCount) {
+                return interpolatePointBetween(sourcePoint, intermediatePoint, (double) step / firstStepsCount);
+            }
+            return interpolatePointBetween(intermediatePoint, targetPoint,
+                    (double) (step - firstStepsCount) / (stepsCount - firstStepsCount));
+        }
+    }
+
 }
@@ -16,6 +16,7 @@
  */
 package org.testfx.robot.impl;
 
+import java.util.List;
 import java.util.Objects;
 import java.util.stream.Collectors;
 import javafx.scene.Scene;
@@ -49,14 +50,30 @@ public class WriteRobotImpl implements WriteRobot {
     private final BaseRobot baseRobot;
     private final SleepRobot sleepRobot;
     private final WindowFinder windowFinder;
+    private final boolean batched;
 
+    /**
+     * Creates a write robot whose {@link #write(String)} types the characters one after the other, sleeping for
+     * {@code testfx.robot.write_sleep} milliseconds after each, unless the {@code testfx.robot.write_mode}
+     * property is {@code batched}. Then all key events of the text are fired at once and the robot only waits
+     * for them to be handled at the end.
+     */
     public WriteRobotImpl(BaseRobot baseRobot, SleepRobot sleepRobot, WindowFinder windowFinder) {
+        this(baseRobot, sleepRobot, windowFinder, isBatchedWriteMode());
+    }
+
+    /**
+     * Creates a write robot whose {@link #write(String)} fires all key events of the text at once if
+     * {@code batched} is {@code true}, or types the characters one after the other otherwise.
+     */
+    public WriteRobotImpl(BaseRobot baseRobot, SleepRobot sleepRobot, WindowFinder windowFinder, boolean batched) {
         Objects.requireNonNull(baseRobot, "baseRobot must not be null");
         Objects.requireNonNull(sleepRobot, "sleepRobot must not be null");
         Objects.requireNonNull(windowFinder, "windowFinder must not be null");
         this.baseRobot = baseRobot;
         this.sleepRobot = sleepRobot;
         this.windowFinder = windowFinder;
+        this.batched = batched;
     }
 
     @Override
@@ -67,7 +84,12 @@ public class WriteRobotImpl implements WriteRobot {
 
     @Override
     public void write(String text) {
-        write(text, SLEEP_AFTER_CHARACTER_IN_MILLIS);
+        if (batched) {
+            writeBatched(text);
+        }
+        else {
+            write(text, SLEEP_AFTER_CHARACTER_IN_MILLIS);
+        }
     }
 
     @Override
@@ -79,6 +101,27 @@ public class WriteRobotImpl implements WriteRobot {
         }
     }
 
+    private void writeBatched(String text) {
+        Scene scene = fetchTargetWindow().getScene();
+        List<KeyCode> keys = text.chars().mapToObj(i -> determineKeyCode((char) i)).collect(Collectors.toList());
+        baseRobot.typeKeyboard(scene, keys, text);
+        WaitForAsyncUtils.waitForFxEvents();
+    }
+
+    private static boolean isBatchedWriteMode() {
+        String writeMode = System.getProperty("testfx.robot.write_mode", "paced");
+        switch (writeMode) {
+            case "paced":
+                return false;
+            case "batched":
+                return true;
+            default:
+                System.err.println("\"testfx.robot.write_mode\" property must be \"paced\" or \"batched\" but was: \"" +
+                        writeMode + "\".\nUsing default of \"paced\".");
+                return false;
+        }
+    }
+
     private Window fetchTargetWindow() {
         Window targetWindow = windowFinder.window(Window::isFocused);
         if (targetWindow == null) {
@@ -16,6 +16,8 @@
  */
 package org.testfx.service.adapter;
 
+import java.util.Collection;
+import java.util.List;
 import javafx.geometry.Point2D;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.image.Image;
@@ -23,6 +25,9 @@ import javafx.scene.input.KeyCode;
 import javafx.scene.input.MouseButton;
 import javafx.scene.paint.Color;
 
+import org.testfx.service.support.ArgbPixels;
+import org.testfx.util.PixelSamplingUtils;
+
 /**
  * The common interface for all RobotAdapters.<br>
  * These are the minimum set of functions required from a robot to provide the
@@ -109,6 +114,18 @@ public interface RobotAdapter<T> {
      */
     Color getCapturePixelColor(Point2D location);
 
+    /**
+     * Gets the colors of the pixels at the given JavaFx coordinates. Unlike calling
+     * {@link #getCapturePixelColor(Point2D)} for each location, the region that bounds
+     * all of the locations is captured only once.
+     *
+     * @param locations of the pixels in JavaFx coordinates, to retrieve the colors for
+     * @return the Colors of the given Pixels in the JavaFx color space, in the order of the locations
+     */
+    default List<Color> getCapturePixelColors(Collection<Point2D> locations) {
+        return PixelSamplingUtils.capturePixelColors(locations, this::getCaptureRegion);
+    }
+
     /**
      * Captures a region of the screen. The returned Image is in the JavaFx color
      * space. //TODO Due to technical reasons, there might be a deviation.
@@ -117,4 +134,16 @@ public interface RobotAdapter<T> {
      * @return a image of the region
      */
     Image getCaptureRegion(Rectangle2D region);
+
+    /**
+     * Captures a region of the screen as {@link ArgbPixels}, which can be compared or saved without
+     * reading them from an Image again. Adapters that have direct access to the pixels of the screen
+     * can override this method to capture the region without creating an Image.
+     *
+     * @param region the region to capture in JavaFx coordinates
+     * @return the pixels of the region
+     */
+    default ArgbPixels getCapturePixels(Rectangle2D region) {
+        return ArgbPixels.of(getCaptureRegion(region));
+    }
 }
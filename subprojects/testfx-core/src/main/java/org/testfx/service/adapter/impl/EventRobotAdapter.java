@@ -0,0 +1,499 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.adapter.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import javafx.application.Platform;
+import javafx.event.Event;
+import javafx.event.EventTarget;
+import javafx.event.EventType;
+import javafx.geometry.Point2D;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.paint.Color;
+import javafx.stage.Window;
+
+import org.testfx.service.adapter.RobotAdapter;
+import org.testfx.util.WritableImagePool;
+
+import static org.testfx.internal.JavaVersionAdapter.getWindows;
+import static org.testfx.util.WaitForAsyncUtils.asyncFx;
+import static org.testfx.util.WaitForAsyncUtils.waitFor;
+
+/**
+ * A {@link RobotAdapter} that does not go through the operating system or Glass, but dispatches the input events
+ * straight into the {@link Scene} of the window under a shadow cursor (for mouse events) or of the focused window
+ * (for key events), and captures the screen by taking snapshots of the windows. It is selected with
+ * {@code testfx.robot=event}.
+ * <p>
+ * Mouse and key events are handed to the scene's own event processing where the JavaFX runtime allows it, so that
+ * picking, entered/exited events, hover, clicks and drag gestures behave as for real input. Otherwise, for example
+ * when the {@code com.sun.javafx.scene} package of the {@code javafx.graphics} module is not exported to TestFX,
+ * mouse events are fired at the topmost node under the cursor, entered/exited and clicked events are synthesized,
+ * but the hover state of nodes is not updated.
+ * <p>
+ * Key presses of letters, digits, whitespace and punctuation are followed by a key typed event, unless the
+ * control, alt or meta modifier is down. The typed character is that of a US keyboard layout, also while shift is
+ * down. Captures only contain the scenes of the JavaFX windows.
+ */
+public class EventRobotAdapter implements RobotAdapter<EventRobotAdapter> {
+
+    private static final MethodHandle PROCESS_MOUSE_EVENT = findSceneMethod("processMouseEvent", MouseEvent.class);
+    private static final MethodHandle PROCESS_KEY_EVENT = findSceneMethod("processKeyEvent", KeyEvent.class);
+    private static final long MULTI_CLICK_MILLIS = 500;
+    private static final double MULTI_CLICK_DISTANCE = 5;
+    private static final Map<KeyCode, String> CHARACTERS = new EnumMap<>(KeyCode.class);
+
+    static {
+        // the characters of the digit and punctuation keys on a US keyboard layout, without and with shift.
+        String[] digitCharacters = {"0)", "1!", "2@", "3#", "4$", "5%", "6^", "7&", "8*", "9("};
+        for (int digit = 0; digit <= 9; digit++) {
+            CHARACTERS.put(KeyCode.valueOf("DIGIT" + digit), digitCharacters[digit]);
+        }
+        CHARACTERS.put(KeyCode.COMMA, ",<");
+        CHARACTERS.put(KeyCode.MINUS, "-_");
+        CHARACTERS.put(KeyCode.PERIOD, ".>");
+        CHARACTERS.put(KeyCode.SLASH, "/?");
+        CHARACTERS.put(KeyCode.SEMICOLON, ";:");
+        CHARACTERS.put(KeyCode.EQUALS, "=+");
+        CHARACTERS.put(KeyCode.OPEN_BRACKET, "[{");
+        CHARACTERS.put(KeyCode.BACK_SLASH, "\\|");
+        CHARACTERS.put(KeyCode.CLOSE_BRACKET, "]}");
+        CHARACTERS.put(KeyCode.QUOTE, "'\"");
+        CHARACTERS.put(KeyCode.BACK_QUOTE, "`~");
+    }
+
+    private volatile Point2D mouseLocation = Point2D.ZERO;
+
+    // the following state is only accessed on the JavaFX application thread.
+    private final Set<MouseButton> pressedButtons = EnumSet.noneOf(MouseButton.class);
+    private boolean shiftDown;
+    private boolean controlDown;
+    private boolean altDown;
+    private boolean metaDown;
+    private Scene pressedScene;
+    private Node pressedNode;
+    private List<Node> hoveredNodes = Collections.emptyList();
+    private MouseButton lastPressedButton;
+    private long lastPressedMillis;
+    private Point2D lastPressedLocation = Point2D.ZERO;
+    private int clickCount;
+
+    @Override
+    public void robotCreate() {
+        // NO-OP
+    }
+
+    @Override
+    public void robotDestroy() {
+        asyncFx(() -> {
+            pressedButtons.clear();
+            shiftDown = false;
+            controlDown = false;
+            altDown = false;
+            metaDown = false;
+            pressedScene = null;
+            pressedNode = null;
+            hoveredNodes = Collections.emptyList();
+            lastPressedButton = null;
+            clickCount = 0;
+        });
+    }
+
+    @Override
+    public void keyPress(KeyCode key) {
+        asyncFx(() -> {
+            updateModifiers(key, true);
+            Scene scene = focusedScene();
+            if (scene == null) {
+                return;
+            }
+            dispatchKeyEvent(scene, createKeyEvent(KeyEvent.KEY_PRESSED, key, KeyEvent.CHAR_UNDEFINED));
+            String character = typedCharacter(key);
+            if (character != null) {
+                dispatchKeyEvent(scene, createKeyEvent(KeyEvent.KEY_TYPED, KeyCode.UNDEFINED, character));
+            }
+        });
+    }
+
+    @Override
+    public void keyRelease(KeyCode key) {
+        asyncFx(() -> {
+            updateModifiers(key, false);
+            Scene scene = focusedScene();
+            if (scene != null) {
+                dispatchKeyEvent(scene, createKeyEvent(KeyEvent.KEY_RELEASED, key, KeyEvent.CHAR_UNDEFINED));
+            }
+        });
+    }
+
+    @Override
+    public Point2D getMouseLocation() {
+        return mouseLocation;
+    }
+
+    @Override
+    public void mouseMove(Point2D location) {
+        mouseLocation = location;
+        asyncFx(() -> dispatchMouseEvent(pressedButtons.isEmpty() ? MouseEvent.MOUSE_MOVED :
+                MouseEvent.MOUSE_DRAGGED, MouseButton.NONE, 0, location));
+    }
+
+    @Override
+    public void mousePress(MouseButton button) {
+        Point2D location = mouseLocation;
+        asyncFx(() -> {
+            long millis = System.currentTimeMillis();
+            boolean multiClick = button == lastPressedButton && millis - lastPressedMillis <= MULTI_CLICK_MILLIS &&
+                    location.distance(lastPressedLocation) <= MULTI_CLICK_DISTANCE;
+            clickCount = multiClick ? clickCount + 1 : 1;
+            lastPressedButton = button;
+            lastPressedMillis = millis;
+            lastPressedLocation = location;
+            pressedButtons.add(button);
+            dispatchMouseEvent(MouseEvent.MOUSE_PRESSED, button, clickCount, location);
+        });
+    }
+
+    @Override
+    public void mouseRelease(MouseButton button) {
+        Point2D location = mouseLocation;
+        asyncFx(() -> {
+            if (!pressedButtons.remove(button)) {
+                return;
+            }
+            dispatchMouseEvent(MouseEvent.MOUSE_RELEASED, button, clickCount, location);
+        });
+    }
+
+    @Override
+    public void mouseWheel(int wheelAmount) {
+        Point2D location = mouseLocation;
+        asyncFx(() -> {
+            Scene scene = sceneAt(location);
+            if (scene == null) {
+                return;
+            }
+            Point2D scenePoint = toScenePoint(scene, location);
+            Node node = pickNode(scene, scenePoint);
+            // positive amounts scroll down, i.e. towards the end of the content.
+            Event.fireEvent(node != null ? node : scene, new ScrollEvent(ScrollEvent.SCROLL, scenePoint.getX(),
+                    scenePoint.getY(), location.getX(), location.getY(), shiftDown, controlDown, altDown, metaDown,
+                    false, false, 0, -wheelAmount * 40, 0, -wheelAmount * 40,
+                    ScrollEvent.HorizontalTextScrollUnits.NONE, 0, ScrollEvent.VerticalTextScrollUnits.LINES,
+                    -wheelAmount, 0, null));
+        });
+    }
+
+    @Override
+    public Color getCapturePixelColor(Point2D location) {
+        Image image = getCaptureRegion(new Rectangle2D(location.getX(), location.getY(), 1, 1));
+        return image.getPixelReader().getColor(0, 0);
+    }
+
+    @Override
+    public Image getCaptureRegion(Rectangle2D region) {
+        return onFxThread(() -> captureRegion(region));
+    }
+
+    private static <T> T onFxThread(Callable<T> callable) {
+        if (Platform.isFxApplicationThread()) {
+            try {
+                return callable.call();
+            }
+            catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        }
+        return waitFor(asyncFx(callable));
+    }
+
+    private Image captureRegion(Rectangle2D region) {
+        int width = (int) Math.ceil(region.getWidth());
+        int height = (int) Math.ceil(region.getHeight());
+        WritableImage capture = new WritableImage(Math.max(1, width), Math.max(1, height));
+        // draw the windows from bottom to top.
+        for (Window window : getWindows()) {
+            Scene scene = window.getScene();
+            if (!window.isShowing() || scene == null) {
+                continue;
+            }
+            Rectangle2D sceneBounds = new Rectangle2D(window.getX() + scene.getX(), window.getY() + scene.getY(),
+                    scene.getWidth(), scene.getHeight());
+            if (!sceneBounds.intersects(region)) {
+                continue;
+            }
+            // render only the part of the scene that is inside of the region.
+            int offsetX = (int) Math.round(region.getMinX() - sceneBounds.getMinX());
+            int offsetY = (int) Math.round(region.getMinY() - sceneBounds.getMinY());
+            int minX = Math.max(0, offsetX);
+            int minY = Math.max(0, offsetY);
+            int maxX = Math.min((int) Math.ceil(scene.getWidth()), offsetX + width);
+            int maxY = Math.min((int) Math.ceil(scene.getHeight()), offsetY + height);
+            if (maxX > minX && maxY > minY) {
+                WritableImage snapshot = WritableImagePool.snapshot(scene,
+                        new Rectangle2D(minX, minY, maxX - minX, maxY - minY));
+                capture.getPixelWriter().setPixels(minX - offsetX, minY - offsetY, maxX - minX, maxY - minY,
+                        snapshot.getPixelReader(), 0, 0);
+                WritableImagePool.release(snapshot);
+            }
+        }
+        return capture;
+    }
+
+    private void dispatchMouseEvent(EventType<MouseEvent> eventType, MouseButton button, int clickCount,
+                                    Point2D location) {
+        Scene scene = pressedScene != null ? pressedScene : sceneAt(location);
+        if (scene == null) {
+            updateHoveredNodes(null, null, location);
+            return;
+        }
+        if (eventType == MouseEvent.MOUSE_PRESSED) {
+            pressedScene = scene;
+        }
+        else if (eventType == MouseEvent.MOUSE_RELEASED && pressedButtons.isEmpty()) {
+            pressedScene = null;
+        }
+        Point2D scenePoint = toScenePoint(scene, location);
+        MouseEvent event = new MouseEvent(eventType, scenePoint.getX(), scenePoint.getY(), location.getX(),
+                location.getY(), button, clickCount, shiftDown, controlDown, altDown, metaDown,
+                pressedButtons.contains(MouseButton.PRIMARY), pressedButtons.contains(MouseButton.MIDDLE),
+                pressedButtons.contains(MouseButton.SECONDARY), false,
+                eventType == MouseEvent.MOUSE_PRESSED && button == MouseButton.SECONDARY, false, null);
+        if (PROCESS_MOUSE_EVENT != null) {
+            invokeScene(PROCESS_MOUSE_EVENT, scene, event);
+            return;
+        }
+
+        // without access to the scene's event processing, deliver the event like the scene would.
+        Node node = pickNode(scene, scenePoint);
+        updateHoveredNodes(scene, node, location);
+        EventTarget target = pressedNode != null ? pressedNode : node != null ? node : scene;
+        Event.fireEvent(target, event.copyFor(target, target));
+        if (eventType == MouseEvent.MOUSE_PRESSED) {
+            pressedNode = node;
+        }
+        else if (eventType == MouseEvent.MOUSE_RELEASED) {
+            if (pressedNode != null && pressedNode == node) {
+                Event.fireEvent(node, event.copyFor(node, node, MouseEvent.MOUSE_CLICKED));
+            }
+            if (pressedButtons.isEmpty()) {
+                pressedNode = null;
+            }
+        }
+    }
+
+    /**
+     * Fires exited events at the previously hovered nodes and entered events at the newly hovered nodes.
+     */
+    private void updateHoveredNodes(Scene scene, Node node, Point2D location) {
+        List<Node> nodes = new ArrayList<>();
+        for (Node parent = node; parent != null; parent = parent.getParent()) {
+            nodes.add(0, parent);
+        }
+        for (int index = hoveredNodes.size() - 1; index >= 0; index--) {
+            Node hoveredNode = hoveredNodes.get(index);
+            if (!nodes.contains(hoveredNode)) {
+                fireEnteredExited(hoveredNode, MouseEvent.MOUSE_EXITED_TARGET, location);
+            }
+        }
+        for (Node enteredNode : nodes) {
+            if (!hoveredNodes.contains(enteredNode)) {
+                fireEnteredExited(enteredNode, MouseEvent.MOUSE_ENTERED_TARGET, location);
+            }
+        }
+        hoveredNodes = scene == null ? Collections.emptyList() : nodes;
+    }
+
+    private void fireEnteredExited(Node node, EventType<MouseEvent> eventType, Point2D location) {
+        Scene scene = node.getScene();
+        Point2D scenePoint = scene != null ? toScenePoint(scene, location) : location;
+        Event.fireEvent(node, new MouseEvent(node, node, eventType, scenePoint.getX(), scenePoint.getY(),
+                location.getX(), location.getY(), MouseButton.NONE, 0, shiftDown, controlDown, altDown, metaDown,
+                pressedButtons.contains(MouseButton.PRIMARY), pressedButtons.contains(MouseButton.MIDDLE),
+                pressedButtons.contains(MouseButton.SECONDARY), false, false, false, null));
+    }
+
+    private void dispatchKeyEvent(Scene scene, KeyEvent event) {
+        if (PROCESS_KEY_EVENT != null) {
+            invokeScene(PROCESS_KEY_EVENT, scene, event);
+        }
+        else {
+            Event.fireEvent(scene.getFocusOwner() != null ? scene.getFocusOwner() : scene, event);
+        }
+    }
+
+    private KeyEvent createKeyEvent(EventType<KeyEvent> eventType, KeyCode key, String character) {
+        String text = eventType == KeyEvent.KEY_TYPED ? "" : key.getName();
+        return new KeyEvent(eventType, character, text, key, shiftDown, controlDown, altDown, metaDown);
+    }
+
+    private void updateModifiers(KeyCode key, boolean pressed) {
+        switch (key) {
+            case SHIFT:
+                shiftDown = pressed;
+                break;
+            case CONTROL:
+                controlDown = pressed;
+                break;
+            case ALT:
+                altDown = pressed;
+                break;
+            case META:
+            case COMMAND:
+                metaDown = pressed;
+                break;
+            default:
+                break;
+        }
+    }
+
+    private String typedCharacter(KeyCode key) {
+        if (controlDown || altDown || metaDown) {
+            return null;
+        }
+        if (key.isLetterKey()) {
+            return shiftDown ? key.getChar() : key.getChar().toLowerCase();
+        }
+        String characters = CHARACTERS.get(key);
+        if (characters != null) {
+            return shiftDown ? characters.substring(1) : characters.substring(0, 1);
+        }
+        if (key.isWhitespaceKey()) {
+            return key.getChar();
+        }
+        return null;
+    }
+
+    private static Scene focusedScene() {
+        Scene showingScene = null;
+        for (Window window : getWindows()) {
+            if (window.isShowing() && window.getScene() != null) {
+                if (window.isFocused()) {
+                    return window.getScene();
+                }
+                showingScene = window.getScene();
+            }
+        }
+        return showingScene;
+    }
+
+    /**
+     * Returns the scene of the topmost window under the given point on the screen.
+     */
+    private static Scene sceneAt(Point2D location) {
+        List<Window> windows = getWindows();
+        for (int index = windows.size() - 1; index >= 0; index--) {
+            Window window = windows.get(index);
+            Scene scene = window.getScene();
+            if (window.isShowing() && scene != null && new Rectangle2D(window.getX() + scene.getX(),
+                    window.getY() + scene.getY(), scene.getWidth(), scene.getHeight()).contains(location)) {
+                return scene;
+            }
+        }
+        return null;
+    }
+
+    private static Point2D toScenePoint(Scene scene, Point2D location) {
+        return new Point2D(location.getX() - scene.getWindow().getX() - scene.getX(),
+                location.getY() - scene.getWindow().getY() - scene.getY());
+    }
+
+    /**
+     * Returns the topmost visible node of the given scene that is not mouse transparent and contains the given
+     * point of the scene, or {@code null} if there is none.
+     */
+    private static Node pickNode(Scene scene, Point2D scenePoint) {
+        Node node = scene.getRoot();
+        if (node == null || !containsScenePoint(node, scenePoint)) {
+            return null;
+        }
+        Node childNode = node;
+        while (childNode != null) {
+            node = childNode;
+            childNode = null;
+            if (node instanceof Parent) {
+                List<Node> children = ((Parent) node).getChildrenUnmodifiable();
+                for (int index = children.size() - 1; index >= 0; index--) {
+                    if (containsScenePoint(children.get(index), scenePoint)) {
+                        childNode = children.get(index);
+                        break;
+                    }
+                }
+            }
+        }
+        return node;
+    }
+
+    private static boolean containsScenePoint(Node node, Point2D scenePoint) {
+        return node.isVisible() && !node.isMouseTransparent() && node.contains(node.sceneToLocal(scenePoint));
+    }
+
+    private static void invokeScene(MethodHandle method, Scene scene, Event event) {
+        try {
+            method.invoke(scene, event);
+        }
+        catch (RuntimeException | Error e) {
+            throw e;
+        }
+        catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * Returns a handle to the scene's own processing of the given event type, taking the scene and the event, or
+     * {@code null} if it is not accessible.
+     */
+    private static MethodHandle findSceneMethod(String name, Class<? extends Event> eventType) {
+        MethodHandles.Lookup lookup = MethodHandles.lookup();
+        MethodType methodType = MethodType.methodType(void.class, Scene.class, Event.class);
+        try {
+            return lookup.unreflect(Class.forName("com.sun.javafx.scene.SceneHelper")
+                    .getMethod(name, Scene.class, eventType)).asType(methodType);
+        }
+        catch (ReflectiveOperationException | RuntimeException ignored) {
+            // not JavaFX 9+ or the package is not exported, fall through to JavaFX 8.
+        }
+        try {
+            return lookup.unreflect(Scene.class.getMethod("impl_" + name, eventType)).asType(methodType);
+        }
+        catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+}
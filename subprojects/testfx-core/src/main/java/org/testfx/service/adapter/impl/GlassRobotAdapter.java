@@ -16,18 +16,36 @@
  */
 package org.testfx.service.adapter.impl;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.concurrent.atomic.LongAdder;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.image.Image;
 
 import org.testfx.service.adapter.RobotAdapter;
+import org.testfx.service.support.ArgbPixels;
 
 import static org.testfx.util.WaitForAsyncUtils.asyncFx;
+import static org.testfx.util.WaitForAsyncUtils.waitForAsyncFx;
 
+/**
+ * Base class of the {@link RobotAdapter}s that use the Glass robot of JavaFX.
+ * <p>
+ * The Glass robot is only known reflectively. Its methods are resolved once in {@link #robotCreate()}
+ * into {@link MethodHandle}s bound to the created robot, so that the input injection does not pay for a
+ * reflective lookup on every call. The number of invocations of the Glass robot and the time spent in
+ * them are recorded and can be retrieved via {@link #getInvocationCount()} and
+ * {@link #getInvocationTimeInNanos()}.
+ */
 public abstract class GlassRobotAdapter implements RobotAdapter {
 
     protected static final int RETRIEVAL_TIMEOUT_IN_MILLIS = 10000;
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
     protected Object glassRobot;
+    protected MethodHandle mouseWheelHandle;
     private static boolean publicRobot;
+    private final LongAdder invocationCount = new LongAdder();
+    private final LongAdder invocationTimeInNanos = new LongAdder();
 
     static {
         try {
@@ -64,18 +82,42 @@ public abstract class GlassRobotAdapter implements RobotAdapter {
 
     @Override
     public final void mouseWheel(int wheelAmount) {
-        asyncFx(() -> getRobot().getClass().getMethod("mouseWheel", int.class).invoke(getRobot(), wheelAmount));
+        asyncFx(() -> {
+            getRobot();
+            return invokeGlass(() -> {
+                mouseWheelHandle.invokeExact(wheelAmount);
+                return null;
+            });
+        });
     }
 
     @Override
     public final Image getCaptureRegion(Rectangle2D region) {
+        if (MonocleHeadlessCapture.isAvailable()) {
+            return getCapturePixels(region).toImage();
+        }
         return getScreenCapture(region, false);
     }
 
     public final Image getCaptureRegionRaw(Rectangle2D region) {
+        if (MonocleHeadlessCapture.isAvailable()) {
+            return getCapturePixels(region).toImage();
+        }
         return getScreenCapture(region, true);
     }
 
+    /**
+     * Reads the pixels straight from the framebuffer of the screen if Monocle's headless platform is running,
+     * and from a capture of the Glass robot otherwise.
+     */
+    @Override
+    public final ArgbPixels getCapturePixels(Rectangle2D region) {
+        if (MonocleHeadlessCapture.isAvailable()) {
+            return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, () -> MonocleHeadlessCapture.capture(region));
+        }
+        return ArgbPixels.of(getScreenCapture(region, false));
+    }
+
     protected final Object getRobot() {
         if (glassRobot == null) {
             robotCreate();
@@ -83,6 +125,75 @@ public abstract class GlassRobotAdapter implements RobotAdapter {
         return glassRobot;
     }
 
+    /**
+     * Returns the number of calls made into the Glass robot by this adapter.
+     */
+    public final long getInvocationCount() {
+        return invocationCount.sum();
+    }
+
+    /**
+     * Returns the accumulated time, in nanoseconds, spent inside calls into the Glass robot by this adapter.
+     */
+    public final long getInvocationTimeInNanos() {
+        return invocationTimeInNanos.sum();
+    }
+
+    /**
+     * Resets the invocation count and time of this adapter.
+     */
+    public final void resetInvocationStatistics() {
+        invocationCount.reset();
+        invocationTimeInNanos.reset();
+    }
+
     protected abstract Image getScreenCapture(Rectangle2D region, boolean raw);
 
+    /**
+     * Resolves the public method {@code name} of the {@link #glassRobot} and binds it to the robot.
+     */
+    protected final MethodHandle bindRobotMethod(String name, Class<?>... parameterTypes)
+            throws NoSuchMethodException, IllegalAccessException {
+        return LOOKUP.unreflect(glassRobot.getClass().getMethod(name, parameterTypes)).bindTo(glassRobot);
+    }
+
+    /**
+     * Resolves the public method {@code name} of the given class without binding it to a receiver.
+     */
+    protected static MethodHandle findMethod(Class<?> declaringClass, String name, Class<?>... parameterTypes)
+            throws NoSuchMethodException, IllegalAccessException {
+        return LOOKUP.unreflect(declaringClass.getMethod(name, parameterTypes));
+    }
+
+    /**
+     * Runs the given invocation of the Glass robot, records it in the invocation statistics and
+     * rethrows checked exceptions wrapped in a {@link RuntimeException}.
+     */
+    protected final <T> T invokeGlass(GlassInvocation<T> invocation) {
+        long startInNanos = System.nanoTime();
+        try {
+            return invocation.invoke();
+        }
+        catch (RuntimeException | Error e) {
+            throw e;
+        }
+        catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+        finally {
+            invocationTimeInNanos.add(System.nanoTime() - startInNanos);
+            invocationCount.increment();
+        }
+    }
+
+    /**
+     * A call into the Glass robot, usually through a {@link MethodHandle}.
+     *
+     * @param <T> the result type of the call
+     */
+    @FunctionalInterface
+    protected interface GlassInvocation<T> {
+        T invoke() throws Throwable;
+    }
+
 }
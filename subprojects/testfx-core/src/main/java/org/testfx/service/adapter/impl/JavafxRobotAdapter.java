@@ -16,6 +16,9 @@
  */
 package org.testfx.service.adapter.impl;
 
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
 import javafx.application.Platform;
 import javafx.event.Event;
 import javafx.event.EventTarget;
@@ -24,17 +27,17 @@ import javafx.geometry.Point2D;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
-import javafx.scene.image.ImageView;
 import javafx.scene.image.WritableImage;
 import javafx.scene.input.KeyCode;
 import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseButton;
 import javafx.scene.input.MouseEvent;
 import javafx.scene.input.ScrollEvent;
-import javafx.scene.layout.Pane;
 import javafx.scene.paint.Color;
 
 import org.testfx.service.adapter.RobotAdapter;
+import org.testfx.util.PixelSamplingUtils;
+import org.testfx.util.WritableImagePool;
 
 import static org.testfx.util.WaitForAsyncUtils.asyncFx;
 
@@ -94,6 +97,30 @@ public class JavafxRobotAdapter implements RobotAdapter<JavafxRobotAdapter> {
                 KeyEvent.KEY_TYPED, key, character)));
     }
 
+    /**
+     * Types the given characters one after the other, each with the key at the same index of the given
+     * {@code keys}. The key pressed, key typed and key released events of all characters are fired by a single
+     * runnable on the JavaFX application thread.
+     *
+     * @throws IllegalArgumentException if there is not exactly one key for each character
+     */
+    public void keyTypeAll(List<KeyCode> keys,
+                           String characters) {
+        if (keys.size() != characters.length()) {
+            throw new IllegalArgumentException("expected one key for each of the " + characters.length() +
+                    " characters but got " + keys.size() + " keys");
+        }
+        asyncFx(() -> {
+            for (int index = 0; index < keys.size(); index++) {
+                KeyCode key = keys.get(index);
+                Event.fireEvent(getEventTarget(scene), createKeyEvent(KeyEvent.KEY_PRESSED, key, ""));
+                Event.fireEvent(getEventTarget(scene), createKeyEvent(KeyEvent.KEY_TYPED, KeyCode.UNDEFINED,
+                        characters.substring(index, index + 1)));
+                Event.fireEvent(getEventTarget(scene), createKeyEvent(KeyEvent.KEY_RELEASED, key, ""));
+            }
+        });
+    }
+
     @Override
     public Point2D getMouseLocation() {
         throw new UnsupportedOperationException();
@@ -153,8 +180,27 @@ public class JavafxRobotAdapter implements RobotAdapter<JavafxRobotAdapter> {
             throw new RuntimeException("JavafxRobotAdapter#getCapturePixelColor(..) must be called on JavaFX " +
                     "application thread but was: " + Thread.currentThread());
         }
-        WritableImage snapshot = scene.snapshot(null);
-        return snapshot.getPixelReader().getColor((int) location.getX(), (int) location.getY());
+        WritableImage snapshot = WritableImagePool.snapshot(scene,
+                new Rectangle2D((int) location.getX(), (int) location.getY(), 1, 1));
+        Color color = snapshot.getPixelReader().getColor(0, 0);
+        WritableImagePool.release(snapshot);
+        return color;
+    }
+
+    @Override
+    public List<Color> getCapturePixelColors(Collection<Point2D> locations) {
+        if (!Platform.isFxApplicationThread()) {
+            throw new RuntimeException("JavafxRobotAdapter#getCapturePixelColors(..) must be called on JavaFX " +
+                    "application thread but was: " + Thread.currentThread());
+        }
+        if (locations.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Rectangle2D region = PixelSamplingUtils.boundsOf(locations);
+        WritableImage snapshot = WritableImagePool.snapshot(scene, region);
+        List<Color> colors = PixelSamplingUtils.readPixelColors(snapshot, region, locations);
+        WritableImagePool.release(snapshot);
+        return colors;
     }
 
     @Override
@@ -163,10 +209,7 @@ public class JavafxRobotAdapter implements RobotAdapter<JavafxRobotAdapter> {
             throw new RuntimeException("JavafxRobotAdapter#getCaptureRegion(..) must be called on JavaFX " +
                     "application thread but was: " + Thread.currentThread());
         }
-        ImageView imageView = new ImageView(scene.snapshot(null));
-        imageView.setViewport(region);
-        new Scene(new Pane(imageView)); // The imageView must be in an off-screen Scene to be snapshotted
-        return imageView.snapshot(null, null);
+        return WritableImagePool.snapshot(scene, region);
     }
 
     private EventTarget getEventTarget(Scene scene) {
@@ -0,0 +1,160 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.adapter.impl;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import javafx.geometry.Rectangle2D;
+
+import org.testfx.service.support.ArgbPixels;
+
+/**
+ * Captures the screen of Monocle's headless platform, which {@code testfx.headless} installs, by reading the
+ * framebuffer of the headless screen directly.
+ * <p>
+ * The generic capture of the Glass robot copies the whole framebuffer into an array of the robot, crops it
+ * into a {@code Pixels} object and finally writes that into a new image. Here the rows of the captured region
+ * are copied from the framebuffer into the array of an {@link ArgbPixels} with bulk copies instead. The
+ * framebuffer itself cannot be handed out, because the next frame is rendered into it.
+ * <p>
+ * Monocle is only known reflectively. If it is not the running platform, or its classes cannot be accessed, the
+ * capture is not {@link #isAvailable() available} and the Glass robot has to be used.
+ */
+final class MonocleHeadlessCapture {
+
+    private static final String NATIVE_PLATFORM_FACTORY = "com.sun.glass.ui.monocle.NativePlatformFactory";
+    private static final String NATIVE_PLATFORM = "com.sun.glass.ui.monocle.NativePlatform";
+    private static final String NATIVE_SCREEN = "com.sun.glass.ui.monocle.NativeScreen";
+    private static final String HEADLESS_SCREEN = "com.sun.glass.ui.monocle.HeadlessScreen";
+
+    private final Object framebufferSwapLock;
+    private final MethodHandle getScreenCaptureHandle;
+    private final int screenWidth;
+    private final int screenHeight;
+
+    private MonocleHeadlessCapture(Object framebufferSwapLock,
+                                   MethodHandle getScreenCaptureHandle,
+                                   int screenWidth,
+                                   int screenHeight) {
+        this.framebufferSwapLock = framebufferSwapLock;
+        this.getScreenCaptureHandle = getScreenCaptureHandle;
+        this.screenWidth = screenWidth;
+        this.screenHeight = screenHeight;
+    }
+
+    /**
+     * Returns whether the screen of Monocle's headless platform can be captured directly.
+     */
+    static boolean isAvailable() {
+        return Holder.CAPTURE != null;
+    }
+
+    /**
+     * Returns the pixels of the given region of the headless screen, where pixels outside of the screen are
+     * transparent. Must only be called if the capture is {@link #isAvailable() available}.
+     */
+    static ArgbPixels capture(Rectangle2D region) {
+        return Holder.CAPTURE.captureRegion((int) region.getMinX(), (int) region.getMinY(),
+                (int) region.getWidth(), (int) region.getHeight());
+    }
+
+    private ArgbPixels captureRegion(int x, int y, int width, int height) {
+        int[] argbs = new int[Math.max(0, width) * Math.max(0, height)];
+        int fromX = Math.max(0, x);
+        int toX = Math.min(screenWidth, x + width);
+        int fromY = Math.max(0, y);
+        int toY = Math.min(screenHeight, y + height);
+        if (fromX < toX && fromY < toY) {
+            synchronized (framebufferSwapLock) {
+                ByteBuffer framebuffer = getScreenCapture();
+                // a duplicate does not share the position but neither the byte order of the framebuffer.
+                IntBuffer pixels = framebuffer.duplicate().order(framebuffer.order()).asIntBuffer();
+                for (int row = fromY; row < toY; row++) {
+                    pixels.position(row * screenWidth + fromX);
+                    pixels.get(argbs, (row - y) * width + (fromX - x), toX - fromX);
+                }
+            }
+            unpremultiply(argbs);
+        }
+        return new ArgbPixels(Math.max(0, width), Math.max(0, height), argbs);
+    }
+
+    private ByteBuffer getScreenCapture() {
+        try {
+            return (ByteBuffer) getScreenCaptureHandle.invokeExact();
+        }
+        catch (RuntimeException | Error e) {
+            throw e;
+        }
+        catch (Throwable t) {
+            throw new RuntimeException(t);
+        }
+    }
+
+    /**
+     * Converts the premultiplied pixels of the framebuffer in place. The screen is opaque wherever something
+     * was rendered, so only pixels that were never rendered need to be looked at.
+     */
+    private static void unpremultiply(int[] argbs) {
+        for (int index = 0; index < argbs.length; index++) {
+            int argb = argbs[index];
+            int alpha = argb >>> 24;
+            if (alpha != 0xff && alpha != 0) {
+                int red = Math.min(0xff, ((argb >> 16) & 0xff) * 0xff / alpha);
+                int green = Math.min(0xff, ((argb >> 8) & 0xff) * 0xff / alpha);
+                int blue = Math.min(0xff, (argb & 0xff) * 0xff / alpha);
+                argbs[index] = (alpha << 24) | (red << 16) | (green << 8) | blue;
+            }
+        }
+    }
+
+    private static MonocleHeadlessCapture create() {
+        if (!Boolean.getBoolean("testfx.headless")) {
+            return null;
+        }
+        try {
+            Object nativePlatform = Class.forName(NATIVE_PLATFORM_FACTORY).getMethod("getNativePlatform")
+                    .invoke(null);
+            Method getScreen = Class.forName(NATIVE_PLATFORM).getDeclaredMethod("getScreen");
+            getScreen.setAccessible(true);
+            Object screen = getScreen.invoke(nativePlatform);
+            if (screen == null || !HEADLESS_SCREEN.equals(screen.getClass().getName())) {
+                return null;
+            }
+            Class<?> nativeScreen = Class.forName(NATIVE_SCREEN);
+            MethodHandles.Lookup lookup = MethodHandles.lookup();
+            return new MonocleHeadlessCapture(nativeScreen.getField("framebufferSwapLock").get(null),
+                    lookup.unreflect(nativeScreen.getMethod("getScreenCapture")).bindTo(screen),
+                    (int) nativeScreen.getMethod("getWidth").invoke(screen),
+                    (int) nativeScreen.getMethod("getHeight").invoke(screen));
+        }
+        catch (ReflectiveOperationException | RuntimeException | LinkageError e) {
+            return null;
+        }
+    }
+
+    /**
+     * Holds the capture, which is created on first use, after the toolkit has created the screen.
+     */
+    private static final class Holder {
+        private static final MonocleHeadlessCapture CAPTURE = create();
+    }
+
+}
@@ -16,6 +16,8 @@
  */
 package org.testfx.service.adapter.impl;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 import java.nio.IntBuffer;
@@ -39,10 +41,28 @@ import static org.testfx.util.WaitForAsyncUtils.waitForAsyncFx;
  * {@link org.testfx.service.adapter.RobotAdapter} implementation that uses the private
  * {@code com.sun.glass.ui.GlassRobot} implementation to support JavaFX versions before 11.
  * <p>
- * All methods are called reflectively so that this class can compile on any JavaFX version.
+ * All methods are resolved reflectively when the robot is created so that this class can compile on any
+ * JavaFX version.
  */
 class PrivateGlassRobotAdapter extends GlassRobotAdapter {
 
+    private MethodHandle destroyHandle;
+    private MethodHandle keyPressHandle;
+    private MethodHandle keyReleaseHandle;
+    private MethodHandle getMouseXHandle;
+    private MethodHandle getMouseYHandle;
+    private MethodHandle mouseMoveHandle;
+    private MethodHandle mousePressHandle;
+    private MethodHandle mouseReleaseHandle;
+    private MethodHandle getPixelColorHandle;
+    private MethodHandle getScreenCaptureHandle;
+    private MethodHandle pixelsGetWidthHandle;
+    private MethodHandle pixelsGetHeightHandle;
+    private MethodHandle pixelsGetPixelsHandle;
+    private int mouseLeftButton;
+    private int mouseRightButton;
+    private int mouseMiddleButton;
+
     @Override
     public void robotCreate() {
         try {
@@ -51,8 +71,34 @@ class PrivateGlassRobotAdapter extends GlassRobotAdapter {
             Method createRobotMethod = application.getClass().getDeclaredMethod("createRobot");
             createRobotMethod.setAccessible(true);
             glassRobot = createRobotMethod.invoke(application);
+            destroyHandle = bindRobotMethod("destroy");
+            keyPressHandle = bindRobotMethod("keyPress", int.class);
+            keyReleaseHandle = bindRobotMethod("keyRelease", int.class);
+            getMouseXHandle = bindRobotMethod("getMouseX");
+            getMouseYHandle = bindRobotMethod("getMouseY");
+            mouseMoveHandle = bindRobotMethod("mouseMove", int.class, int.class);
+            mousePressHandle = bindRobotMethod("mousePress", int.class);
+            mouseReleaseHandle = bindRobotMethod("mouseRelease", int.class);
+            mouseWheelHandle = bindRobotMethod("mouseWheel", int.class);
+            getPixelColorHandle = bindRobotMethod("getPixelColor", int.class, int.class);
+            getScreenCaptureHandle = bindRobotMethod("getScreenCapture", int.class, int.class, int.class, int.class,
+                    boolean.class).asType(MethodType.methodType(Object.class, int.class, int.class, int.class,
+                    int.class, boolean.class));
+
+            Class<?> pixelsClass = Class.forName("com.sun.glass.ui.Pixels");
+            MethodType pixelsIntGetter = MethodType.methodType(int.class, Object.class);
+            pixelsGetWidthHandle = findMethod(pixelsClass, "getWidth").asType(pixelsIntGetter);
+            pixelsGetHeightHandle = findMethod(pixelsClass, "getHeight").asType(pixelsIntGetter);
+            pixelsGetPixelsHandle = findMethod(pixelsClass, "getPixels")
+                    .asType(MethodType.methodType(IntBuffer.class, Object.class));
+
+            Class<?> robotClass = glassRobot.getClass();
+            mouseLeftButton = robotClass.getField("MOUSE_LEFT_BTN").getInt(null);
+            mouseRightButton = robotClass.getField("MOUSE_RIGHT_BTN").getInt(null);
+            mouseMiddleButton = robotClass.getField("MOUSE_MIDDLE_BTN").getInt(null);
         }
-        catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException | ClassNotFoundException e) {
+        catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException | NoSuchFieldException |
+                ClassNotFoundException e) {
             e.printStackTrace();
             throw new RuntimeException(e);
         }
@@ -62,12 +108,10 @@ class PrivateGlassRobotAdapter extends GlassRobotAdapter {
     public void robotDestroy() {
         if (glassRobot != null) {
             waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, () -> {
-                try {
-                    getRobot().getClass().getMethod("destroy").invoke(glassRobot);
-                }
-                catch (IllegalAccessException | InvocationTargetException | NoSuchMethodException e) {
-                    throw new RuntimeException(e);
-                }
+                invokeGlass(() -> {
+                    destroyHandle.invokeExact();
+                    return null;
+                });
                 glassRobot = null;
             });
         }
@@ -75,14 +119,24 @@ class PrivateGlassRobotAdapter extends GlassRobotAdapter {
 
     @Override
     public void keyPress(KeyCode key) {
-        asyncFx(() -> getRobot().getClass().getMethod("keyPress", int.class)
-                .invoke(getRobot(), convertToKeyCodeId(key)));
+        asyncFx(() -> {
+            getRobot();
+            return invokeGlass(() -> {
+                keyPressHandle.invokeExact(convertToKeyCodeId(key));
+                return null;
+            });
+        });
     }
 
     @Override
     public void keyRelease(KeyCode key) {
-        asyncFx(() -> getRobot().getClass().getMethod("keyRelease", int.class)
-                .invoke(getRobot(), convertToKeyCodeId(key)));
+        asyncFx(() -> {
+            getRobot();
+            return invokeGlass(() -> {
+                keyReleaseHandle.invokeExact(convertToKeyCodeId(key));
+                return null;
+            });
+        });
     }
 
     @Override
@@ -92,72 +146,92 @@ class PrivateGlassRobotAdapter extends GlassRobotAdapter {
         // Please keep backwards compatibility to the latest version with this behavior in this case.
         if (PlatformAdapter.getOs() == PlatformAdapter.OS.UNIX &&
                 JavaVersionAdapter.currentVersion().isJava9Compatible()) {
-            return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS,
-                () -> new Point2D((int) getRobot().getClass().getMethod("getMouseX").invoke(
-                        getRobot()) / JavaVersionAdapter.getScreenScaleX(),
-                        (int) getRobot().getClass().getMethod("getMouseY").invoke(
-                                getRobot()) / JavaVersionAdapter.getScreenScaleY()));
+            return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, () -> new Point2D(
+                    getMouseX() / JavaVersionAdapter.getScreenScaleX(),
+                    getMouseY() / JavaVersionAdapter.getScreenScaleY()));
         }
         else {
-            return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS,
-                () -> new Point2D((int) getRobot().getClass().getMethod("getMouseX").invoke(glassRobot),
-                        (int) getRobot().getClass().getMethod("getMouseY").invoke(glassRobot)));
+            return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, () -> new Point2D(getMouseX(), getMouseY()));
         }
     }
 
     @Override
     public void mouseMove(Point2D location) {
         final Rectangle2D scaled = new Rectangle2D(location.getX(), location.getY(), 0, 0);
-        asyncFx(() -> getRobot().getClass().getMethod("mouseMove", int.class, int.class)
-                .invoke(getRobot(), (int) scaled.getMinX(), (int) scaled.getMinY()));
+        asyncFx(() -> {
+            getRobot();
+            return invokeGlass(() -> {
+                mouseMoveHandle.invokeExact((int) scaled.getMinX(), (int) scaled.getMinY());
+                return null;
+            });
+        });
     }
 
     @Override
     public void mousePress(MouseButton button) {
-        asyncFx(() -> getRobot().getClass().getMethod("mousePress", int.class)
-                .invoke(getRobot(), convertToButtonId(button)));
+        asyncFx(() -> {
+            getRobot();
+            int buttonId = convertToButtonId(button);
+            return invokeGlass(() -> {
+                mousePressHandle.invokeExact(buttonId);
+                return null;
+            });
+        });
     }
 
     @Override
     public void mouseRelease(MouseButton button) {
-        asyncFx(() -> getRobot().getClass().getMethod("mouseRelease", int.class)
-                .invoke(getRobot(), convertToButtonId(button)));
+        asyncFx(() -> {
+            getRobot();
+            int buttonId = convertToButtonId(button);
+            return invokeGlass(() -> {
+                mouseReleaseHandle.invokeExact(buttonId);
+                return null;
+            });
+        });
     }
 
     @Override
     public Color getCapturePixelColor(Point2D location) {
         final Rectangle2D scaled = new Rectangle2D(location.getX(), location.getY(), 0, 0);
         return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, () -> {
-            int glassColor = (int) getRobot().getClass().getMethod("getPixelColor", int.class, int.class)
-                    .invoke(getRobot(), (int) scaled.getMinX(), (int) scaled.getMinY());
+            getRobot();
+            int glassColor = invokeGlass(() ->
+                    (int) getPixelColorHandle.invokeExact((int) scaled.getMinX(), (int) scaled.getMinY()));
             return convertFromGlassColor(glassColor);
         });
     }
 
     @Override
     protected Image getScreenCapture(Rectangle2D region, boolean raw) {
-        return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, () -> convertFromGlassPixels(
-                getRobot().getClass().getMethod("getScreenCapture", int.class, int.class, int.class,
-                        int.class, boolean.class).invoke(glassRobot,
-                        (int) region.getMinX(), (int) region.getMinY(),
-                        (int) region.getWidth(), (int) region.getHeight(), raw)));
+        return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, () -> {
+            getRobot();
+            return convertFromGlassPixels(invokeGlass(() -> (Object) getScreenCaptureHandle.invokeExact(
+                    (int) region.getMinX(), (int) region.getMinY(),
+                    (int) region.getWidth(), (int) region.getHeight(), raw)));
+        });
+    }
+
+    private int getMouseX() {
+        getRobot();
+        return invokeGlass(() -> (int) getMouseXHandle.invokeExact());
+    }
+
+    private int getMouseY() {
+        getRobot();
+        return invokeGlass(() -> (int) getMouseYHandle.invokeExact());
     }
 
     private int convertToButtonId(MouseButton button) {
-        try {
-            switch (button) {
-                case PRIMARY:
-                    return getRobot().getClass().getField("MOUSE_LEFT_BTN").getInt(null);
-                case SECONDARY:
-                    return getRobot().getClass().getField("MOUSE_RIGHT_BTN").getInt(null);
-                case MIDDLE:
-                    return getRobot().getClass().getField("MOUSE_MIDDLE_BTN").getInt(null);
-                default:
-                    throw new IllegalArgumentException("MouseButton: " + button + " not supported by GlassRobot");
-            }
-        }
-        catch (NoSuchFieldException | IllegalAccessException e) {
-            throw new IllegalArgumentException("MouseButton: " + button + " not supported by GlassRobot");
+        switch (button) {
+            case PRIMARY:
+                return mouseLeftButton;
+            case SECONDARY:
+                return mouseRightButton;
+            case MIDDLE:
+                return mouseMiddleButton;
+            default:
+                throw new IllegalArgumentException("MouseButton: " + button + " not supported by GlassRobot");
         }
     }
 
@@ -170,17 +244,14 @@ class PrivateGlassRobotAdapter extends GlassRobotAdapter {
     }
 
     private Image convertFromGlassPixels(Object glassPixels) {
-        try {
-            int width = (int) glassPixels.getClass().getMethod("getWidth").invoke(glassPixels);
-            int height = (int) glassPixels.getClass().getMethod("getHeight").invoke(glassPixels);
+        return invokeGlass(() -> {
+            int width = (int) pixelsGetWidthHandle.invokeExact(glassPixels);
+            int height = (int) pixelsGetHeightHandle.invokeExact(glassPixels);
             WritableImage image = new WritableImage(width, height);
-            IntBuffer intBuffer = (IntBuffer) glassPixels.getClass().getMethod("getPixels").invoke(glassPixels);
+            IntBuffer intBuffer = (IntBuffer) pixelsGetPixelsHandle.invokeExact(glassPixels);
             writeIntBufferToImage(intBuffer, image);
             return image;
-        }
-        catch (NoSuchMethodException | IllegalAccessException | InvocationTargetException e) {
-            throw new RuntimeException(e);
-        }
+        });
     }
 
     private void writeIntBufferToImage(IntBuffer intBuffer, WritableImage image) {
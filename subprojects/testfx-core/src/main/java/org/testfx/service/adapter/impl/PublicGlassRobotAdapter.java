@@ -16,6 +16,7 @@
  */
 package org.testfx.service.adapter.impl;
 
+import java.lang.invoke.MethodHandle;
 import java.lang.reflect.InvocationTargetException;
 import javafx.geometry.Point2D;
 import javafx.geometry.Rectangle2D;
@@ -35,14 +36,36 @@ import static org.testfx.util.WaitForAsyncUtils.waitForAsyncFx;
  * {@link org.testfx.service.adapter.RobotAdapter} implementation that uses the public {@link javafx.scene.robot.Robot}
  * API added in JavaFX 11.
  * <p>
- * All methods are called reflectively so that this class can compile on any JavaFX version.
+ * All methods are resolved reflectively when the robot is created so that this class can compile on any
+ * JavaFX version.
  */
 class PublicGlassRobotAdapter extends GlassRobotAdapter {
 
+    private MethodHandle keyPressHandle;
+    private MethodHandle keyReleaseHandle;
+    private MethodHandle getMouseXHandle;
+    private MethodHandle getMouseYHandle;
+    private MethodHandle mouseMoveHandle;
+    private MethodHandle mousePressHandle;
+    private MethodHandle mouseReleaseHandle;
+    private MethodHandle getPixelColorHandle;
+    private MethodHandle getScreenCaptureHandle;
+
     @Override
     public void robotCreate() {
         try {
             glassRobot = Class.forName("javafx.scene.robot.Robot").getConstructor().newInstance();
+            keyPressHandle = bindRobotMethod("keyPress", KeyCode.class);
+            keyReleaseHandle = bindRobotMethod("keyRelease", KeyCode.class);
+            getMouseXHandle = bindRobotMethod("getMouseX");
+            getMouseYHandle = bindRobotMethod("getMouseY");
+            mouseMoveHandle = bindRobotMethod("mouseMove", double.class, double.class);
+            mousePressHandle = bindRobotMethod("mousePress", MouseButton[].class);
+            mouseReleaseHandle = bindRobotMethod("mouseRelease", MouseButton[].class);
+            mouseWheelHandle = bindRobotMethod("mouseWheel", int.class);
+            getPixelColorHandle = bindRobotMethod("getPixelColor", double.class, double.class);
+            getScreenCaptureHandle = bindRobotMethod("getScreenCapture", WritableImage.class, double.class,
+                    double.class, double.class, double.class, boolean.class);
         }
         catch (InstantiationException | IllegalAccessException | InvocationTargetException |
                 NoSuchMethodException | ClassNotFoundException e) {
@@ -57,12 +80,24 @@ class PublicGlassRobotAdapter extends GlassRobotAdapter {
 
     @Override
     public void keyPress(KeyCode key) {
-        asyncFx(() -> getRobot().getClass().getMethod("keyPress", KeyCode.class).invoke(getRobot(), key));
+        asyncFx(() -> {
+            getRobot();
+            return invokeGlass(() -> {
+                keyPressHandle.invokeExact(key);
+                return null;
+            });
+        });
     }
 
     @Override
     public void keyRelease(KeyCode key) {
-        asyncFx(() -> getRobot().getClass().getMethod("keyRelease", KeyCode.class).invoke(getRobot(), key));
+        asyncFx(() -> {
+            getRobot();
+            return invokeGlass(() -> {
+                keyReleaseHandle.invokeExact(key);
+                return null;
+            });
+        });
     }
 
     @Override
@@ -72,51 +107,75 @@ class PublicGlassRobotAdapter extends GlassRobotAdapter {
         // Please keep backwards compatibility to the latest version with this behavior in this case.
         if (PlatformAdapter.getOs() == PlatformAdapter.OS.UNIX &&
                 !JavaVersionAdapter.currentVersion().isJava11Compatible()) {
-            return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS,
-                () -> new Point2D(((Double) getRobot().getClass().getMethod("getMouseX").invoke(
-                        getRobot())).intValue() / JavaVersionAdapter.getScreenScaleX(),
-                        ((Double) getRobot().getClass().getMethod("getMouseY").invoke(
-                                getRobot())).intValue() / JavaVersionAdapter.getScreenScaleY()));
+            return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, () -> new Point2D(
+                    (int) getMouseX() / JavaVersionAdapter.getScreenScaleX(),
+                    (int) getMouseY() / JavaVersionAdapter.getScreenScaleY()));
         }
         else {
-            return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, () -> new Point2D(
-                    ((Double) getRobot().getClass().getMethod("getMouseX").invoke(glassRobot)).intValue(),
-                    ((Double) getRobot().getClass().getMethod("getMouseY").invoke(glassRobot)).intValue()));
+            return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS,
+                () -> new Point2D((int) getMouseX(), (int) getMouseY()));
         }
     }
 
     @Override
     public void mouseMove(Point2D location) {
         final Rectangle2D scaled = new Rectangle2D(location.getX(), location.getY(), 0, 0);
-        asyncFx(() -> getRobot().getClass().getMethod("mouseMove", double.class, double.class)
-                .invoke(getRobot(), (int) scaled.getMinX(), (int) scaled.getMinY()));
+        asyncFx(() -> {
+            getRobot();
+            return invokeGlass(() -> {
+                mouseMoveHandle.invokeExact((double) (int) scaled.getMinX(), (double) (int) scaled.getMinY());
+                return null;
+            });
+        });
     }
 
     @Override
     public void mousePress(MouseButton button) {
-        asyncFx(() -> getRobot().getClass().getMethod("mousePress", MouseButton[].class).invoke(getRobot(),
-                new Object[] {new MouseButton[] {button}}));
+        asyncFx(() -> {
+            getRobot();
+            return invokeGlass(() -> {
+                mousePressHandle.invokeExact(new MouseButton[] {button});
+                return null;
+            });
+        });
     }
 
     @Override
     public void mouseRelease(MouseButton button) {
-        asyncFx(() -> getRobot().getClass().getMethod("mouseRelease", MouseButton[].class)
-                .invoke(getRobot(), new Object[] {new MouseButton[] {button}}));
+        asyncFx(() -> {
+            getRobot();
+            return invokeGlass(() -> {
+                mouseReleaseHandle.invokeExact(new MouseButton[] {button});
+                return null;
+            });
+        });
     }
 
     @Override
     public Color getCapturePixelColor(Point2D location) {
         final Rectangle2D scaled = new Rectangle2D(location.getX(), location.getY(), 0, 0);
-        return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS,
-            () -> (Color) getRobot().getClass().getMethod("getPixelColor", double.class, double.class)
-                    .invoke(getRobot(), scaled.getMinX(), scaled.getMinY()));
+        return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, () -> {
+            getRobot();
+            return invokeGlass(() -> (Color) getPixelColorHandle.invokeExact(scaled.getMinX(), scaled.getMinY()));
+        });
     }
 
     @Override
     protected Image getScreenCapture(Rectangle2D region, boolean raw) {
-        return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, () -> (WritableImage)
-                getRobot().getClass().getMethod("getScreenCapture", WritableImage.class, double.class, double.class,
-                        double.class, double.class, boolean.class).invoke(glassRobot, null,
-                        region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight(), !raw));
+        return waitForAsyncFx(RETRIEVAL_TIMEOUT_IN_MILLIS, () -> {
+            getRobot();
+            return invokeGlass(() -> (WritableImage) getScreenCaptureHandle.invokeExact((WritableImage) null,
+                    region.getMinX(), region.getMinY(), region.getWidth(), region.getHeight(), !raw));
+        });
+    }
+
+    private double getMouseX() {
+        getRobot();
+        return invokeGlass(() -> (double) getMouseXHandle.invokeExact());
+    }
+
+    private double getMouseY() {
+        getRobot();
+        return invokeGlass(() -> (double) getMouseYHandle.invokeExact());
     }
 }
@@ -16,25 +16,32 @@
  */
 package org.testfx.service.finder.impl;
 
-import java.util.ArrayList;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import javafx.scene.Node;
 import javafx.scene.Scene;
-import javafx.stage.PopupWindow;
 import javafx.stage.Stage;
 import javafx.stage.Window;
 
 import org.testfx.service.finder.WindowFinder;
 
-import static org.testfx.internal.JavaVersionAdapter.getWindows;
-
 public class WindowFinderImpl implements WindowFinder {
 
+    private static final int TITLE_PATTERN_CACHE_SIZE = 64;
+    private static final Map<String, Pattern> TITLE_PATTERNS = Collections.synchronizedMap(
+        new LinkedHashMap<String, Pattern>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Pattern> eldest) {
+                return size() > TITLE_PATTERN_CACHE_SIZE;
+            }
+        });
+
+    private final WindowRegistry windowRegistry = WindowRegistry.getInstance();
     private Window lastTargetWindow;
 
     @Override
@@ -103,12 +110,12 @@ public class WindowFinderImpl implements WindowFinder {
 
     @Override
     public Window window(String stageTitleRegex) {
-        return window(hasStageTitlePredicate(stageTitleRegex));
+        return window(hasStageTitlePredicate(TITLE_PATTERNS.computeIfAbsent(stageTitleRegex, Pattern::compile)));
     }
 
     @Override
     public Window window(Pattern stageTitlePattern) {
-        return window(hasStageTitlePredicate(stageTitlePattern.toString()));
+        return window(hasStageTitlePredicate(stageTitlePattern));
     }
 
     @Override
@@ -121,57 +128,21 @@ public class WindowFinderImpl implements WindowFinder {
         return window(node.getScene());
     }
 
-    @SuppressWarnings("deprecation")
     private List<Window> fetchWindowsInQueue() {
-        return Collections.unmodifiableList(getWindows());
+        return windowRegistry.getWindows();
     }
 
     private List<Window> fetchWindowsByProximityTo(Window targetWindow) {
-        List<Window> windows = fetchWindowsInQueue();
-        return orderWindowsByProximityTo(targetWindow, windows);
-    }
-
-    private List<Window> orderWindowsByProximityTo(Window targetWindow, List<Window> windows) {
-        List<Window> copy = new ArrayList<>(windows);
-        copy.sort(Comparator.comparingInt(w -> calculateWindowProximityTo(targetWindow, w)));
-        return Collections.unmodifiableList(copy);
-    }
-
-    private int calculateWindowProximityTo(Window targetWindow, Window window) {
-        if (window == targetWindow) {
-            return 0;
-        }
-        if (isOwnerOf(window, targetWindow)) {
-            return 1;
-        }
-        return 2;
-    }
-
-    private boolean isOwnerOf(Window window, Window targetWindow) {
-        Window ownerWindow = retrieveOwnerOf(window);
-        if (ownerWindow == targetWindow) {
-            return true;
-        }
-        return ownerWindow != null && isOwnerOf(ownerWindow, targetWindow);
-    }
-
-    private Window retrieveOwnerOf(Window window) {
-        if (window instanceof Stage) {
-            return ((Stage) window).getOwner();
-        }
-        if (window instanceof PopupWindow) {
-            return ((PopupWindow) window).getOwnerWindow();
-        }
-        return null;
+        return windowRegistry.getWindowsByProximityTo(targetWindow);
     }
 
-    private Predicate<Window> hasStageTitlePredicate(String stageTitleRegex) {
+    private Predicate<Window> hasStageTitlePredicate(Pattern stageTitlePattern) {
         return window -> window instanceof Stage &&
-            hasStageTitle((Stage) window, stageTitleRegex);
+            hasStageTitle((Stage) window, stageTitlePattern);
     }
 
-    private boolean hasStageTitle(Stage stage, String stageTitleRegex) {
-        return stage.getTitle() != null && stage.getTitle().matches(stageTitleRegex);
+    private boolean hasStageTitle(Stage stage, Pattern stageTitlePattern) {
+        return stage.getTitle() != null && stageTitlePattern.matcher(stage.getTitle()).matches();
     }
 
 }
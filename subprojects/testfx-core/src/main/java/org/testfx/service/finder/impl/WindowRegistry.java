@@ -0,0 +1,200 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.finder.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javafx.application.Platform;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.stage.PopupWindow;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import org.testfx.internal.JavaVersionAdapter;
+
+/**
+ * Keeps track of the showing windows for all {@link WindowFinderImpl}s.
+ * <p>
+ * On Java 9+ a listener is registered once on the observable list of windows, so that the list of windows and
+ * the windows ordered by proximity to a target window are only fetched and ordered again after a window was
+ * shown or hidden. On Java 8, where the list of windows is not observable, the windows are fetched on each call.
+ */
+final class WindowRegistry {
+
+    private static final WindowRegistry INSTANCE = new WindowRegistry(JavaVersionAdapter.getObservableWindows());
+
+    private static final int PROXIMITY_TARGET = 0;
+    private static final int PROXIMITY_OWNED = 1;
+    private static final int PROXIMITY_OTHER = 2;
+
+    private final ObservableList<Window> observableWindows;
+    private final AtomicBoolean subscribed = new AtomicBoolean();
+    private final AtomicBoolean subscribing = new AtomicBoolean();
+    private final AtomicLong version = new AtomicLong();
+    private final ListChangeListener<Window> windowsListener = change -> version.incrementAndGet();
+
+    private volatile Snapshot windowsSnapshot;
+    private volatile ProximityView proximityView;
+
+    WindowRegistry(ObservableList<Window> observableWindows) {
+        this.observableWindows = observableWindows;
+    }
+
+    static WindowRegistry getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the showing windows in the order in which they were shown.
+     */
+    List<Window> getWindows() {
+        if (!isSubscribed()) {
+            return Collections.unmodifiableList(fetchWindows());
+        }
+        Snapshot snapshot = windowsSnapshot;
+        long currentVersion = version.get();
+        if (snapshot == null || snapshot.version != currentVersion) {
+            snapshot = new Snapshot(currentVersion, Collections.unmodifiableList(fetchWindows()));
+            windowsSnapshot = snapshot;
+        }
+        return snapshot.windows;
+    }
+
+    /**
+     * Returns the showing windows ordered by their proximity to the given {@code targetWindow}: the target window
+     * first, then the windows it (directly or indirectly) owns and then all other windows, each in the order in
+     * which they were shown.
+     */
+    List<Window> getWindowsByProximityTo(Window targetWindow) {
+        if (!isSubscribed()) {
+            return orderWindowsByProximityTo(targetWindow, fetchWindows());
+        }
+        long currentVersion = version.get();
+        ProximityView view = proximityView;
+        if (view == null || view.version != currentVersion || view.targetWindow != targetWindow) {
+            view = new ProximityView(currentVersion, targetWindow,
+                orderWindowsByProximityTo(targetWindow, getWindows()));
+            proximityView = view;
+        }
+        return view.windows;
+    }
+
+    private List<Window> fetchWindows() {
+        return observableWindows == null ? JavaVersionAdapter.getWindows() : new ArrayList<>(observableWindows);
+    }
+
+    /**
+     * Returns whether the listener on the observable list of windows is registered and, if it is not, registers
+     * it on the JavaFX application thread. Until then (and on Java 8) the windows are fetched on each call.
+     */
+    private boolean isSubscribed() {
+        if (observableWindows == null || subscribed.get()) {
+            return subscribed.get();
+        }
+        if (Platform.isFxApplicationThread()) {
+            subscribe();
+        }
+        else if (subscribing.compareAndSet(false, true)) {
+            try {
+                Platform.runLater(this::subscribe);
+            }
+            catch (IllegalStateException ignore) {
+                // the toolkit is not initialized yet, try again on the next call.
+                subscribing.set(false);
+            }
+        }
+        return subscribed.get();
+    }
+
+    private void subscribe() {
+        if (!subscribed.get()) {
+            observableWindows.addListener(windowsListener);
+            version.incrementAndGet();
+            subscribed.set(true);
+        }
+    }
+
+    private static List<Window> orderWindowsByProximityTo(Window targetWindow, List<Window> windows) {
+        // the proximity of each window is calculated once and windows of equal proximity keep their order.
+        int[] proximities = new int[windows.size()];
+        for (int index = 0; index < proximities.length; index++) {
+            proximities[index] = calculateWindowProximityTo(targetWindow, windows.get(index));
+        }
+        List<Window> ordered = new ArrayList<>(windows.size());
+        for (int proximity = PROXIMITY_TARGET; proximity <= PROXIMITY_OTHER; proximity++) {
+            for (int index = 0; index < proximities.length; index++) {
+                if (proximities[index] == proximity) {
+                    ordered.add(windows.get(index));
+                }
+            }
+        }
+        return Collections.unmodifiableList(ordered);
+    }
+
+    private static int calculateWindowProximityTo(Window targetWindow, Window window) {
+        if (window == targetWindow) {
+            return PROXIMITY_TARGET;
+        }
+        for (Window ownerWindow = retrieveOwnerOf(window); ; ownerWindow = retrieveOwnerOf(ownerWindow)) {
+            if (ownerWindow == targetWindow) {
+                return PROXIMITY_OWNED;
+            }
+            if (ownerWindow == null) {
+                return PROXIMITY_OTHER;
+            }
+        }
+    }
+
+    private static Window retrieveOwnerOf(Window window) {
+        if (window instanceof Stage) {
+            return ((Stage) window).getOwner();
+        }
+        if (window instanceof PopupWindow) {
+            return ((PopupWindow) window).getOwnerWindow();
+        }
+        return null;
+    }
+
+    private static final class Snapshot {
+
+        private final long version;
+        private final List<Window> windows;
+
+        private Snapshot(long version, List<Window> windows) {
+            this.version = version;
+            this.windows = windows;
+        }
+    }
+
+    private static final class ProximityView {
+
+        private final long version;
+        private final Window targetWindow;
+        private final List<Window> windows;
+
+        private ProximityView(long version, Window targetWindow, List<Window> windows) {
+            this.version = version;
+            this.targetWindow = targetWindow;
+            this.windows = windows;
+        }
+    }
+
+}
@@ -0,0 +1,272 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.query.impl;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Predicate;
+import javafx.css.PseudoClass;
+import javafx.css.Styleable;
+import javafx.scene.Node;
+
+/**
+ * A CSS selector that is parsed once and can then be matched against any number of nodes.
+ * <p>
+ * Supported are groups of selectors ({@code "a, b"}), descendant ({@code "a b"}) and child ({@code "a > b"})
+ * combinators and compound selectors made of a type selector ({@code "Button"}) or the universal selector
+ * ({@code "*"}), id selectors ({@code "#id"}), style class selectors ({@code ".class"}) and pseudo-class
+ * selectors ({@code ":pseudo-class"}). Unlike {@link Node#lookupAll(String)}, pseudo-classes are matched
+ * against the current {@link Node#getPseudoClassStates() pseudo-class states} of the nodes.
+ * <p>
+ * Compiled selectors are kept in a bounded cache keyed by the selector string, so that queries which are
+ * repeated, e.g. while polling for a node, are only parsed once.
+ */
+public final class CompiledSelector implements Predicate<Node> {
+
+    private static final int CACHE_SIZE = 256;
+    private static final Map<String, Optional<CompiledSelector>> CACHE = Collections.synchronizedMap(
+        new LinkedHashMap<String, Optional<CompiledSelector>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Optional<CompiledSelector>> eldest) {
+                return size() > CACHE_SIZE;
+            }
+        });
+
+    private final String selector;
+    private final List<ComplexSelector> complexSelectors;
+
+    private CompiledSelector(String selector, List<ComplexSelector> complexSelectors) {
+        this.selector = selector;
+        this.complexSelectors = complexSelectors;
+    }
+
+    /**
+     * Returns the compiled form of the given {@code selector}.
+     *
+     * @throws IllegalArgumentException if the selector is not supported
+     */
+    public static CompiledSelector compile(String selector) {
+        return tryCompile(selector).orElseThrow(() ->
+            new IllegalArgumentException("unsupported selector: \"" + selector + "\""));
+    }
+
+    /**
+     * Returns the compiled form of the given {@code selector}, or an empty optional if the selector is not
+     * supported.
+     */
+    public static Optional<CompiledSelector> tryCompile(String selector) {
+        return CACHE.computeIfAbsent(selector, key -> Optional.ofNullable(new Parser(key).parse()));
+    }
+
+    @Override
+    public boolean test(Node node) {
+        for (ComplexSelector complexSelector : complexSelectors) {
+            if (complexSelector.matches(node, complexSelector.compounds.size() - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return selector;
+    }
+
+    /**
+     * A sequence of compound selectors separated by descendant or child combinators.
+     */
+    private static final class ComplexSelector {
+
+        private final List<CompoundSelector> compounds = new ArrayList<>();
+        // whether the compound selector at the same index is joined to its predecessor by a child combinator.
+        private final List<Boolean> childCombinators = new ArrayList<>();
+
+        private boolean matches(Styleable styleable, int index) {
+            if (!compounds.get(index).matches(styleable)) {
+                return false;
+            }
+            if (index == 0) {
+                return true;
+            }
+            Styleable parent = styleable.getStyleableParent();
+            if (childCombinators.get(index)) {
+                return parent != null && matches(parent, index - 1);
+            }
+            for (; parent != null; parent = parent.getStyleableParent()) {
+                if (matches(parent, index - 1)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    /**
+     * A type or universal selector together with id, style class and pseudo-class selectors.
+     */
+    private static final class CompoundSelector {
+
+        private String type;
+        private String id;
+        private final List<String> styleClasses = new ArrayList<>();
+        private final List<PseudoClass> pseudoClasses = new ArrayList<>();
+
+        private boolean matches(Styleable styleable) {
+            if (type != null && !type.equals(styleable.getTypeSelector())) {
+                return false;
+            }
+            if (id != null && !Objects.equals(id, styleable.getId())) {
+                return false;
+            }
+            if (!styleable.getStyleClass().containsAll(styleClasses)) {
+                return false;
+            }
+            return pseudoClasses.isEmpty() || styleable.getPseudoClassStates().containsAll(pseudoClasses);
+        }
+
+        private boolean isEmpty() {
+            return type == null && id == null && styleClasses.isEmpty() && pseudoClasses.isEmpty();
+        }
+    }
+
+    /**
+     * Parses a selector string, returning {@code null} for unsupported selectors.
+     */
+    private static final class Parser {
+
+        private final String selector;
+        private int position;
+
+        private Parser(String selector) {
+            this.selector = selector;
+        }
+
+        private CompiledSelector parse() {
+            List<ComplexSelector> complexSelectors = new ArrayList<>();
+            do {
+                ComplexSelector complexSelector = parseComplexSelector();
+                if (complexSelector == null) {
+                    return null;
+                }
+                complexSelectors.add(complexSelector);
+            } while (consume(','));
+            return position == selector.length() ? new CompiledSelector(selector, complexSelectors) : null;
+        }
+
+        private ComplexSelector parseComplexSelector() {
+            ComplexSelector complexSelector = new ComplexSelector();
+            boolean childCombinator = false;
+            skipWhitespace();
+            while (true) {
+                CompoundSelector compound = parseCompoundSelector();
+                if (compound == null) {
+                    return null;
+                }
+                complexSelector.compounds.add(compound);
+                complexSelector.childCombinators.add(childCombinator);
+                boolean whitespace = skipWhitespace();
+                childCombinator = consume('>');
+                if (childCombinator) {
+                    skipWhitespace();
+                }
+                else if (!whitespace || atEnd() || peek() == ',') {
+                    return complexSelector;
+                }
+            }
+        }
+
+        private CompoundSelector parseCompoundSelector() {
+            CompoundSelector compound = new CompoundSelector();
+            boolean universal = consume('*');
+            if (!universal && !atEnd() && isIdentifierStart(peek())) {
+                compound.type = parseIdentifier();
+            }
+            while (!atEnd()) {
+                if (consume('#')) {
+                    compound.id = parseIdentifier();
+                    if (compound.id == null) {
+                        return null;
+                    }
+                }
+                else if (consume('.')) {
+                    String styleClass = parseIdentifier();
+                    if (styleClass == null) {
+                        return null;
+                    }
+                    compound.styleClasses.add(styleClass);
+                }
+                else if (consume(':')) {
+                    String pseudoClass = parseIdentifier();
+                    if (pseudoClass == null) {
+                        return null;
+                    }
+                    compound.pseudoClasses.add(PseudoClass.getPseudoClass(pseudoClass));
+                }
+                else {
+                    break;
+                }
+            }
+            return compound.isEmpty() && !universal ? null : compound;
+        }
+
+        private String parseIdentifier() {
+            int start = position;
+            if (atEnd() || !isIdentifierStart(peek())) {
+                return null;
+            }
+            while (!atEnd() && (isIdentifierStart(peek()) || Character.isDigit(peek()))) {
+                position++;
+            }
+            return selector.substring(start, position);
+        }
+
+        private static boolean isIdentifierStart(char c) {
+            return Character.isLetter(c) || c == '_' || c == '-';
+        }
+
+        private boolean skipWhitespace() {
+            int start = position;
+            while (!atEnd() && Character.isWhitespace(peek())) {
+                position++;
+            }
+            return position > start;
+        }
+
+        private boolean consume(char c) {
+            if (!atEnd() && peek() == c) {
+                position++;
+                return true;
+            }
+            return false;
+        }
+
+        private char peek() {
+            return selector.charAt(position);
+        }
+
+        private boolean atEnd() {
+            return position >= selector.length();
+        }
+    }
+
+}
@@ -23,26 +23,56 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.Spliterator;
 import java.util.function.Function;
 import java.util.function.Predicate;
-import java.util.stream.Collectors;
+import java.util.function.UnaryOperator;
+import java.util.regex.Pattern;
 import javafx.scene.Node;
+import javafx.scene.control.TabPane;
 
 import org.hamcrest.Matcher;
 import org.testfx.service.query.EmptyNodeQueryException;
 import org.testfx.service.query.NodeQuery;
 import org.testfx.util.NodeQueryUtils;
 
+/**
+ * The default {@link NodeQuery}.
+ * <p>
+ * By default each {@code lookup}, {@code match} and {@code nth} is run when it is called, so matchers and
+ * predicates are evaluated at that time and the terminal {@code query} methods only read the result. In lazy
+ * mode, enabled with the system property
+ * {@code testfx.query.lazy} or {@link #NodeQueryImpl(boolean)}, the whole chain is only recorded and run by the
+ * terminal {@code query} methods, as a pipeline of {@code Spliterator}s that pulls one node at a time. A query
+ * such as {@code lookup(".table-cell").match(...).nth(0).query()} then stops at the first matching cell.
+ */
 public class NodeQueryImpl implements NodeQuery {
 
     private static final String CSS_ID_SELECTOR_PREFIX = "#";
     private static final String CSS_CLASS_SELECTOR_PREFIX = ".";
+    private static final Pattern SIMPLE_CSS_SELECTOR = Pattern.compile("[#.][A-Za-z_][\\w-]*");
+    private static final boolean LAZY_QUERIES = Boolean.getBoolean("testfx.query.lazy");
 
+    private final boolean lazy;
     private Set<Node> parentNodes = new LinkedHashSet<>();
     private final List<String> queryDescriptors = new ArrayList<>();
+    private final List<UnaryOperator<Spliterator<Node>>> pendingStages = new ArrayList<>();
+
+    public NodeQueryImpl() {
+        this(LAZY_QUERIES);
+    }
+
+    /**
+     * Creates a new query that runs its chain lazily, in the terminal operations, if {@code lazy} is
+     * {@code true}.
+     */
+    public NodeQueryImpl(boolean lazy) {
+        this.lazy = lazy;
+    }
 
     @Override
     public NodeQuery from(Node... parentNodes) {
+        runPendingStages();
         this.parentNodes.addAll(Arrays.asList(parentNodes));
         queryDescriptors.add("from nodes: " + Arrays.toString(parentNodes));
         return this;
@@ -50,6 +80,7 @@ public class NodeQueryImpl implements NodeQuery {
 
     @Override
     public NodeQuery from(Collection<Node> parentNodes) {
+        runPendingStages();
         this.parentNodes.addAll(parentNodes);
         queryDescriptors.add("from nodes: " + parentNodes);
         return this;
@@ -57,9 +88,18 @@ public class NodeQueryImpl implements NodeQuery {
 
     @Override
     public NodeQuery lookup(String query) {
-        Function<Node, Set<Node>> queryFunction = isCssSelector(query) ?
-            NodeQueryUtils.bySelector(query) : NodeQueryUtils.byText(query);
-        lookup(queryFunction);
+        Optional<CompiledSelector> compiledSelector = isCssSelector(query) ?
+            CompiledSelector.tryCompile(query) : Optional.empty();
+        if (compiledSelector.isPresent()) {
+            addStage(nodes -> NodeQueryPipeline.flatMap(nodes,
+                parentNode -> lookupBySelector(parentNode, query, compiledSelector.get())));
+        }
+        else if (isCssSelector(query)) {
+            lookup(indexedOr(query, NodeQueryUtils.bySelector(query)));
+        }
+        else {
+            addStage(nodes -> NodeQueryPipeline.flatMap(nodes, parentNode -> lookupByText(parentNode, query)));
+        }
         queryDescriptors.add("lookup by " + (isCssSelector(query) ? "selector" : "text") + ": \"" + query + "\"");
         return this;
     }
@@ -67,7 +107,7 @@ public class NodeQueryImpl implements NodeQuery {
     @Override
     @SuppressWarnings("unchecked")
     public <T> NodeQuery lookup(Matcher<T> matcher) {
-        lookup(NodeQueryUtils.byMatcher((Matcher<Node>) matcher));
+        lookupByPredicate(NodeQueryUtils.matchesMatcher((Matcher<Node>) matcher));
         queryDescriptors.add("lookup by matcher: \"" + matcher + "\"");
         return this;
     }
@@ -75,21 +115,14 @@ public class NodeQueryImpl implements NodeQuery {
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Node> NodeQuery lookup(Predicate<T> predicate) {
-        lookup(NodeQueryUtils.byPredicate((Predicate<Node>) predicate));
+        lookupByPredicate((Predicate<Node>) predicate);
         queryDescriptors.add("lookup by predicate: \"" + predicate + "\"");
         return this;
     }
 
     @Override
     public NodeQuery lookup(Function<Node, Set<Node>> function) {
-        // surely there's a better way to do the following
-        parentNodes = parentNodes.stream()
-            .map(function)
-            .reduce((nodes, nodes2) -> {
-                Set<Node> set = new LinkedHashSet<>(nodes);
-                set.addAll(nodes2);
-                return set;
-            }).orElseGet(LinkedHashSet::new);
+        addStage(nodes -> NodeQueryPipeline.flatMap(nodes, parentNode -> function.apply(parentNode).spliterator()));
         queryDescriptors.add("lookup by function: \"" + function + "\"");
         return this;
     }
@@ -97,9 +130,7 @@ public class NodeQueryImpl implements NodeQuery {
     @Override
     @SuppressWarnings("unchecked")
     public <T> NodeQuery match(Matcher<T> matcher) {
-        parentNodes = parentNodes.stream()
-            .filter(NodeQueryUtils.matchesMatcher((Matcher<Node>) matcher))
-            .collect(Collectors.toCollection(LinkedHashSet::new));
+        addStage(nodes -> NodeQueryPipeline.filter(nodes, NodeQueryUtils.matchesMatcher((Matcher<Node>) matcher)));
         queryDescriptors.add("matching by matcher: " + matcher);
         return this;
     }
@@ -107,19 +138,14 @@ public class NodeQueryImpl implements NodeQuery {
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Node> NodeQuery match(Predicate<T> predicate) {
-        parentNodes = parentNodes.stream()
-            .filter((Predicate<Node>) predicate)
-            .collect(Collectors.toCollection(LinkedHashSet::new));
+        addStage(nodes -> NodeQueryPipeline.filter(nodes, (Predicate<Node>) predicate));
         queryDescriptors.add("matching by predicate: " + predicate);
         return this;
     }
 
     @Override
     public NodeQuery nth(int index) {
-        parentNodes = parentNodes.stream()
-            .skip(index)
-            .limit(1)
-            .collect(Collectors.toCollection(LinkedHashSet::new));
+        addStage(nodes -> NodeQueryPipeline.nth(nodes, index));
         queryDescriptors.add("fetching the " + ordinal(index) + " node");
         return this;
     }
@@ -127,16 +153,18 @@ public class NodeQueryImpl implements NodeQuery {
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Node> T query() {
-        if (parentNodes.isEmpty()) {
+        Optional<Node> firstNode = queryFirst();
+        if (!firstNode.isPresent()) {
             throw new EmptyNodeQueryException("there is no node in the scene-graph matching the query: " + this);
         } else {
-            return (T) parentNodes.iterator().next();
+            return (T) firstNode.get();
         }
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Node> T queryAs(Class<T> clazz) {
+        runPendingStages();
         if (parentNodes.stream().noneMatch(node -> clazz.isAssignableFrom(node.getClass()))) {
             throw new EmptyNodeQueryException("there is no node in the scene-graph matching the query: " + this);
         } else {
@@ -147,16 +175,13 @@ public class NodeQueryImpl implements NodeQuery {
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Node> Optional<T> tryQuery() {
-        if (parentNodes.isEmpty()) {
-            return Optional.empty();
-        } else {
-            return Optional.of((T) parentNodes.iterator().next());
-        }
+        return (Optional<T>) queryFirst();
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Node> Optional<T> tryQueryAs(Class<T> clazz) {
+        runPendingStages();
         if (parentNodes.stream().noneMatch(node -> clazz.isAssignableFrom(node.getClass()))) {
             return Optional.empty();
         } else {
@@ -167,12 +192,14 @@ public class NodeQueryImpl implements NodeQuery {
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Node> Set<T> queryAll() {
+        runPendingStages();
         return (Set<T>) new LinkedHashSet<>(parentNodes);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     public <T extends Node> Set<T> queryAllAs(Class<T> clazz) {
+        runPendingStages();
         return (Set<T>) new LinkedHashSet<>(parentNodes);
     }
 
@@ -184,6 +211,117 @@ public class NodeQueryImpl implements NodeQuery {
         return "NodeQuery: " + String.join(",\n", queryDescriptors);
     }
 
+    private void lookupByPredicate(Predicate<Node> predicate) {
+        addStage(nodes -> NodeQueryPipeline.flatMap(nodes,
+            parentNode -> NodeQueryUtils.lookupLazily(parentNode, predicate)));
+    }
+
+    /**
+     * Adds the given {@code stage} to the chain of this query. Unless this query is lazy, the stage is run right
+     * away.
+     */
+    private void addStage(UnaryOperator<Spliterator<Node>> stage) {
+        pendingStages.add(stage);
+        if (!lazy) {
+            runPendingStages();
+        }
+    }
+
+    private void runPendingStages() {
+        if (!pendingStages.isEmpty()) {
+            Set<Node> nodes = new LinkedHashSet<>();
+            pipeline().forEachRemaining(nodes::add);
+            pendingStages.clear();
+            parentNodes = nodes;
+        }
+    }
+
+    private Spliterator<Node> pipeline() {
+        Spliterator<Node> nodes = parentNodes.spliterator();
+        for (UnaryOperator<Spliterator<Node>> stage : pendingStages) {
+            nodes = stage.apply(nodes);
+        }
+        return nodes;
+    }
+
+    /**
+     * Returns the first node of this query. In lazy mode, the chain is only run until it yields that node, and is
+     * run again by the next terminal operation.
+     */
+    private Optional<Node> queryFirst() {
+        Node[] firstNode = new Node[1];
+        pipeline().tryAdvance(node -> firstNode[0] = node);
+        return Optional.ofNullable(firstNode[0]);
+    }
+
+    /**
+     * Returns a function that answers the given lookup {@code query} from the {@link SceneGraphIndex} of the
+     * parent node's scene, if there is one and the query can be answered by it, or else applies the given
+     * {@code queryFunction}.
+     */
+    private static Function<Node, Set<Node>> indexedOr(String query, Function<Node, Set<Node>> queryFunction) {
+        return parentNode -> {
+            Set<Node> indexedNodes = lookupInIndex(parentNode, query);
+            return indexedNodes != null ? indexedNodes : queryFunction.apply(parentNode);
+        };
+    }
+
+    /**
+     * Looks up the nodes matching the given CSS selector {@code query} from the {@link SceneGraphIndex} if
+     * possible, or else by traversing the scene-graph below the {@code parentNode} with the compiled
+     * {@code selector}.
+     */
+    private static Spliterator<Node> lookupBySelector(Node parentNode, String query, CompiledSelector selector) {
+        Set<Node> indexedNodes = lookupInIndex(parentNode, query);
+        if (indexedNodes != null) {
+            return indexedNodes.spliterator();
+        }
+        else if (parentNode instanceof TabPane) {
+            // TabPane#lookupAll also looks into the content of the tabs that are not selected.
+            return parentNode.lookupAll(query).spliterator();
+        }
+        return NodeQueryUtils.lookupLazily(parentNode, selector);
+    }
+
+    /**
+     * Looks up the nodes with the given {@code text} from the {@link SceneGraphIndex} if possible, or else by
+     * traversing the scene-graph below the {@code parentNode} only as far as the nodes are requested.
+     */
+    private static Spliterator<Node> lookupByText(Node parentNode, String text) {
+        Set<Node> indexedNodes = lookupInIndex(parentNode, text);
+        if (indexedNodes != null) {
+            return indexedNodes.spliterator();
+        }
+        return NodeQueryUtils.lookupLazily(parentNode, NodeQueryUtils.hasText(text));
+    }
+
+    /**
+     * Returns the nodes matching the given lookup {@code query} from the {@link SceneGraphIndex} of the parent
+     * node's scene, or {@code null} if there is no index or the query cannot be answered by it, e.g. a selector
+     * below a {@link TabPane}.
+     */
+    private static Set<Node> lookupInIndex(Node parentNode, String query) {
+        boolean cssSelector = isCssSelector(query);
+        if (cssSelector && !SIMPLE_CSS_SELECTOR.matcher(query).matches()) {
+            return null;
+        }
+        SceneGraphIndex index = SceneGraphIndex.of(parentNode);
+        if (index == null) {
+            return null;
+        }
+        else if (cssSelector && !index.lookupByType(parentNode, TabPane.class).isEmpty()) {
+            // the content of the tabs that are not selected is not indexed, but TabPane#lookupAll finds it.
+            return null;
+        }
+        else if (!cssSelector) {
+            return index.lookupByText(parentNode, query);
+        }
+        else if (query.startsWith(CSS_ID_SELECTOR_PREFIX)) {
+            return index.lookupById(parentNode, query.substring(1));
+        }
+        return index.lookupByStyleClass(parentNode, query.substring(1));
+    }
+
     private static boolean isCssSelector(String query) {
         return query.startsWith(CSS_ID_SELECTOR_PREFIX) ||
             query.startsWith(CSS_CLASS_SELECTOR_PREFIX);
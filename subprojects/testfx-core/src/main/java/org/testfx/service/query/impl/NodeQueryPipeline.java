@@ -0,0 +1,113 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.query.impl;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import javafx.scene.Node;
+
+/**
+ * The stages of a {@link NodeQueryImpl}, each a {@code Spliterator} that pulls the nodes of its upstream
+ * {@code Spliterator} one at a time. A chain of stages is therefore only run as far as the terminal operation
+ * advances it, without collecting the nodes in between.
+ * <p>
+ * {@link java.util.stream.Stream#flatMap(Function)} is not used because it does not short-circuit on Java 8.
+ */
+final class NodeQueryPipeline {
+
+    private static final int CHARACTERISTICS = Spliterator.DISTINCT | Spliterator.NONNULL | Spliterator.ORDERED;
+
+    private NodeQueryPipeline() {}
+
+    /**
+     * Returns the distinct nodes of the {@code Spliterator}s that the given {@code mapper} returns for the nodes
+     * of the given {@code upstream}.
+     */
+    static Spliterator<Node> flatMap(Spliterator<Node> upstream, Function<Node, Spliterator<Node>> mapper) {
+        return new Spliterators.AbstractSpliterator<Node>(Long.MAX_VALUE, CHARACTERISTICS) {
+            private final Set<Node> seenNodes = Collections.newSetFromMap(new IdentityHashMap<>());
+            private Spliterator<Node> currentNodes = Spliterators.emptySpliterator();
+            private Node currentNode;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Node> action) {
+                do {
+                    while (currentNodes.tryAdvance(node -> currentNode = node)) {
+                        if (seenNodes.add(currentNode)) {
+                            action.accept(currentNode);
+                            return true;
+                        }
+                    }
+                } while (upstream.tryAdvance(parentNode -> currentNodes = mapper.apply(parentNode)));
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the nodes of the given {@code upstream} that pass the given {@code predicate}.
+     */
+    static Spliterator<Node> filter(Spliterator<Node> upstream, Predicate<Node> predicate) {
+        return new Spliterators.AbstractSpliterator<Node>(Long.MAX_VALUE, CHARACTERISTICS) {
+            private Node currentNode;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Node> action) {
+                while (upstream.tryAdvance(node -> currentNode = node)) {
+                    if (predicate.test(currentNode)) {
+                        action.accept(currentNode);
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns the node at the given {@code index} of the given {@code upstream}, if there is one.
+     */
+    static Spliterator<Node> nth(Spliterator<Node> upstream, int index) {
+        if (index < 0) {
+            throw new IllegalArgumentException(Integer.toString(index));
+        }
+        return new Spliterators.AbstractSpliterator<Node>(1, CHARACTERISTICS) {
+            private boolean done;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Node> action) {
+                if (done) {
+                    return false;
+                }
+                done = true;
+                for (int i = 0; i < index; i++) {
+                    if (!upstream.tryAdvance(node -> { })) {
+                        return false;
+                    }
+                }
+                return upstream.tryAdvance(action);
+            }
+        };
+    }
+
+}
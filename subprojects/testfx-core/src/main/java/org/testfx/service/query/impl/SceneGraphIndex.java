@@ -0,0 +1,390 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.query.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import javafx.application.Platform;
+import javafx.beans.property.StringProperty;
+import javafx.beans.value.ChangeListener;
+import javafx.collections.ListChangeListener;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.control.Labeled;
+import javafx.scene.control.TextInputControl;
+import javafx.scene.text.Text;
+
+import static org.testfx.util.WaitForAsyncUtils.waitForAsyncFx;
+
+/**
+ * An index of the nodes of a {@link Scene} by id, style class, type and text.
+ * <p>
+ * Looking up nodes normally traverses the whole scene-graph below the given parent nodes. For large
+ * scene-graphs and repeated lookups this index answers the lookups of
+ * {@link NodeQueryImpl#lookup(String)} with simple id ({@code "#id"}) and style class ({@code ".class"})
+ * selectors and with texts without traversing the scene-graph.
+ * <p>
+ * The index is opt-in: it is either attached to a scene explicitly via {@link #attach(Scene)}, or to
+ * every scene that is looked up if the system property {@code testfx.lookup.index} is set to {@code true}.
+ * Once attached, the index is kept up to date incrementally by listeners on the children of every
+ * {@link Parent}, the id and style classes of every node and the text of every {@link Labeled},
+ * {@link TextInputControl} and {@link Text}. It can be removed again via {@link #detach(Scene)}.
+ * <p>
+ * The results of a lookup are in the same order as the results of a traversal of the scene-graph.
+ */
+public final class SceneGraphIndex {
+
+    private static final boolean INDEX_ALL_SCENES = Boolean.getBoolean("testfx.lookup.index");
+    private static final long ATTACH_TIMEOUT_IN_MILLIS = 10000;
+
+    private final Scene scene;
+    private final Map<Node, Entry> entries = new IdentityHashMap<>();
+    private final Map<String, Set<Node>> nodesById = new HashMap<>();
+    private final Map<String, Set<Node>> nodesByStyleClass = new HashMap<>();
+    private final Map<Class<?>, Set<Node>> nodesByType = new HashMap<>();
+    private final Map<String, Set<Node>> nodesByText = new HashMap<>();
+    private final ChangeListener<Parent> rootListener = (observable, oldRoot, newRoot) -> {
+        if (oldRoot != null) {
+            unregister(oldRoot);
+        }
+        if (newRoot != null) {
+            register(newRoot);
+        }
+    };
+
+    private SceneGraphIndex(Scene scene) {
+        this.scene = scene;
+    }
+
+    /**
+     * Attaches an index to the given scene, or returns the index that is already attached to it.
+     */
+    public static SceneGraphIndex attach(Scene scene) {
+        if (!Platform.isFxApplicationThread()) {
+            return waitForAsyncFx(ATTACH_TIMEOUT_IN_MILLIS, () -> attach(scene));
+        }
+        SceneGraphIndex index = (SceneGraphIndex) scene.getProperties().get(SceneGraphIndex.class);
+        if (index == null) {
+            index = new SceneGraphIndex(scene);
+            scene.rootProperty().addListener(index.rootListener);
+            if (scene.getRoot() != null) {
+                index.register(scene.getRoot());
+            }
+            scene.getProperties().put(SceneGraphIndex.class, index);
+        }
+        return index;
+    }
+
+    /**
+     * Removes the index attached to the given scene, if any, together with all of its listeners.
+     */
+    public static void detach(Scene scene) {
+        if (!Platform.isFxApplicationThread()) {
+            waitForAsyncFx(ATTACH_TIMEOUT_IN_MILLIS, () -> detach(scene));
+            return;
+        }
+        SceneGraphIndex index = (SceneGraphIndex) scene.getProperties().remove(SceneGraphIndex.class);
+        if (index != null) {
+            scene.rootProperty().removeListener(index.rootListener);
+            if (scene.getRoot() != null) {
+                index.unregister(scene.getRoot());
+            }
+        }
+    }
+
+    /**
+     * Returns the index to use for lookups below the given node: the index attached to the node's scene,
+     * a newly attached index if {@code testfx.lookup.index} is enabled, or {@code null} if the node is not
+     * indexed.
+     */
+    static SceneGraphIndex of(Node node) {
+        Scene scene = node.getScene();
+        if (scene == null) {
+            return null;
+        }
+        SceneGraphIndex index = (SceneGraphIndex) scene.getProperties().get(SceneGraphIndex.class);
+        if (index == null && INDEX_ALL_SCENES) {
+            index = attach(scene);
+        }
+        return index != null && index.contains(node) ? index : null;
+    }
+
+    /**
+     * Returns the given node and its descendants whose id equals the given {@code id}.
+     */
+    public synchronized Set<Node> lookupById(Node parentNode, String id) {
+        return lookup(parentNode, nodesById.get(id));
+    }
+
+    /**
+     * Returns the given node and its descendants that have the given {@code styleClass}.
+     */
+    public synchronized Set<Node> lookupByStyleClass(Node parentNode, String styleClass) {
+        return lookup(parentNode, nodesByStyleClass.get(styleClass));
+    }
+
+    /**
+     * Returns the given node and its descendants that are {@link Labeled}s, {@link TextInputControl}s or
+     * {@link Text}s whose text equals the given {@code text}.
+     */
+    public synchronized Set<Node> lookupByText(Node parentNode, String text) {
+        return lookup(parentNode, nodesByText.get(text));
+    }
+
+    /**
+     * Returns the given node and its descendants that are instances of the given {@code type}.
+     */
+    @SuppressWarnings("unchecked")
+    public synchronized <T extends Node> Set<T> lookupByType(Node parentNode, Class<T> type) {
+        List<Node> candidates = new ArrayList<>();
+        nodesByType.forEach((nodeType, nodes) -> {
+            if (type.isAssignableFrom(nodeType)) {
+                candidates.addAll(nodes);
+            }
+        });
+        return (Set<T>) lookup(parentNode, candidates);
+    }
+
+    synchronized boolean contains(Node node) {
+        return entries.containsKey(node);
+    }
+
+    private Set<Node> lookup(Node parentNode, Collection<Node> candidates) {
+        if (candidates == null || candidates.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<Node> resultNodes = new ArrayList<>();
+        for (Node candidate : candidates) {
+            if (isSelfOrDescendant(candidate, parentNode)) {
+                resultNodes.add(candidate);
+            }
+        }
+        if (resultNodes.size() > 1) {
+            sortInTreeOrder(resultNodes);
+        }
+        return Collections.unmodifiableSet(new LinkedHashSet<>(resultNodes));
+    }
+
+    private static boolean isSelfOrDescendant(Node node, Node parentNode) {
+        for (Node current = node; current != null; current = current.getParent()) {
+            if (current == parentNode) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static void sortInTreeOrder(List<Node> nodes) {
+        Map<Node, int[]> paths = new IdentityHashMap<>();
+        for (Node node : nodes) {
+            paths.put(node, pathFromRoot(node));
+        }
+        nodes.sort((node0, node1) -> comparePaths(paths.get(node0), paths.get(node1)));
+    }
+
+    private static int[] pathFromRoot(Node node) {
+        Deque<Integer> path = new ArrayDeque<>();
+        for (Node current = node; current.getParent() != null; current = current.getParent()) {
+            path.addFirst(current.getParent().getChildrenUnmodifiable().indexOf(current));
+        }
+        return path.stream().mapToInt(Integer::intValue).toArray();
+    }
+
+    private static int comparePaths(int[] path0, int[] path1) {
+        int length = Math.min(path0.length, path1.length);
+        for (int i = 0; i < length; i++) {
+            if (path0[i] != path1[i]) {
+                return Integer.compare(path0[i], path1[i]);
+            }
+        }
+        return Integer.compare(path0.length, path1.length);
+    }
+
+    private synchronized void register(Node subtreeRoot) {
+        Deque<Node> pendingNodes = new ArrayDeque<>();
+        pendingNodes.push(subtreeRoot);
+        while (!pendingNodes.isEmpty()) {
+            Node node = pendingNodes.pop();
+            if (entries.containsKey(node)) {
+                continue;
+            }
+            Entry entry = new Entry(node);
+            entries.put(node, entry);
+            entry.addListeners();
+            add(nodesById, entry.id, node);
+            entry.styleClasses.forEach(styleClass -> add(nodesByStyleClass, styleClass, node));
+            add(nodesByType, node.getClass(), node);
+            add(nodesByText, entry.text, node);
+            if (node instanceof Parent) {
+                ((Parent) node).getChildrenUnmodifiable().forEach(pendingNodes::push);
+            }
+        }
+    }
+
+    private synchronized void unregister(Node subtreeRoot) {
+        Deque<Node> pendingNodes = new ArrayDeque<>();
+        pendingNodes.push(subtreeRoot);
+        while (!pendingNodes.isEmpty()) {
+            Node node = pendingNodes.pop();
+            Entry entry = entries.remove(node);
+            if (entry == null) {
+                continue;
+            }
+            entry.removeListeners();
+            remove(nodesById, entry.id, node);
+            entry.styleClasses.forEach(styleClass -> remove(nodesByStyleClass, styleClass, node));
+            remove(nodesByType, node.getClass(), node);
+            remove(nodesByText, entry.text, node);
+            if (node instanceof Parent) {
+                ((Parent) node).getChildrenUnmodifiable().forEach(pendingNodes::push);
+            }
+        }
+    }
+
+    private boolean isAttached(Node node) {
+        Node current = node;
+        while (current.getParent() != null) {
+            current = current.getParent();
+        }
+        return current == scene.getRoot();
+    }
+
+    private static <K> void add(Map<K, Set<Node>> nodesByKey, K key, Node node) {
+        if (key != null) {
+            nodesByKey.computeIfAbsent(key, k -> new LinkedHashSet<>()).add(node);
+        }
+    }
+
+    private static <K> void remove(Map<K, Set<Node>> nodesByKey, K key, Node node) {
+        if (key == null) {
+            return;
+        }
+        Set<Node> nodes = nodesByKey.get(key);
+        if (nodes != null) {
+            nodes.remove(node);
+            if (nodes.isEmpty()) {
+                nodesByKey.remove(key);
+            }
+        }
+    }
+
+    private static StringProperty textProperty(Node node) {
+        if (node instanceof Labeled) {
+            return ((Labeled) node).textProperty();
+        }
+        else if (node instanceof TextInputControl) {
+            return ((TextInputControl) node).textProperty();
+        }
+        else if (node instanceof Text) {
+            return ((Text) node).textProperty();
+        }
+        return null;
+    }
+
+    /**
+     * The indexed keys of a single node together with the listeners that keep them up to date.
+     */
+    private final class Entry {
+
+        private final Node node;
+        private final StringProperty textProperty;
+        private String id;
+        private String text;
+        private List<String> styleClasses;
+
+        private final ChangeListener<String> idListener = (observable, oldId, newId) -> updateId(newId);
+        private final ChangeListener<String> textListener = (observable, oldText, newText) -> updateText(newText);
+        private final ListChangeListener<String> styleClassListener = change -> updateStyleClasses();
+        private final ListChangeListener<Node> childrenListener = change -> {
+            while (change.next()) {
+                for (Node removedNode : change.getRemoved()) {
+                    if (!isAttached(removedNode)) {
+                        unregister(removedNode);
+                    }
+                }
+                for (Node addedNode : change.getAddedSubList()) {
+                    register(addedNode);
+                }
+            }
+        };
+
+        Entry(Node node) {
+            this.node = node;
+            this.textProperty = textProperty(node);
+            this.id = node.getId();
+            this.text = textProperty != null ? textProperty.get() : null;
+            this.styleClasses = new ArrayList<>(node.getStyleClass());
+        }
+
+        void addListeners() {
+            node.idProperty().addListener(idListener);
+            node.getStyleClass().addListener(styleClassListener);
+            if (textProperty != null) {
+                textProperty.addListener(textListener);
+            }
+            if (node instanceof Parent) {
+                ((Parent) node).getChildrenUnmodifiable().addListener(childrenListener);
+            }
+        }
+
+        void removeListeners() {
+            node.idProperty().removeListener(idListener);
+            node.getStyleClass().removeListener(styleClassListener);
+            if (textProperty != null) {
+                textProperty.removeListener(textListener);
+            }
+            if (node instanceof Parent) {
+                ((Parent) node).getChildrenUnmodifiable().removeListener(childrenListener);
+            }
+        }
+
+        private void updateId(String newId) {
+            synchronized (SceneGraphIndex.this) {
+                remove(nodesById, id, node);
+                id = newId;
+                add(nodesById, id, node);
+            }
+        }
+
+        private void updateText(String newText) {
+            synchronized (SceneGraphIndex.this) {
+                remove(nodesByText, text, node);
+                text = newText;
+                add(nodesByText, text, node);
+            }
+        }
+
+        private void updateStyleClasses() {
+            synchronized (SceneGraphIndex.this) {
+                styleClasses.forEach(styleClass -> remove(nodesByStyleClass, styleClass, node));
+                styleClasses = new ArrayList<>(node.getStyleClass());
+                styleClasses.forEach(styleClass -> add(nodesByStyleClass, styleClass, node));
+            }
+        }
+    }
+
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support;
+
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+
+/**
+ * The pixels of a captured region as a row-major array of non-premultiplied ARGB values.
+ * <p>
+ * Unlike an {@link Image}, the pixels can be read without going through a {@link javafx.scene.image.PixelReader},
+ * which makes them suited for screen captures that are only compared or saved. The array is not copied, so
+ * whoever fills it must not change it anymore once it was handed to an {@code ArgbPixels}.
+ */
+public final class ArgbPixels {
+
+    private final int width;
+    private final int height;
+    private final int[] argbs;
+
+    /**
+     * Creates pixels of the given size that are backed by the given array.
+     *
+     * @throws IllegalArgumentException if the size is negative or the array does not hold
+     * {@code width * height} pixels
+     */
+    public ArgbPixels(int width, int height, int[] argbs) {
+        if (width < 0 || height < 0 || argbs.length != (long) width * height) {
+            throw new IllegalArgumentException("expected " + width + "x" + height + " pixels but got: " +
+                    argbs.length);
+        }
+        this.width = width;
+        this.height = height;
+        this.argbs = argbs;
+    }
+
+    /**
+     * Returns the pixels of the given image.
+     */
+    public static ArgbPixels of(Image image) {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        int[] argbs = new int[width * height];
+        if (argbs.length > 0) {
+            image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), argbs, 0,
+                    width);
+        }
+        return new ArgbPixels(width, height, argbs);
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the ARGB value of the pixel at the given position.
+     */
+    public int getArgb(int x, int y) {
+        if (x < 0 || x >= width || y < 0 || y >= height) {
+            throw new IndexOutOfBoundsException("(" + x + ", " + y + ") is outside of " + width + "x" + height);
+        }
+        return argbs[y * width + x];
+    }
+
+    /**
+     * Returns the backing array of the pixels, where the pixel at {@code (x, y)} is at index
+     * {@code y * getWidth() + x}. The array must not be changed.
+     */
+    public int[] getArgbs() {
+        return argbs;
+    }
+
+    /**
+     * Returns a new image with a copy of the pixels.
+     */
+    public WritableImage toImage() {
+        WritableImage image = new WritableImage(Math.max(1, width), Math.max(1, height));
+        if (argbs.length > 0) {
+            image.getPixelWriter().setPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), argbs, 0,
+                    width);
+        }
+        return image;
+    }
+
+}
@@ -17,11 +17,17 @@
 package org.testfx.service.support;
 
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import javafx.geometry.Point2D;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
 import javafx.scene.image.Image;
+import javafx.scene.paint.Color;
 import javafx.scene.shape.Shape;
 
+import org.testfx.util.PixelSamplingUtils;
+
 public interface CaptureSupport {
 
     /**
@@ -34,6 +40,30 @@ public interface CaptureSupport {
      */
     Image captureRegion(Rectangle2D region);
 
+    /**
+     * Returns the colors of the pixels at the given points, taken from a single screenshot of the region that
+     * bounds all of them.
+     */
+    default List<Color> capturePixelColors(Collection<Point2D> points) {
+        return PixelSamplingUtils.capturePixelColors(points, this::captureRegion);
+    }
+
+    /**
+     * Returns the pixels of a screenshot of the given region, which can be compared with
+     * {@link #matchImages(ArgbPixels, ArgbPixels, PixelMatcher)} or saved with {@link #saveImage(ArgbPixels, Path)}
+     * without creating an image.
+     */
+    default ArgbPixels capturePixels(Rectangle2D region) {
+        return ArgbPixels.of(captureRegion(region));
+    }
+
+    /**
+     * Hands back an image returned by {@link #captureNode(Node)} or {@link #captureRegion(Rectangle2D)} that is not
+     * used anymore, so that later captures of the same size can reuse its memory. The image must not be read after
+     * it was released.
+     */
+    default void releaseImage(Image image) {}
+
     /**
      * Loads the image file from the given path.
      */
@@ -49,6 +79,13 @@ public interface CaptureSupport {
      */
     void saveImage(Image image, CaptureFileFormat format, Path path);
 
+    /**
+     * Saves the given pixels to the given path.
+     */
+    default void saveImage(ArgbPixels pixels, Path path) {
+        saveImage(pixels.toImage(), path);
+    }
+
     /**
      * NOT YET IMPLEMENTED
      */
@@ -60,4 +97,23 @@ public interface CaptureSupport {
      */
     PixelMatcherResult matchImages(Image image0, Image image1, PixelMatcher pixelMatcher);
 
+    /**
+     * Compares two images like {@link #matchImages(Image, Image, PixelMatcher)}, but may stop comparing once
+     * more than {@code maxNonMatchFactor} of all pixels did not match. Pixels that were not compared are counted
+     * as non-matching, so a comparison that stopped early never reports a match factor above
+     * {@code 1.0 - maxNonMatchFactor}.
+     */
+    default PixelMatcherResult matchImages(Image image0, Image image1, PixelMatcher pixelMatcher,
+                                           double maxNonMatchFactor) {
+        return matchImages(image0, image1, pixelMatcher);
+    }
+
+    /**
+     * Compares two captured pixels and returns a {@link PixelMatcherResult} that defines
+     * the how similar/dissimilar one was from the other.
+     */
+    default PixelMatcherResult matchImages(ArgbPixels pixels0, ArgbPixels pixels1, PixelMatcher pixelMatcher) {
+        return pixelMatcher.match(pixels0, pixels1);
+    }
+
 }
@@ -27,6 +27,14 @@ public interface PixelMatcher extends ColorMatcher {
      */
     PixelMatcherResult match(Image image0, Image image1);
 
+    /**
+     * Returns a {@link PixelMatcherResult} that indicates how similar/dissimilar the two captured pixels were.
+     * By default, the pixels are written into images which are then compared by {@link #match(Image, Image)}.
+     */
+    default PixelMatcherResult match(ArgbPixels pixels0, ArgbPixels pixels1) {
+        return match(pixels0.toImage(), pixels1.toImage());
+    }
+
     /**
      * Creates a new {@link WritableImage} using {@code image0}'s width and {@code image1}'s height.
      */
@@ -16,33 +16,70 @@
  */
 package org.testfx.service.support;
 
+import java.util.BitSet;
+import java.util.Optional;
+import java.util.function.Supplier;
 import javafx.scene.image.Image;
 
 /**
  * Indicates how similar/dissimilar two images were on a pixel-to-pixel comparison level via
  * {@link PixelMatcher#match(Image, Image)}.
+ * <p>
+ * The match image can be rendered lazily, on the first call of {@link #getMatchImage()}, so that comparisons which
+ * only look at the counts of matching pixels do not create an image of the size of the compared images.
  */
 public class PixelMatcherResult {
 
-    private final Image matchImage;
+    private Image matchImage;
+    private Supplier<Image> matchImageSupplier;
+    private final BitSet nonMatchMask;
     private final long totalPixels;
     private final long matchPixels;
     private final double matchFactor;
 
     public PixelMatcherResult(Image matchImage, long matchPixels, long totalPixels) {
+        this(null, null, matchPixels, totalPixels);
         this.matchImage = matchImage;
+    }
+
+    /**
+     * Creates a result whose match image is rendered by the given {@code matchImageSupplier} once it is
+     * requested for the first time.
+     *
+     * @param nonMatchMask the pixels that did not match at index {@code y * width + x} of the match image, or
+     * {@code null} if they were not recorded
+     */
+    public PixelMatcherResult(Supplier<Image> matchImageSupplier,
+                              BitSet nonMatchMask,
+                              long matchPixels,
+                              long totalPixels) {
+        this.matchImageSupplier = matchImageSupplier;
+        this.nonMatchMask = nonMatchMask;
         this.totalPixels = totalPixels;
         this.matchPixels = matchPixels;
         this.matchFactor = matchPixels / (double) totalPixels;
     }
 
     /**
-     * Gets the image whose pixels indicate matches and mismatches between the two original images.
+     * Gets the image whose pixels indicate matches and mismatches between the two original images. The image is
+     * rendered on the first call if the result was created with a supplier of the image.
      */
-    public Image getMatchImage() {
+    public synchronized Image getMatchImage() {
+        if (matchImageSupplier != null) {
+            matchImage = matchImageSupplier.get();
+            matchImageSupplier = null;
+        }
         return matchImage;
     }
 
+    /**
+     * Gets the pixels that did not match between the two original images, at index {@code y * width + x} of the
+     * match image, if the matcher recorded them. The returned set must not be changed.
+     */
+    public Optional<BitSet> getNonMatchMask() {
+        return Optional.ofNullable(nonMatchMask);
+    }
+
     /**
      * Gets the total number of pixels in the match image.
      */
@@ -22,7 +22,12 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.Deflater;
 import javafx.embed.swing.SwingFXUtils;
+import javafx.geometry.Point2D;
 import javafx.geometry.Pos;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
@@ -30,14 +35,17 @@ import javafx.scene.effect.BlendMode;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.layout.StackPane;
+import javafx.scene.paint.Color;
 import javafx.scene.shape.Shape;
 import javax.imageio.ImageIO;
 
 import org.testfx.robot.BaseRobot;
+import org.testfx.service.support.ArgbPixels;
 import org.testfx.service.support.CaptureFileFormat;
 import org.testfx.service.support.CaptureSupport;
 import org.testfx.service.support.PixelMatcher;
 import org.testfx.service.support.PixelMatcherResult;
+import org.testfx.util.WritableImagePool;
 
 import static org.testfx.util.WaitForAsyncUtils.asyncFx;
 import static org.testfx.util.WaitForAsyncUtils.waitFor;
@@ -46,10 +54,70 @@ public class CaptureSupportImpl implements CaptureSupport {
 
     public static final CaptureFileFormat DEFAULT_FORMAT = CaptureFileFormat.PNG;
 
+    private static final int MATCH_THREADS;
+
+    static {
+        int matchThreads;
+        try {
+            matchThreads = Integer.getInteger("testfx.capture.match_threads", 0);
+        }
+        catch (NumberFormatException e) {
+            System.err.println("\"testfx.capture.match_threads\" property must be a number but was: \"" +
+                    System.getProperty("testfx.capture.match_threads") + "\".\nUsing default of \"0\".");
+            e.printStackTrace();
+            matchThreads = 0;
+        }
+        MATCH_THREADS = matchThreads;
+    }
+
+    private static final int PNG_COMPRESSION;
+
+    static {
+        int pngCompression;
+        try {
+            pngCompression = Integer.getInteger("testfx.capture.png_compression", Deflater.DEFAULT_COMPRESSION);
+            if (pngCompression < Deflater.DEFAULT_COMPRESSION || pngCompression > Deflater.BEST_COMPRESSION) {
+                throw new NumberFormatException("out of range");
+            }
+        }
+        catch (NumberFormatException e) {
+            System.err.println("\"testfx.capture.png_compression\" property must be a number between -1 and 9 " +
+                    "but was: \"" + System.getProperty("testfx.capture.png_compression") +
+                    "\".\nUsing default of \"-1\".");
+            e.printStackTrace();
+            pngCompression = Deflater.DEFAULT_COMPRESSION;
+        }
+        PNG_COMPRESSION = pngCompression;
+    }
+
     private final BaseRobot baseRobot;
+    private final ForkJoinPool matchPool;
+    private final boolean builtInMatchersOnly;
 
+    /**
+     * Creates a capture support that compares images with {@link PixelMatcherBase}s in bands of rows. By default,
+     * only the bands of the built-in {@link PixelMatcherRgb} and {@link PixelMatcherPrecheck} are compared in
+     * parallel on the common {@link ForkJoinPool}, and those of other matchers on the calling thread. If the
+     * {@code testfx.capture.match_threads} property is set, {@code 1} compares the bands of all matchers on the
+     * calling thread and larger values on a pool with that parallelism.
+     */
     public CaptureSupportImpl(BaseRobot baseRobot) {
+        this(baseRobot, defaultMatchPool(), MATCH_THREADS <= 0);
+    }
+
+    /**
+     * Creates a capture support that compares images with {@link PixelMatcherBase}s in parallel bands of rows on
+     * the given {@code matchPool}, or on the calling thread if it is {@code null}. The methods of the matchers
+     * that compare pixels must then be thread-safe.
+     */
+    public CaptureSupportImpl(BaseRobot baseRobot, ForkJoinPool matchPool) {
+        this(baseRobot, matchPool, false);
+    }
+
+    private CaptureSupportImpl(BaseRobot baseRobot, ForkJoinPool matchPool, boolean builtInMatchersOnly) {
         this.baseRobot = baseRobot;
+        this.matchPool = matchPool;
+        this.builtInMatchersOnly = builtInMatchersOnly;
     }
 
     @Override
@@ -62,11 +130,28 @@ public class CaptureSupportImpl implements CaptureSupport {
         return baseRobot.captureRegion(region);
     }
 
+    @Override
+    public List<Color> capturePixelColors(Collection<Point2D> points) {
+        return baseRobot.capturePixelColors(points);
+    }
+
+    @Override
+    public ArgbPixels capturePixels(Rectangle2D region) {
+        return baseRobot.capturePixels(region);
+    }
+
+    @Override
+    public void releaseImage(Image image) {
+        WritableImagePool.release(image);
+    }
+
     @Override
     public Image loadImage(Path path) {
         checkFileExists(path);
         try (InputStream inputStream = Files.newInputStream(path)) {
-            return readImageFromStream(inputStream);
+            Image image = readImageFromStream(inputStream);
+            ImageSignature.track(path, image);
+            return image;
         }
         catch (IOException exception) {
             throw new RuntimeException(exception);
@@ -83,7 +168,18 @@ public class CaptureSupportImpl implements CaptureSupport {
     public void saveImage(Image image, CaptureFileFormat format, Path path) {
         checkParentDirectoryExists(path);
         try (OutputStream outputStream = Files.newOutputStream(path)) {
-            writeImageToStream(image, format.toString(), outputStream);
+            writeImageToStream(image, format, outputStream);
+        }
+        catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    @Override
+    public void saveImage(ArgbPixels pixels, Path path) {
+        checkParentDirectoryExists(path);
+        try (OutputStream outputStream = Files.newOutputStream(path)) {
+            PngEncoder.write(pixels, outputStream, PNG_COMPRESSION);
         }
         catch (IOException exception) {
             throw new RuntimeException(exception);
@@ -100,9 +196,43 @@ public class CaptureSupportImpl implements CaptureSupport {
     public PixelMatcherResult matchImages(Image image0,
                                           Image image1,
                                           PixelMatcher pixelMatcher) {
+        return matchImages(image0, image1, pixelMatcher, 1.0);
+    }
+
+    @Override
+    public PixelMatcherResult matchImages(Image image0,
+                                          Image image1,
+                                          PixelMatcher pixelMatcher,
+                                          double maxNonMatchFactor) {
+        if (pixelMatcher instanceof PixelMatcherBase) {
+            PixelMatcherBase pixelMatcherBase = (PixelMatcherBase) pixelMatcher;
+            return pixelMatcherBase.match(image0, image1, matchPool(pixelMatcherBase), maxNonMatchFactor);
+        }
         return pixelMatcher.match(image0, image1);
     }
 
+    @Override
+    public PixelMatcherResult matchImages(ArgbPixels pixels0,
+                                          ArgbPixels pixels1,
+                                          PixelMatcher pixelMatcher) {
+        if (pixelMatcher instanceof PixelMatcherBase) {
+            PixelMatcherBase pixelMatcherBase = (PixelMatcherBase) pixelMatcher;
+            return pixelMatcherBase.match(pixels0, pixels1, matchPool(pixelMatcherBase), 1.0);
+        }
+        return pixelMatcher.match(pixels0, pixels1);
+    }
+
+    private ForkJoinPool matchPool(PixelMatcherBase pixelMatcher) {
+        return builtInMatchersOnly && !pixelMatcher.isBuiltIn() ? null : matchPool;
+    }
+
+    private static ForkJoinPool defaultMatchPool() {
+        if (MATCH_THREADS <= 0) {
+            return ForkJoinPool.commonPool();
+        }
+        return MATCH_THREADS == 1 ? null : MatchPoolHolder.POOL;
+    }
+
     private void checkFileExists(Path path) {
         if (!path.toFile().isFile()) {
             throw new RuntimeException("File " + path.getFileName() + " not found.");
@@ -116,7 +246,7 @@ public class CaptureSupportImpl implements CaptureSupport {
     }
 
     private Image snapshotNodeToImage(Node node) {
-        return node.snapshot(null, null);
+        return WritableImagePool.snapshot(node, null);
     }
 
     private Image readImageFromStream(InputStream inputStream) throws IOException {
@@ -124,14 +254,23 @@ public class CaptureSupportImpl implements CaptureSupport {
         return SwingFXUtils.toFXImage(bufferedImage, null);
     }
 
+    /**
+     * Encodes the image once into the stream. PNG images are encoded straight from the {@code PixelReader}
+     * with the compression level of the {@code testfx.capture.png_compression} property ({@code 0} to {@code 9},
+     * or {@code -1} for the default level), as RGB or, if any pixel is not opaque, as RGBA. Other formats are
+     * written with {@link ImageIO}.
+     */
     private void writeImageToStream(Image image,
-                                    String imageFormat,
+                                    CaptureFileFormat format,
                                     OutputStream outputStream) throws IOException {
+        if (format == CaptureFileFormat.PNG) {
+            PngEncoder.write(image, outputStream, PNG_COMPRESSION);
+            return;
+        }
         BufferedImage imageWithType = new BufferedImage((int) image.getWidth(),
                 (int) image.getHeight(), BufferedImage.TYPE_INT_RGB);
         BufferedImage bufferedImage = SwingFXUtils.fromFXImage(image, imageWithType);
-        ImageIO.write(bufferedImage, imageFormat, outputStream);
-        if (!ImageIO.write(bufferedImage, imageFormat, outputStream)) {
+        if (!ImageIO.write(bufferedImage, format.toString(), outputStream)) {
             throw new IOException("Image was not created");
         }
     }
@@ -148,4 +287,11 @@ public class CaptureSupportImpl implements CaptureSupport {
         return captureNode(stackPane);
     }
 
+    /**
+     * Holds the pool of the {@code testfx.capture.match_threads} property, which is created on first use.
+     */
+    private static final class MatchPoolHolder {
+        private static final ForkJoinPool POOL = new ForkJoinPool(MATCH_THREADS);
+    }
+
 }
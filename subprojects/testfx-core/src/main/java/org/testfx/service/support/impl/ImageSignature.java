@@ -0,0 +1,270 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support.impl;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import javafx.scene.image.Image;
+
+/**
+ * A cheap summary of the pixels of an image: a 64-bit digest of all ARGB values and a thumbnail whose pixels
+ * are the averages of {@value #THUMBNAIL_SCALE} x {@value #THUMBNAIL_SCALE} blocks of the image.
+ * <p>
+ * If the {@code testfx.capture.signature_dir} property is set, the signatures of images loaded by
+ * {@link CaptureSupportImpl#loadImage(Path)} are cached on disk in the given directory, keyed by the path, size
+ * and modification time of the image file, and remembered for the loaded image. The signature of a loaded image
+ * is only read or computed once it is {@link #cached(Image) requested}, e.g. by a {@link PixelMatcherPrecheck}.
+ */
+public final class ImageSignature {
+
+    static final int THUMBNAIL_SCALE = 8;
+
+    private static final int FILE_MAGIC = 0x54465853;
+    private static final Map<Image, ImageSignature> SIGNATURES = Collections.synchronizedMap(new WeakHashMap<>());
+    // the files of loaded images whose signatures have not been requested yet.
+    private static final Map<Image, Path> LOADED_IMAGES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final int width;
+    private final int height;
+    private final long digest;
+    private final int[] thumbnail;
+
+    private ImageSignature(int width, int height, long digest, int[] thumbnail) {
+        this.width = width;
+        this.height = height;
+        this.digest = digest;
+        this.thumbnail = thumbnail;
+    }
+
+    /**
+     * Returns the signature of the given image, which is only computed if it was not remembered for the image.
+     */
+    public static ImageSignature of(Image image) {
+        ImageSignature signature = cached(image);
+        if (signature != null) {
+            return signature;
+        }
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        return compute(PixelMatcherBase.readArgbs(image, width, height), width, height);
+    }
+
+    /**
+     * Returns the signature that is remembered for the given image, or reads or computes it if the image was
+     * {@link #track(Path, Image) loaded from a file}. Returns {@code null} for all other images.
+     */
+    static ImageSignature cached(Image image) {
+        ImageSignature signature = SIGNATURES.get(image);
+        if (signature != null) {
+            return signature;
+        }
+        Path path = LOADED_IMAGES.remove(image);
+        return path == null ? null : load(path, image);
+    }
+
+    /**
+     * Remembers that the given image was loaded from the given file, if the disk cache is enabled by the
+     * {@code testfx.capture.signature_dir} property. The image must not be modified afterwards.
+     */
+    static void track(Path path, Image image) {
+        if (!signatureDir().isEmpty()) {
+            LOADED_IMAGES.put(image, path);
+        }
+    }
+
+    /**
+     * Returns the signature of the given ARGB pixels of an image of the given size.
+     */
+    static ImageSignature compute(int[] argbs, int width, int height) {
+        long digest = 0L;
+        for (int argb : argbs) {
+            digest = (digest + argb) * 0x9e3779b97f4a7c15L;
+        }
+        digest ^= digest >>> 31;
+
+        int thumbnailWidth = thumbnailSize(width);
+        int thumbnailHeight = thumbnailSize(height);
+        long[] sums = new long[thumbnailWidth * thumbnailHeight * 4];
+        for (int y = 0; y < height; y++) {
+            int thumbnailRow = (y / THUMBNAIL_SCALE) * thumbnailWidth;
+            for (int x = 0; x < width; x++) {
+                int argb = argbs[(y * width) + x];
+                int sum = (thumbnailRow + (x / THUMBNAIL_SCALE)) * 4;
+                sums[sum] += argb >>> 24;
+                sums[sum + 1] += (argb >> 16) & 0xff;
+                sums[sum + 2] += (argb >> 8) & 0xff;
+                sums[sum + 3] += argb & 0xff;
+            }
+        }
+        int[] thumbnail = new int[thumbnailWidth * thumbnailHeight];
+        for (int index = 0; index < thumbnail.length; index++) {
+            long blockPixels = blockPixels(width, height, index);
+            int argb = 0;
+            for (int channel = 0; channel < 4; channel++) {
+                argb = (argb << 8) | (int) ((sums[(index * 4) + channel] + (blockPixels / 2)) / blockPixels);
+            }
+            thumbnail[index] = argb;
+        }
+        return new ImageSignature(width, height, digest, thumbnail);
+    }
+
+    /**
+     * Computes the signature of an image loaded from the given file, or reads it from the disk cache, and
+     * remembers it for the image. The image must not be modified afterwards.
+     */
+    static ImageSignature load(Path path, Image image) {
+        Path cachePath = null;
+        String cacheKey = null;
+        ImageSignature signature = null;
+        String signatureDir = signatureDir();
+        try {
+            if (!signatureDir.isEmpty()) {
+                cacheKey = path.toAbsolutePath() + "|" + Files.size(path) + "|" + Files.getLastModifiedTime(path);
+                cachePath = Paths.get(signatureDir, toHex(sha1(cacheKey)) + ".sig");
+                signature = read(cachePath, cacheKey);
+            }
+        }
+        catch (IOException ignored) {
+            // the disk cache is best-effort.
+        }
+        if (signature == null || signature.width != (int) image.getWidth() ||
+                signature.height != (int) image.getHeight()) {
+            int width = (int) image.getWidth();
+            int height = (int) image.getHeight();
+            signature = compute(PixelMatcherBase.readArgbs(image, width, height), width, height);
+            if (cachePath != null) {
+                try {
+                    signature.write(cachePath, cacheKey);
+                }
+                catch (IOException ignored) {
+                    // the disk cache is best-effort.
+                }
+            }
+        }
+        SIGNATURES.put(image, signature);
+        return signature;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Returns the digest of the pixels. Equal images have equal digests, but equal digests do not prove that
+     * the images are equal.
+     */
+    public long getDigest() {
+        return digest;
+    }
+
+    int[] getThumbnail() {
+        return thumbnail;
+    }
+
+    /**
+     * Returns the number of pixels of an image of the given size that are averaged by the thumbnail pixel with
+     * the given index.
+     */
+    static long blockPixels(int width, int height, int index) {
+        int thumbnailWidth = thumbnailSize(width);
+        int blockWidth = Math.min(THUMBNAIL_SCALE, width - ((index % thumbnailWidth) * THUMBNAIL_SCALE));
+        int blockHeight = Math.min(THUMBNAIL_SCALE, height - ((index / thumbnailWidth) * THUMBNAIL_SCALE));
+        return (long) blockWidth * blockHeight;
+    }
+
+    private static String signatureDir() {
+        return System.getProperty("testfx.capture.signature_dir", "");
+    }
+
+    static int thumbnailSize(int size) {
+        return (size + THUMBNAIL_SCALE - 1) / THUMBNAIL_SCALE;
+    }
+
+    private static ImageSignature read(Path cachePath, String cacheKey) throws IOException {
+        if (!Files.isRegularFile(cachePath)) {
+            return null;
+        }
+        try (DataInputStream input = new DataInputStream(Files.newInputStream(cachePath))) {
+            if (input.readInt() != FILE_MAGIC || !input.readUTF().equals(cacheKey)) {
+                return null;
+            }
+            int width = input.readInt();
+            int height = input.readInt();
+            long digest = input.readLong();
+            int[] thumbnail = new int[thumbnailSize(width) * thumbnailSize(height)];
+            for (int index = 0; index < thumbnail.length; index++) {
+                thumbnail[index] = input.readInt();
+            }
+            return new ImageSignature(width, height, digest, thumbnail);
+        }
+    }
+
+    private void write(Path cachePath, String cacheKey) throws IOException {
+        Files.createDirectories(cachePath.getParent());
+        Path tempPath = Files.createTempFile(cachePath.getParent(), "signature", ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(tempPath))) {
+                output.writeInt(FILE_MAGIC);
+                output.writeUTF(cacheKey);
+                output.writeInt(width);
+                output.writeInt(height);
+                output.writeLong(digest);
+                for (int argb : thumbnail) {
+                    output.writeInt(argb);
+                }
+            }
+            Files.move(tempPath, cachePath, StandardCopyOption.REPLACE_EXISTING);
+        }
+        catch (IOException e) {
+            Files.deleteIfExists(tempPath);
+            throw e;
+        }
+    }
+
+    private static byte[] sha1(String text) {
+        try {
+            return MessageDigest.getInstance("SHA-1").digest(text.getBytes(StandardCharsets.UTF_8));
+        }
+        catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte value : bytes) {
+            hex.append(String.format("%02x", value));
+        }
+        return hex.toString();
+    }
+
+}
@@ -16,44 +16,378 @@
  */
 package org.testfx.service.support.impl;
 
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
 import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.image.WritableImage;
 import javafx.scene.paint.Color;
 
+import org.testfx.service.support.ArgbPixels;
 import org.testfx.service.support.PixelMatcher;
 import org.testfx.service.support.PixelMatcherResult;
 
+/**
+ * Base class of {@link PixelMatcher}s that compare two images pixel by pixel.
+ * <p>
+ * Both images are read into {@code int} arrays of ARGB values. Each pair of pixels is compared by
+ * {@link #matchArgb(int, int)}, and only the pixels that did not match are recorded in a {@link BitSet}. The
+ * match image is rendered on the first call of {@link PixelMatcherResult#getMatchImage()}, where each pixel is
+ * colored by {@link #createMatchArgb(int, int)} or {@link #createNonMatchArgb(int, int)} and the image is
+ * written in a single call. The pixels are read from the images again at that time, so that the result does not
+ * hold on to them, and the images must not be modified before the match image is requested.
+ * <p>
+ * The ARGB methods delegate to the {@link Color} based methods of {@link PixelMatcher} by default. Subclasses can
+ * override them to compare and color pixels without creating {@code Color} objects.
+ * <p>
+ * Large images can be compared in parallel bands of rows with
+ * {@link #match(Image, Image, ForkJoinPool, double)}, which can also stop early once too many pixels did not
+ * match.
+ * <p>
+ * Captured {@link ArgbPixels} are compared without reading them from an image, see
+ * {@link #match(ArgbPixels, ArgbPixels, ForkJoinPool, double)}.
+ */
 public abstract class PixelMatcherBase implements PixelMatcher {
 
+    // the minimum number of pixels in a band of rows that is compared as a single task.
+    private static final int MIN_BAND_PIXELS = 1 << 16;
+
     @Override
     public PixelMatcherResult match(Image image0,
                                     Image image1) {
-        WritableImage matchImage = createEmptyMatchImage(image0, image1);
-        int imageWidth = (int) matchImage.getWidth();
-        int imageHeight = (int) matchImage.getHeight();
-
-        long matchPixels = 0L;
-        long totalPixels = imageWidth * imageHeight;
-
-        for (int imageY = 0; imageY < imageHeight; imageY += 1) {
-            for (int imageX = 0; imageX < imageWidth; imageX += 1) {
-                Color color0 = image0.getPixelReader().getColor(imageX, imageY);
-                Color color1 = image1.getPixelReader().getColor(imageX, imageY);
-                boolean areColorsMatching = matchColors(color0, color1);
-
-                if (areColorsMatching) {
-                    matchPixels += 1;
-                    Color matchColor = createMatchColor(color0, color1);
-                    matchImage.getPixelWriter().setColor(imageX, imageY, matchColor);
+        return match(image0, image1, null, 1.0);
+    }
+
+    /**
+     * Returns a {@link PixelMatcherResult} that indicates how similar/dissimilar the two images were, comparing
+     * bands of rows of the images in parallel.
+     * <p>
+     * The bands are compared as tasks of the given {@code pool}, or one after another on the calling thread if
+     * the {@code pool} is {@code null}, so the method that compares pixels must be thread-safe when a pool is
+     * given. Once more than {@code maxNonMatchFactor} of all pixels did not match, the comparison stops
+     * early: pixels that were not compared are counted as non-matching, but are left transparent in the match
+     * image and are not part of the {@link PixelMatcherResult#getNonMatchMask() non-match mask}.
+     *
+     * @param maxNonMatchFactor the percentage of non-matching pixels at which the comparison stops, where
+     * {@code 1.0} compares all pixels
+     * @throws IllegalArgumentException if {@code maxNonMatchFactor} is not between {@code 0.0} and {@code 1.0}
+     */
+    public PixelMatcherResult match(Image image0,
+                                    Image image1,
+                                    ForkJoinPool pool,
+                                    double maxNonMatchFactor) {
+        checkMaxNonMatchFactor(maxNonMatchFactor);
+        MatchSource source = matchSource(image0, image1);
+        return matchArgbs(source, source.readArgbs0(), source.readArgbs1(), pool, maxNonMatchFactor);
+    }
+
+    @Override
+    public PixelMatcherResult match(ArgbPixels pixels0,
+                                    ArgbPixels pixels1) {
+        return match(pixels0, pixels1, null, 1.0);
+    }
+
+    /**
+     * Returns a {@link PixelMatcherResult} that indicates how similar/dissimilar the two captured pixels were,
+     * like {@link #match(Image, Image, ForkJoinPool, double)}. The arrays of the pixels are compared directly
+     * if both have the size of the match image, which has {@code pixels0}'s width and {@code pixels1}'s height.
+     * Otherwise, the pixels are cropped or padded with transparent pixels to that size.
+     *
+     * @throws IllegalArgumentException if {@code maxNonMatchFactor} is not between {@code 0.0} and {@code 1.0}
+     */
+    public PixelMatcherResult match(ArgbPixels pixels0,
+                                    ArgbPixels pixels1,
+                                    ForkJoinPool pool,
+                                    double maxNonMatchFactor) {
+        checkMaxNonMatchFactor(maxNonMatchFactor);
+        int imageWidth = pixels0.getWidth();
+        int imageHeight = pixels1.getHeight();
+        MatchSource source = new MatchSource(imageWidth, imageHeight,
+            () -> readArgbs(pixels0, imageWidth, imageHeight), () -> readArgbs(pixels1, imageWidth, imageHeight),
+            () -> new WritableImage(Math.max(1, imageWidth), Math.max(1, imageHeight)));
+        return matchArgbs(source, source.readArgbs0(), source.readArgbs1(), pool, maxNonMatchFactor);
+    }
+
+    /**
+     * Returns whether this is one of the built-in matchers, whose bands are compared in parallel by default.
+     * Subclasses of the built-in matchers are not, as their methods that compare pixels may not be thread-safe.
+     */
+    boolean isBuiltIn() {
+        return false;
+    }
+
+    /**
+     * Returns the largest difference of the red, green or blue values of two pixels that match, or {@code 255}
+     * if it is not known, e.g. for matchers that compare pixels in other ways.
+     */
+    int maxMatchChannelDiff() {
+        return 255;
+    }
+
+    /**
+     * Returns the source of a match of the two given images, whose match image has {@code image0}'s width and
+     * {@code image1}'s height.
+     */
+    MatchSource matchSource(Image image0, Image image1) {
+        int imageWidth = (int) image0.getWidth();
+        int imageHeight = (int) image1.getHeight();
+        return new MatchSource(imageWidth, imageHeight,
+            () -> readArgbs(image0, imageWidth, imageHeight), () -> readArgbs(image1, imageWidth, imageHeight),
+            () -> createEmptyMatchImage(image0, image1));
+    }
+
+    /**
+     * Compares the given ARGB pixels, which have been read from the given source already. The result only keeps
+     * the counts and the non-match mask, and reads the pixels from the source again to render the match image.
+     */
+    PixelMatcherResult matchArgbs(MatchSource source,
+                                  int[] argbs0,
+                                  int[] argbs1,
+                                  ForkJoinPool pool,
+                                  double maxNonMatchFactor) {
+        int imageWidth = source.width;
+        int imageHeight = source.height;
+        long totalPixels = (long) imageWidth * imageHeight;
+
+        MatchBands bands = new MatchBands(argbs0, argbs1, imageWidth, imageHeight,
+                (long) Math.floor(maxNonMatchFactor * totalPixels));
+        int bandRows = Math.max(1, MIN_BAND_PIXELS / Math.max(1, imageWidth));
+        MatchBandTask task = new MatchBandTask(bands, 0, imageHeight, pool == null ? imageHeight : bandRows);
+        if (pool == null) {
+            task.invoke();
+        }
+        else {
+            pool.invoke(task);
+        }
+        BitSet nonMatchMask = bands.nonMatchMask();
+        boolean[] comparedRows = bands.comparedRows;
+        return new PixelMatcherResult(() -> renderMatchImage(source, comparedRows, nonMatchMask), nonMatchMask,
+                bands.matchPixels.sum(), totalPixels);
+    }
+
+    /**
+     * Returns whether the two given ARGB pixels match. Delegates to {@link #matchColors(Color, Color)} by default.
+     */
+    protected boolean matchArgb(int argb0, int argb1) {
+        return matchColors(toColor(argb0), toColor(argb1));
+    }
+
+    /**
+     * Returns the ARGB pixel that represents a match between the two given ARGB pixels. Delegates to
+     * {@link #createMatchColor(Color, Color)} by default.
+     */
+    protected int createMatchArgb(int argb0, int argb1) {
+        return toArgb(createMatchColor(toColor(argb0), toColor(argb1)));
+    }
+
+    /**
+     * Returns the ARGB pixel that represents a mismatch between the two given ARGB pixels. Delegates to
+     * {@link #createNonMatchColor(Color, Color)} by default.
+     */
+    protected int createNonMatchArgb(int argb0, int argb1) {
+        return toArgb(createNonMatchColor(toColor(argb0), toColor(argb1)));
+    }
+
+    /**
+     * Returns the color of the given ARGB pixel, as returned by {@link javafx.scene.image.PixelReader#getColor}.
+     */
+    protected static Color toColor(int argb) {
+        return Color.rgb((argb >> 16) & 0xff, (argb >> 8) & 0xff, argb & 0xff, (argb >>> 24) / 255.0);
+    }
+
+    /**
+     * Returns the ARGB pixel of the given color, as written by {@link javafx.scene.image.PixelWriter#setColor}.
+     */
+    protected static int toArgb(Color color) {
+        int alpha = (int) Math.round(color.getOpacity() * 255.0);
+        int red = (int) Math.round(color.getRed() * 255.0);
+        int green = (int) Math.round(color.getGreen() * 255.0);
+        int blue = (int) Math.round(color.getBlue() * 255.0);
+        return (alpha << 24) | (red << 16) | (green << 8) | blue;
+    }
+
+    private long matchRow(MatchBands bands, int row) {
+        BitSet nonMatchRow = null;
+        for (int x = 0, index = row * bands.width; x < bands.width; x += 1, index += 1) {
+            if (!matchArgb(bands.argbs0[index], bands.argbs1[index])) {
+                if (nonMatchRow == null) {
+                    nonMatchRow = new BitSet(bands.width);
                 }
-                else {
-                    Color nonMatchColor = createNonMatchColor(color0, color1);
-                    matchImage.getPixelWriter().setColor(imageX, imageY, nonMatchColor);
+                nonMatchRow.set(x);
+            }
+        }
+        bands.nonMatchRows[row] = nonMatchRow;
+        bands.comparedRows[row] = true;
+        return nonMatchRow == null ? 0L : nonMatchRow.cardinality();
+    }
+
+    private WritableImage renderMatchImage(MatchSource source, boolean[] comparedRows, BitSet nonMatchMask) {
+        int[] argbs0 = source.readArgbs0();
+        int[] argbs1 = source.readArgbs1();
+        int[] matchArgbs = new int[argbs0.length];
+        for (int row = 0; row < source.height; row += 1) {
+            if (!comparedRows[row]) {
+                continue;
+            }
+            for (int index = row * source.width, end = index + source.width; index < end; index += 1) {
+                int argb0 = argbs0[index];
+                int argb1 = argbs1[index];
+                matchArgbs[index] = nonMatchMask.get(index) ? createNonMatchArgb(argb0, argb1) :
+                        createMatchArgb(argb0, argb1);
+            }
+        }
+        WritableImage matchImage = source.emptyMatchImage.get();
+        if (matchArgbs.length > 0) {
+            matchImage.getPixelWriter().setPixels(0, 0, source.width, source.height,
+                    PixelFormat.getIntArgbInstance(), matchArgbs, 0, source.width);
+        }
+        return matchImage;
+    }
+
+    static void checkMaxNonMatchFactor(double maxNonMatchFactor) {
+        if (!(maxNonMatchFactor >= 0.0 && maxNonMatchFactor <= 1.0)) {
+            throw new IllegalArgumentException("maxNonMatchFactor must be between 0.0 and 1.0 but was: " +
+                    maxNonMatchFactor);
+        }
+    }
+
+    private static int[] readArgbs(ArgbPixels pixels, int width, int height) {
+        if (pixels.getWidth() == width && pixels.getHeight() == height) {
+            return pixels.getArgbs();
+        }
+        int[] argbs = new int[width * height];
+        int rowWidth = Math.min(width, pixels.getWidth());
+        for (int y = 0, rows = Math.min(height, pixels.getHeight()); y < rows; y++) {
+            System.arraycopy(pixels.getArgbs(), y * pixels.getWidth(), argbs, y * width, rowWidth);
+        }
+        return argbs;
+    }
+
+    static int[] readArgbs(Image image, int width, int height) {
+        int[] argbs = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), argbs, 0, width);
+        return argbs;
+    }
+
+    /**
+     * The two images of a match, from which their pixels are read for the comparison and read again to render the
+     * match image, so that a result does not hold on to copies of the pixels.
+     */
+    static final class MatchSource {
+
+        private final int width;
+        private final int height;
+        private final Supplier<int[]> argbs0;
+        private final Supplier<int[]> argbs1;
+        private final Supplier<WritableImage> emptyMatchImage;
+
+        private MatchSource(int width,
+                            int height,
+                            Supplier<int[]> argbs0,
+                            Supplier<int[]> argbs1,
+                            Supplier<WritableImage> emptyMatchImage) {
+            this.width = width;
+            this.height = height;
+            this.argbs0 = argbs0;
+            this.argbs1 = argbs1;
+            this.emptyMatchImage = emptyMatchImage;
+        }
+
+        int[] readArgbs0() {
+            return argbs0.get();
+        }
+
+        int[] readArgbs1() {
+            return argbs1.get();
+        }
+    }
+
+    /**
+     * The pixels of both images and the rows that were compared, together with the counts shared by all bands.
+     * Each row is only written by the task that compares it.
+     */
+    private static final class MatchBands {
+
+        private final int[] argbs0;
+        private final int[] argbs1;
+        private final int width;
+        private final int height;
+        private final BitSet[] nonMatchRows;
+        private final boolean[] comparedRows;
+        private final long maxNonMatchPixels;
+        private final LongAdder matchPixels = new LongAdder();
+        private final AtomicLong nonMatchPixels = new AtomicLong();
+
+        private MatchBands(int[] argbs0, int[] argbs1, int width, int height, long maxNonMatchPixels) {
+            this.argbs0 = argbs0;
+            this.argbs1 = argbs1;
+            this.width = width;
+            this.height = height;
+            this.nonMatchRows = new BitSet[height];
+            this.comparedRows = new boolean[height];
+            this.maxNonMatchPixels = maxNonMatchPixels;
+        }
+
+        private boolean exceeded() {
+            return nonMatchPixels.get() > maxNonMatchPixels;
+        }
+
+        /**
+         * Returns the compared pixels that did not match, at index {@code y * width + x}.
+         */
+        private BitSet nonMatchMask() {
+            BitSet nonMatchMask = new BitSet();
+            // from the last row, so that the words of the set are allocated at once.
+            for (int row = height - 1; row >= 0; row -= 1) {
+                BitSet nonMatchRow = nonMatchRows[row];
+                if (nonMatchRow == null) {
+                    continue;
+                }
+                for (int x = nonMatchRow.nextSetBit(0); x >= 0; x = nonMatchRow.nextSetBit(x + 1)) {
+                    nonMatchMask.set(row * width + x);
                 }
             }
+            return nonMatchMask;
         }
+    }
+
+    /**
+     * Compares a range of rows, splitting it in halves until the ranges are no larger than a band.
+     */
+    private final class MatchBandTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
 
-        return new PixelMatcherResult(matchImage, matchPixels, totalPixels);
+        private final MatchBands bands;
+        private final int fromRow;
+        private final int toRow;
+        private final int bandRows;
+
+        private MatchBandTask(MatchBands bands, int fromRow, int toRow, int bandRows) {
+            this.bands = bands;
+            this.fromRow = fromRow;
+            this.toRow = toRow;
+            this.bandRows = bandRows;
+        }
+
+        @Override
+        protected void compute() {
+            if (toRow - fromRow > bandRows) {
+                int middleRow = (fromRow + toRow) >>> 1;
+                invokeAll(new MatchBandTask(bands, fromRow, middleRow, bandRows),
+                        new MatchBandTask(bands, middleRow, toRow, bandRows));
+                return;
+            }
+            for (int row = fromRow; row < toRow && !bands.exceeded(); row += 1) {
+                long nonMatchPixels = matchRow(bands, row);
+                bands.matchPixels.add(bands.width - nonMatchPixels);
+                bands.nonMatchPixels.addAndGet(nonMatchPixels);
+            }
+        }
     }
 
 }
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support.impl;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.ForkJoinPool;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import org.testfx.service.support.PixelMatcher;
+import org.testfx.service.support.PixelMatcherResult;
+
+/**
+ * A {@link PixelMatcher} that compares the {@link ImageSignature}s of two images before it compares them pixel
+ * by pixel with another {@link PixelMatcherBase}, such as {@link PixelMatcherRgb}.
+ * <p>
+ * The pixels of both images are read once. Identical images are then only colored as matches, once the match
+ * image is requested, assuming that every pixel matches itself. Images whose thumbnails prove that more than the
+ * allowed fraction of their pixels cannot match are not compared pixel by pixel at all, and all their pixels are
+ * counted as non-matching. All other images are compared in full. Only matchers that report how far the colors of
+ * matching pixels may differ, such as {@link PixelMatcherRgb}, are prechecked like this.
+ * <p>
+ * The signatures are computed from the pixels that were read for the comparison, unless they are
+ * {@link ImageSignature#cached(Image) cached} for images that were loaded from files. Images that both have cached
+ * signatures are prechecked before their pixels are read.
+ */
+public class PixelMatcherPrecheck extends PixelMatcherBase implements PixelMatcher {
+
+    private final PixelMatcherBase pixelMatcher;
+    private final double maxNonMatchFactor;
+
+    /**
+     * Creates a matcher that prechecks images for a {@link PixelMatcherRgb} with default factors.
+     */
+    public PixelMatcherPrecheck(double minMatchFactor) {
+        this(new PixelMatcherRgb(), minMatchFactor);
+    }
+
+    /**
+     * Creates a matcher that prechecks images for the given {@code pixelMatcher}.
+     *
+     * @param minMatchFactor the percentage of pixels that must match for images to be considered similar
+     */
+    public PixelMatcherPrecheck(PixelMatcherBase pixelMatcher, double minMatchFactor) {
+        this.pixelMatcher = pixelMatcher;
+        this.maxNonMatchFactor = 1.0 - minMatchFactor;
+    }
+
+    @Override
+    public PixelMatcherResult match(Image image0,
+                                    Image image1,
+                                    ForkJoinPool pool,
+                                    double maxNonMatchFactor) {
+        checkMaxNonMatchFactor(maxNonMatchFactor);
+        int imageWidth = (int) image0.getWidth();
+        int imageHeight = (int) image1.getHeight();
+        if (imageWidth != (int) image1.getWidth() || imageHeight != (int) image0.getHeight()) {
+            return pixelMatcher.match(image0, image1, pool, maxNonMatchFactor);
+        }
+        ImageSignature signature0 = ImageSignature.cached(image0);
+        ImageSignature signature1 = ImageSignature.cached(image1);
+        if (signature0 != null && signature1 != null && isClearlyDifferent(signature0, signature1)) {
+            return matchClearlyDifferent(image0, image1);
+        }
+        MatchSource source = matchSource(image0, image1);
+        int[] argbs0 = source.readArgbs0();
+        int[] argbs1 = source.readArgbs1();
+        boolean digestsDiffer = signature0 != null && signature1 != null &&
+                signature0.getDigest() != signature1.getDigest();
+        if (!digestsDiffer && Arrays.equals(argbs0, argbs1)) {
+            return matchIdentical(image0, image1, imageWidth, imageHeight);
+        }
+        if (signature0 == null || signature1 == null) {
+            signature0 = signature0 != null ? signature0 : ImageSignature.compute(argbs0, imageWidth, imageHeight);
+            signature1 = signature1 != null ? signature1 : ImageSignature.compute(argbs1, imageWidth, imageHeight);
+            if (isClearlyDifferent(signature0, signature1)) {
+                return matchClearlyDifferent(image0, image1);
+            }
+        }
+        return pixelMatcher.matchArgbs(source, argbs0, argbs1, pool, maxNonMatchFactor);
+    }
+
+    @Override
+    public boolean matchColors(Color color0, Color color1) {
+        return pixelMatcher.matchColors(color0, color1);
+    }
+
+    @Override
+    public WritableImage createEmptyMatchImage(Image image0, Image image1) {
+        return pixelMatcher.createEmptyMatchImage(image0, image1);
+    }
+
+    @Override
+    public Color createMatchColor(Color color0, Color color1) {
+        return pixelMatcher.createMatchColor(color0, color1);
+    }
+
+    @Override
+    public Color createNonMatchColor(Color color0, Color color1) {
+        return pixelMatcher.createNonMatchColor(color0, color1);
+    }
+
+    @Override
+    protected boolean matchArgb(int argb0, int argb1) {
+        return pixelMatcher.matchArgb(argb0, argb1);
+    }
+
+    @Override
+    protected int createMatchArgb(int argb0, int argb1) {
+        return pixelMatcher.createMatchArgb(argb0, argb1);
+    }
+
+    @Override
+    protected int createNonMatchArgb(int argb0, int argb1) {
+        return pixelMatcher.createNonMatchArgb(argb0, argb1);
+    }
+
+    @Override
+    boolean isBuiltIn() {
+        return getClass() == PixelMatcherPrecheck.class && pixelMatcher.isBuiltIn();
+    }
+
+    @Override
+    int maxMatchChannelDiff() {
+        return pixelMatcher.maxMatchChannelDiff();
+    }
+
+    /**
+     * Returns the result for two identical images, whose match image is only colored once it is requested.
+     */
+    private PixelMatcherResult matchIdentical(Image image0, Image image1, int imageWidth, int imageHeight) {
+        long totalPixels = (long) imageWidth * imageHeight;
+        return new PixelMatcherResult(() -> {
+            int[] argbs = readArgbs(image0, imageWidth, imageHeight);
+            for (int index = 0; index < argbs.length; index += 1) {
+                argbs[index] = createMatchArgb(argbs[index], argbs[index]);
+            }
+            WritableImage matchImage = createEmptyMatchImage(image0, image1);
+            matchImage.getPixelWriter().setPixels(0, 0, imageWidth, imageHeight, PixelFormat.getIntArgbInstance(),
+                    argbs, 0, imageWidth);
+            return matchImage;
+        }, new BitSet(), totalPixels, totalPixels);
+    }
+
+    /**
+     * Returns the result for two images whose signatures show that they differ by more than the allowed fraction
+     * of non-matching pixels. The images are not compared pixel by pixel, so all pixels are counted as
+     * non-matching, like the pixels that were not compared after a comparison stopped early. The match image is
+     * only rendered, by comparing the images in full, once it is requested.
+     */
+    private PixelMatcherResult matchClearlyDifferent(Image image0, Image image1) {
+        long totalPixels = (long) image0.getWidth() * (long) image1.getHeight();
+        return new PixelMatcherResult(() -> pixelMatcher.match(image0, image1).getMatchImage(), null, 0L,
+                totalPixels);
+    }
+
+    private boolean isClearlyDifferent(ImageSignature signature0, ImageSignature signature1) {
+        return estimateMinNonMatchFactor(signature0, signature1) > maxNonMatchFactor;
+    }
+
+    /**
+     * Returns a lower bound of the fraction of non-matching pixels of two images with the given signatures.
+     * <p>
+     * If the red, green or blue averages of a block differ by {@code diff}, its pixels differ by {@code diff} on
+     * average. Matching pixels differ by at most {@code maxMatchDiff} and all others by at most 255, so at least
+     * {@code (diff - maxMatchDiff) / (255 - maxMatchDiff)} of the block's pixels do not match. As the averages are
+     * rounded, their difference is reduced by one first. Blocks whose pixels differ by less on average may
+     * not match at all, e.g. if a few of their pixels changed from black to white, so they are not counted.
+     */
+    private double estimateMinNonMatchFactor(ImageSignature signature0, ImageSignature signature1) {
+        int maxMatchDiff = pixelMatcher.maxMatchChannelDiff();
+        int width = signature0.getWidth();
+        int height = signature0.getHeight();
+        if (maxMatchDiff >= 255 || width == 0 || height == 0) {
+            return 0.0;
+        }
+        int[] thumbnail0 = signature0.getThumbnail();
+        int[] thumbnail1 = signature1.getThumbnail();
+        double nonMatchPixels = 0.0;
+        for (int index = 0; index < thumbnail0.length; index += 1) {
+            int diff = Math.max(channelDiff(thumbnail0[index], thumbnail1[index], 16),
+                    Math.max(channelDiff(thumbnail0[index], thumbnail1[index], 8),
+                            channelDiff(thumbnail0[index], thumbnail1[index], 0))) - 1;
+            if (diff > maxMatchDiff) {
+                nonMatchPixels += ImageSignature.blockPixels(width, height, index) * (diff - maxMatchDiff) /
+                        (double) (255 - maxMatchDiff);
+            }
+        }
+        return nonMatchPixels / ((double) width * height);
+    }
+
+    private static int channelDiff(int argb0, int argb1, int shift) {
+        return Math.abs(((argb0 >> shift) & 0xff) - ((argb1 >> shift) & 0xff));
+    }
+
+}
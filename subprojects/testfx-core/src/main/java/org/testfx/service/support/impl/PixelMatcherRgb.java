@@ -23,10 +23,30 @@ import javafx.scene.paint.Color;
 import org.testfx.service.support.PixelMatcher;
 import org.testfx.util.ColorUtils;
 
+/**
+ * A {@link PixelMatcher} that matches pixels whose RGB distance is below a given fraction of the distance
+ * between black and white, and represents matches by their blended grayscale value.
+ * <p>
+ * Pixels are compared with integer math on their ARGB values. Only distances within one unit of the threshold
+ * are computed with the {@code double} based {@link ColorUtils#calculateColorDistSq(Color, Color)} arithmetic,
+ * so that the result is the same as that of {@link #matchColors(Color, Color)}. Subclasses that override the
+ * {@code Color} based methods are matched through these methods instead.
+ */
 public class PixelMatcherRgb extends PixelMatcherBase implements PixelMatcher {
 
+    private static final double[] CHANNEL_VALUES = new double[256];
+
+    static {
+        // the values of the color channels as Color stores them, see Color.rgb(int, int, int, double).
+        for (int value = 0; value < CHANNEL_VALUES.length; value++) {
+            CHANNEL_VALUES[value] = Color.rgb(value, 0, 0).getRed();
+        }
+    }
+
     private final double colorBlendFactor;
     private final double minColorDistSq;
+    private final double minArgbDistSq;
+    private final boolean argbMatching;
 
     public PixelMatcherRgb() {
         this(0.20, 0.75);
@@ -36,6 +56,9 @@ public class PixelMatcherRgb extends PixelMatcherBase implements PixelMatcher {
         this.colorBlendFactor = colorBlendFactor;
         double maxColorDistSq = ColorUtils.calculateColorDistSq(Color.BLACK, Color.WHITE);
         minColorDistSq = maxColorDistSq * (minColorDistFactor * minColorDistFactor);
+        minArgbDistSq = minColorDistSq * 255 * 255;
+        argbMatching = isDeclaredByRgb("matchColors") && isDeclaredByRgb("createMatchColor") &&
+                isDeclaredByRgb("createNonMatchColor");
     }
 
     @Override
@@ -57,6 +80,82 @@ public class PixelMatcherRgb extends PixelMatcherBase implements PixelMatcher {
         return Color.gray(blendToWhite(gray, colorBlendFactor), opacity);
     }
 
+    @Override
+    protected boolean matchArgb(int argb0, int argb1) {
+        if (!argbMatching) {
+            return super.matchArgb(argb0, argb1);
+        }
+        int red0 = (argb0 >> 16) & 0xff;
+        int green0 = (argb0 >> 8) & 0xff;
+        int blue0 = argb0 & 0xff;
+        int red1 = (argb1 >> 16) & 0xff;
+        int green1 = (argb1 >> 8) & 0xff;
+        int blue1 = argb1 & 0xff;
+        int diffRed = red0 - red1;
+        int diffGreen = green0 - green1;
+        int diffBlue = blue0 - blue1;
+        int argbDistSq = (diffRed * diffRed) + (diffGreen * diffGreen) + (diffBlue * diffBlue);
+        if (argbDistSq < minArgbDistSq - 1) {
+            return true;
+        }
+        else if (argbDistSq > minArgbDistSq + 1) {
+            return false;
+        }
+        double colorDiffRed = CHANNEL_VALUES[red0] - CHANNEL_VALUES[red1];
+        double colorDiffGreen = CHANNEL_VALUES[green0] - CHANNEL_VALUES[green1];
+        double colorDiffBlue = CHANNEL_VALUES[blue0] - CHANNEL_VALUES[blue1];
+        double colorDistSq = (colorDiffRed * colorDiffRed) + (colorDiffGreen * colorDiffGreen) +
+                (colorDiffBlue * colorDiffBlue);
+        return colorDistSq < minColorDistSq;
+    }
+
+    @Override
+    protected int createMatchArgb(int argb0, int argb1) {
+        if (!argbMatching) {
+            return super.createMatchArgb(argb0, argb1);
+        }
+        // same arithmetic as Color.grayscale(), Color.gray(double, double) and PixelWriter.setColor().
+        double gray = (float) ((0.21 * CHANNEL_VALUES[(argb0 >> 16) & 0xff]) +
+                (0.71 * CHANNEL_VALUES[(argb0 >> 8) & 0xff]) + (0.07 * CHANNEL_VALUES[argb0 & 0xff]));
+        double blendedGray = (float) blendToWhite(gray, colorBlendFactor);
+        int alpha = (int) Math.round(CHANNEL_VALUES[argb0 >>> 24] * 255.0);
+        int grayValue = (int) Math.round(blendedGray * 255.0);
+        return (alpha << 24) | (grayValue << 16) | (grayValue << 8) | grayValue;
+    }
+
+    @Override
+    protected int createNonMatchArgb(int argb0, int argb1) {
+        if (!argbMatching) {
+            return super.createNonMatchArgb(argb0, argb1);
+        }
+        return 0xffff0000;
+    }
+
+    @Override
+    boolean isBuiltIn() {
+        return getClass() == PixelMatcherRgb.class;
+    }
+
+    @Override
+    int maxMatchChannelDiff() {
+        if (!argbMatching) {
+            return super.maxMatchChannelDiff();
+        }
+        // pixels only match if their squared distance is at most one above minArgbDistSq, see matchArgb().
+        return (int) Math.min(255.0, Math.floor(Math.sqrt(minArgbDistSq + 1)));
+    }
+
+    private boolean isDeclaredByRgb(String colorMethodName) {
+        try {
+            Class<?> declaringClass = getClass().getMethod(colorMethodName, Color.class, Color.class)
+                    .getDeclaringClass();
+            return declaringClass == PixelMatcherRgb.class || declaringClass == PixelMatcher.class;
+        }
+        catch (NoSuchMethodException e) {
+            return false;
+        }
+    }
+
     private double blendToWhite(double gray, double factor) {
         return ((1.0 - factor) * gray) + factor;
     }
@@ -0,0 +1,234 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support.impl;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.PixelReader;
+
+import org.testfx.service.support.ArgbPixels;
+
+/**
+ * Encodes an {@link Image} or {@link ArgbPixels} as a PNG. Rows are read from the {@link PixelReader}, or copied
+ * from the array of the pixels, in bands, filtered with the "Sub" filter and deflated straight into {@code IDAT}
+ * chunks of the output stream, so that neither an intermediate {@code BufferedImage} nor the whole encoded image
+ * is held in memory.
+ * <p>
+ * Like {@link javafx.embed.swing.SwingFXUtils#fromFXImage} and {@link javax.imageio.ImageIO}, which were used to
+ * write images before, opaque images are written as 24-bit RGB and images with any non-opaque pixel as 32-bit
+ * RGBA with non-premultiplied colors. Whether an image is opaque is found out by reading it once before it is
+ * encoded, which stops at the first non-opaque pixel.
+ */
+final class PngEncoder {
+
+    private static final byte[] SIGNATURE = {(byte) 0x89, 'P', 'N', 'G', '\r', '\n', 0x1a, '\n'};
+    private static final int CHUNK_SIZE = 1 << 16;
+    private static final int BAND_PIXELS = 1 << 16;
+    private static final int FILTER_SUB = 1;
+
+    private PngEncoder() {}
+
+    /**
+     * Writes the given {@code image} to the given {@code outputStream} with the given {@link Deflater}
+     * compression level.
+     */
+    static void write(Image image, OutputStream outputStream, int compressionLevel) throws IOException {
+        PixelReader pixelReader = image.getPixelReader();
+        int width = (int) image.getWidth();
+        write(width, (int) image.getHeight(), (bandY, rows, argbs) -> pixelReader.getPixels(0, bandY, width, rows,
+                PixelFormat.getIntArgbInstance(), argbs, 0, width), outputStream, compressionLevel);
+    }
+
+    /**
+     * Writes the given {@code pixels} to the given {@code outputStream} with the given {@link Deflater}
+     * compression level. The rows are read straight from the array of the pixels.
+     */
+    static void write(ArgbPixels pixels, OutputStream outputStream, int compressionLevel) throws IOException {
+        int width = pixels.getWidth();
+        write(width, pixels.getHeight(), (bandY, rows, argbs) ->
+                System.arraycopy(pixels.getArgbs(), bandY * width, argbs, 0, rows * width), outputStream,
+                compressionLevel);
+    }
+
+    private static void write(int width,
+                              int height,
+                              BandReader bandReader,
+                              OutputStream outputStream,
+                              int compressionLevel) throws IOException {
+        if (width <= 0 || height <= 0) {
+            throw new IOException("Image was not created");
+        }
+        int bandRows = Math.max(1, Math.min(height, BAND_PIXELS / width));
+        int[] argbs = new int[bandRows * width];
+        final boolean opaque = isOpaque(bandReader, width, height, argbs);
+        outputStream.write(SIGNATURE);
+
+        ByteArrayOutputStream header = new ByteArrayOutputStream(13);
+        DataOutputStream headerData = new DataOutputStream(header);
+        headerData.writeInt(width);
+        headerData.writeInt(height);
+        headerData.writeByte(8); // bit depth
+        headerData.writeByte(opaque ? 2 : 6); // color type: RGB or RGBA
+        headerData.writeByte(0); // compression method: deflate
+        headerData.writeByte(0); // filter method: adaptive
+        headerData.writeByte(0); // interlace method: none
+        writeChunk(outputStream, "IHDR", header.toByteArray(), header.size());
+
+        Deflater deflater = new Deflater(compressionLevel);
+        try {
+            OutputStream chunkStream = new IdatOutputStream(outputStream);
+            DeflaterOutputStream deflaterStream = new DeflaterOutputStream(chunkStream, deflater, CHUNK_SIZE);
+            writeRows(bandReader, width, height, argbs, opaque ? 3 : 4, deflaterStream);
+            deflaterStream.finish();
+            chunkStream.flush();
+        }
+        finally {
+            deflater.end();
+        }
+
+        writeChunk(outputStream, "IEND", new byte[0], 0);
+        outputStream.flush();
+    }
+
+    /**
+     * Returns whether all pixels are opaque, reading the bands of rows into the given array until a non-opaque
+     * pixel is found.
+     */
+    private static boolean isOpaque(BandReader bandReader, int width, int height, int[] argbs) {
+        int bandRows = argbs.length / width;
+        for (int bandY = 0; bandY < height; bandY += bandRows) {
+            int rows = Math.min(bandRows, height - bandY);
+            bandReader.read(bandY, rows, argbs);
+            for (int index = 0, end = rows * width; index < end; index++) {
+                if (argbs[index] >>> 24 != 0xff) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Writes the rows with the given number of bytes per pixel, {@code 3} for RGB or {@code 4} for RGBA. The
+     * "Sub" filter subtracts each byte of the previous pixel in the row.
+     */
+    private static void writeRows(BandReader bandReader,
+                                  int width,
+                                  int height,
+                                  int[] argbs,
+                                  int bytesPerPixel,
+                                  OutputStream outputStream) throws IOException {
+        int bandRows = argbs.length / width;
+        byte[] row = new byte[1 + (width * bytesPerPixel)];
+        row[0] = FILTER_SUB;
+        for (int bandY = 0; bandY < height; bandY += bandRows) {
+            int rows = Math.min(bandRows, height - bandY);
+            bandReader.read(bandY, rows, argbs);
+            for (int y = 0; y < rows; y++) {
+                int previousArgb = 0;
+                for (int x = 0, index = y * width, offset = 1; x < width; x++, index++, offset += bytesPerPixel) {
+                    int argb = argbs[index];
+                    row[offset] = (byte) ((argb >> 16) - (previousArgb >> 16));
+                    row[offset + 1] = (byte) ((argb >> 8) - (previousArgb >> 8));
+                    row[offset + 2] = (byte) (argb - previousArgb);
+                    if (bytesPerPixel == 4) {
+                        row[offset + 3] = (byte) ((argb >>> 24) - (previousArgb >>> 24));
+                    }
+                    previousArgb = argb;
+                }
+                outputStream.write(row);
+            }
+        }
+    }
+
+    private static void writeChunk(OutputStream outputStream,
+                                   String type,
+                                   byte[] data,
+                                   int length) throws IOException {
+        byte[] typeBytes = type.getBytes(StandardCharsets.US_ASCII);
+        CRC32 crc = new CRC32();
+        crc.update(typeBytes);
+        crc.update(data, 0, length);
+        DataOutputStream dataStream = new DataOutputStream(outputStream);
+        dataStream.writeInt(length);
+        dataStream.write(typeBytes);
+        dataStream.write(data, 0, length);
+        dataStream.writeInt((int) crc.getValue());
+        dataStream.flush();
+    }
+
+    /**
+     * Reads a band of rows of the image into the start of an array of non-premultiplied ARGB values.
+     */
+    @FunctionalInterface
+    private interface BandReader {
+        void read(int bandY, int rows, int[] argbs);
+    }
+
+    /**
+     * Collects the deflated image data and writes it as {@code IDAT} chunks of at most {@link #CHUNK_SIZE} bytes.
+     */
+    private static final class IdatOutputStream extends OutputStream {
+
+        private final OutputStream outputStream;
+        private final byte[] buffer = new byte[CHUNK_SIZE];
+        private int length;
+
+        private IdatOutputStream(OutputStream outputStream) {
+            this.outputStream = outputStream;
+        }
+
+        @Override
+        public void write(int value) throws IOException {
+            if (length == buffer.length) {
+                flush();
+            }
+            buffer[length++] = (byte) value;
+        }
+
+        @Override
+        public void write(byte[] bytes, int offset, int count) throws IOException {
+            while (count > 0) {
+                if (length == buffer.length) {
+                    flush();
+                }
+                int copied = Math.min(count, buffer.length - length);
+                System.arraycopy(bytes, offset, buffer, length, copied);
+                length += copied;
+                offset += copied;
+                count -= copied;
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (length > 0) {
+                writeChunk(outputStream, "IDAT", buffer, length);
+                length = 0;
+            }
+        }
+    }
+
+}
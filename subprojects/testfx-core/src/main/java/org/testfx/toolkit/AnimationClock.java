@@ -0,0 +1,60 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.toolkit;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Controls the clock that drives the animations of JavaFX, i.e. {@code Timeline}s, {@code Transition}s and
+ * {@code AnimationTimer}s. By default the clock follows real time. In virtual time the clock only advances through
+ * {@link #advance(long, TimeUnit)}, or at a multiple of real time if a rate is set, so that tests do not have to wait
+ * out the duration of animations.
+ */
+public interface AnimationClock {
+
+    /**
+     * Switches the clock to virtual time, which advances at {@code rate} times real time, or only through
+     * {@link #advance(long, TimeUnit)} if {@code rate} is {@code 0}.
+     *
+     * @throws IllegalStateException if the animation timer of JavaFX is not accessible
+     */
+    void startVirtualTime(double rate);
+
+    /**
+     * Switches the clock back to real time, which continues from the current virtual time.
+     */
+    void stopVirtualTime();
+
+    /**
+     * Returns whether the clock is in virtual time.
+     */
+    boolean isVirtualTime();
+
+    /**
+     * Sets the rate at which virtual time advances relative to real time; {@code 0} stops it.
+     */
+    void setRate(double rate);
+
+    /**
+     * Advances virtual time by the given duration, in pulses of at most one frame, and returns once the
+     * animations have been updated.
+     *
+     * @throws IllegalStateException if the clock is not in virtual time
+     */
+    void advance(long duration, TimeUnit timeUnit);
+
+}
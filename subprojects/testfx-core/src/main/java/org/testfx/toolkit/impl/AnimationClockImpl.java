@@ -0,0 +1,192 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.toolkit.impl;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javafx.application.Platform;
+
+import org.testfx.toolkit.AnimationClock;
+
+import static org.testfx.util.WaitForAsyncUtils.asyncFx;
+import static org.testfx.util.WaitForAsyncUtils.waitFor;
+
+/**
+ * Implements virtual time by pausing the primary (master on Java 8) animation timer of the JavaFX toolkit, which
+ * then reports the time at which it was paused to the animations, and by moving that time forward and pulsing the
+ * timer itself. Accessing the timer requires {@code javafx.graphics/com.sun.javafx.tk} to be exported and
+ * {@code javafx.graphics/com.sun.scenario.animation} to be opened to TestFX when running on the module path.
+ */
+public class AnimationClockImpl implements AnimationClock {
+
+    private static final long FRAME_IN_NANOS = TimeUnit.SECONDS.toNanos(1) / 60;
+    private static final long ADVANCE_TIMEOUT_IN_SECONDS = 10;
+
+    private Object timer;
+    private Method pause;
+    private Method resume;
+    private Method timePulse;
+    private Field pausedTime;
+    private volatile boolean virtualTime;
+    private volatile double rate;
+    private ScheduledExecutorService rateExecutor;
+    private ScheduledFuture<?> rateTask;
+
+    @Override
+    public synchronized void startVirtualTime(double rate) {
+        initTimer();
+        if (!virtualTime) {
+            runOnFxThread(() -> invoke(pause));
+            virtualTime = true;
+        }
+        setRate(rate);
+    }
+
+    @Override
+    public synchronized void stopVirtualTime() {
+        if (virtualTime) {
+            setRate(0);
+            virtualTime = false;
+            runOnFxThread(() -> invoke(resume));
+        }
+    }
+
+    @Override
+    public boolean isVirtualTime() {
+        return virtualTime;
+    }
+
+    @Override
+    public synchronized void setRate(double rate) {
+        if (rate < 0) {
+            throw new IllegalArgumentException("rate must not be negative but was: " + rate);
+        }
+        this.rate = rate;
+        if (rateTask != null) {
+            rateTask.cancel(false);
+            rateTask = null;
+        }
+        if (virtualTime && rate > 0) {
+            if (rateExecutor == null) {
+                rateExecutor = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "testfx-animation-clock");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            long[] lastTick = {System.nanoTime()};
+            rateTask = rateExecutor.scheduleAtFixedRate(() -> {
+                long now = System.nanoTime();
+                long elapsedNanos = (long) ((now - lastTick[0]) * this.rate);
+                lastTick[0] = now;
+                Platform.runLater(() -> advanceOnFxThread(elapsedNanos));
+            }, FRAME_IN_NANOS, FRAME_IN_NANOS, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void advance(long duration, TimeUnit timeUnit) {
+        if (!virtualTime) {
+            throw new IllegalStateException("animation clock is not in virtual time");
+        }
+        runOnFxThread(() -> advanceOnFxThread(timeUnit.toNanos(duration)));
+    }
+
+    private void advanceOnFxThread(long nanos) {
+        if (!virtualTime) {
+            return;
+        }
+        try {
+            for (long remainingNanos = nanos; remainingNanos > 0; remainingNanos -= FRAME_IN_NANOS) {
+                long now = pausedTime.getLong(timer) + Math.min(remainingNanos, FRAME_IN_NANOS);
+                pausedTime.setLong(timer, now);
+                timePulse.invoke(timer, now);
+            }
+        }
+        catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        catch (InvocationTargetException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private void initTimer() {
+        if (timer != null) {
+            return;
+        }
+        try {
+            Class<?> toolkitClass = Class.forName("com.sun.javafx.tk.Toolkit");
+            Method getTimer;
+            try {
+                getTimer = toolkitClass.getMethod("getPrimaryTimer");
+            }
+            catch (NoSuchMethodException e) {
+                getTimer = toolkitClass.getMethod("getMasterTimer");
+            }
+            Class<?> timerClass = getTimer.getReturnType();
+            pause = accessible(timerClass.getMethod("pause"));
+            resume = accessible(timerClass.getMethod("resume"));
+            timePulse = accessible(timerClass.getDeclaredMethod("timePulseImpl", long.class));
+            pausedTime = timerClass.getDeclaredField("startPauseTime");
+            pausedTime.setAccessible(true);
+            timer = getTimer.invoke(toolkitClass.getMethod("getToolkit").invoke(null));
+        }
+        catch (ReflectiveOperationException | RuntimeException e) {
+            throw new IllegalStateException("could not access the animation timer of JavaFX, the packages " +
+                    "com.sun.javafx.tk and com.sun.scenario.animation of javafx.graphics must be accessible", e);
+        }
+    }
+
+    private static Method accessible(Method method) {
+        method.setAccessible(true);
+        return method;
+    }
+
+    private void invoke(Method method) {
+        try {
+            method.invoke(timer);
+        }
+        catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+        catch (InvocationTargetException e) {
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    private static void runOnFxThread(Runnable runnable) {
+        if (Platform.isFxApplicationThread()) {
+            runnable.run();
+        }
+        else {
+            try {
+                waitFor(ADVANCE_TIMEOUT_IN_SECONDS, TimeUnit.SECONDS, asyncFx(runnable));
+            }
+            catch (TimeoutException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,135 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Creates the {@link ExecutorService} that runs the {@code async} methods of {@link WaitForAsyncUtils}. The kind of
+ * executor is selected by the {@code testfx.async.executor} property:
+ * <ul>
+ * <li>{@code cached} (the default): an unbounded pool of daemon threads that are reused while idle.
+ * <li>{@code bounded}: a pool of at most {@code testfx.async.pool_size} daemon threads (32 by default) and a queue of
+ * at most {@code testfx.async.queue_size} tasks (1024 by default). Further tasks are rejected according to the
+ * {@code testfx.async.rejection} property: {@code abort} (the default) throws a
+ * {@link java.util.concurrent.RejectedExecutionException}, {@code caller_runs} runs the task on the calling thread.
+ * <li>{@code virtual}: a new virtual thread per task on Java 21+, {@code cached} on older versions.
+ * </ul>
+ */
+final class AsyncExecutors {
+
+    private static final long KEEP_ALIVE_IN_SECONDS = 60;
+
+    private AsyncExecutors() {}
+
+    static ExecutorService create() {
+        return create(System.getProperty("testfx.async.executor", "cached"),
+                integerProperty("testfx.async.pool_size", 32),
+                integerProperty("testfx.async.queue_size", 1024),
+                System.getProperty("testfx.async.rejection", "abort"));
+    }
+
+    static ExecutorService create(String executor, int poolSize, int queueSize, String rejection) {
+        switch (executor) {
+            case "cached":
+                return Executors.newCachedThreadPool(new DefaultThreadFactory());
+            case "bounded":
+                return createBounded(poolSize, queueSize, rejection);
+            case "virtual":
+                return createVirtual();
+            default:
+                System.err.println("\"testfx.async.executor\" property must be \"cached\", \"bounded\" or " +
+                        "\"virtual\" but was: \"" + executor + "\".\nUsing default of \"cached\".");
+                return Executors.newCachedThreadPool(new DefaultThreadFactory());
+        }
+    }
+
+    private static ExecutorService createBounded(int poolSize, int queueSize, String rejection) {
+        RejectedExecutionHandler rejectedExecutionHandler;
+        switch (rejection) {
+            case "abort":
+                rejectedExecutionHandler = new ThreadPoolExecutor.AbortPolicy();
+                break;
+            case "caller_runs":
+                rejectedExecutionHandler = new ThreadPoolExecutor.CallerRunsPolicy();
+                break;
+            default:
+                System.err.println("\"testfx.async.rejection\" property must be \"abort\" or \"caller_runs\" " +
+                        "but was: \"" + rejection + "\".\nUsing default of \"abort\".");
+                rejectedExecutionHandler = new ThreadPoolExecutor.AbortPolicy();
+        }
+        ThreadPoolExecutor executor = new ThreadPoolExecutor(Math.max(1, poolSize), Math.max(1, poolSize),
+                KEEP_ALIVE_IN_SECONDS, TimeUnit.SECONDS, new LinkedBlockingQueue<>(Math.max(1, queueSize)),
+                new DefaultThreadFactory(), rejectedExecutionHandler);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    private static ExecutorService createVirtual() {
+        try {
+            // Thread.ofVirtual().name("testfx-async-virtual-thread-", 1).factory() (Java 21+)
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class)
+                    .invoke(builder, "testfx-async-virtual-thread-", 1L);
+            ThreadFactory threadFactory = (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                    .invoke(null, threadFactory);
+        }
+        catch (ReflectiveOperationException | RuntimeException e) {
+            System.err.println("\"testfx.async.executor\" property is \"virtual\" but virtual threads are not " +
+                    "available.\nUsing default of \"cached\".");
+            return Executors.newCachedThreadPool(new DefaultThreadFactory());
+        }
+    }
+
+    /**
+     * Returns the value of the integer property with the given {@code name}, or {@code defaultValue} if it is not
+     * set or not a number. Shared by the properties that configure the {@code async} methods.
+     */
+    static int integerProperty(String name, int defaultValue) {
+        try {
+            return Integer.getInteger(name, defaultValue);
+        }
+        catch (NumberFormatException e) {
+            System.err.println("\"" + name + "\" property must be a number but was: \"" +
+                    System.getProperty(name) + "\".\nUsing default of \"" + defaultValue + "\".");
+            e.printStackTrace();
+            return defaultValue;
+        }
+    }
+
+    private static class DefaultThreadFactory implements ThreadFactory {
+        private final AtomicInteger threadCount = new AtomicInteger(1);
+
+        @Override
+        public Thread newThread(Runnable r) {
+            final Thread thread = new Thread(r);
+            thread.setDaemon(true);
+            thread.setName(String.format("testfx-async-pool-thread-%d", threadCount.getAndIncrement()));
+            return thread;
+        }
+    }
+
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+/**
+ * Captures the call sites of the {@code async} methods of {@link WaitForAsyncUtils}, so that the trace of the
+ * caller can be printed when the asynchronous task fails. The trace is only materialised into
+ * {@link StackTraceElement}s when it is requested, i.e. when an exception occurs.
+ * <p>
+ * The {@link Mode} is selected by the {@code testfx.async.call_site} property ({@code full}, {@code bounded},
+ * {@code sampled} or {@code off}), and defaults to {@link Mode#FULL}.
+ */
+final class CallSiteCapture {
+
+    /**
+     * The ways in which call sites can be captured.
+     */
+    enum Mode {
+
+        /**
+         * Captures every call site with all of its frames. On Java 9+ the frames are walked using a
+         * {@code StackWalker} instead of creating a {@link Throwable} per call.
+         */
+        FULL,
+
+        /**
+         * Captures every call site with at most {@code testfx.async.call_site_depth} frames (32 by default). On
+         * Java 9+ only these frames are walked, using a {@code StackWalker}.
+         */
+        BOUNDED,
+
+        /**
+         * Captures every {@code testfx.async.call_site_sample_interval}th call site (every 16th by default) with
+         * all of its frames.
+         */
+        SAMPLED,
+
+        /**
+         * Does not capture call sites.
+         */
+        OFF
+
+    }
+
+    static final CallSiteCapture DEFAULT;
+    private static final String CLASS_NAME = CallSiteCapture.class.getName();
+    private static final MethodHandle STACK_WALKER_WALK;
+    private static final MethodHandle STACK_FRAME_GET_CLASS_NAME;
+    private static final MethodHandle STACK_FRAME_TO_STACK_TRACE_ELEMENT;
+
+    static {
+        MethodHandle walk = null;
+        MethodHandle getClassName = null;
+        MethodHandle toStackTraceElement = null;
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            Class<?> stackWalkerClass = Class.forName("java.lang.StackWalker");
+            Class<?> stackFrameClass = Class.forName("java.lang.StackWalker$StackFrame");
+            Object stackWalker = lookup.findStatic(stackWalkerClass, "getInstance",
+                    MethodType.methodType(stackWalkerClass)).invoke();
+            walk = lookup.findVirtual(stackWalkerClass, "walk",
+                    MethodType.methodType(Object.class, Function.class)).bindTo(stackWalker);
+            getClassName = lookup.findVirtual(stackFrameClass, "getClassName",
+                    MethodType.methodType(String.class));
+            toStackTraceElement = lookup.findVirtual(stackFrameClass, "toStackTraceElement",
+                    MethodType.methodType(StackTraceElement.class));
+        }
+        catch (Throwable ignored) {
+            // Java 8: captures fall back to a throwable whose trace is trimmed when materialised.
+            walk = null;
+        }
+        STACK_WALKER_WALK = walk;
+        STACK_FRAME_GET_CLASS_NAME = getClassName;
+        STACK_FRAME_TO_STACK_TRACE_ELEMENT = toStackTraceElement;
+    }
+
+    static {
+        String callSite = System.getProperty("testfx.async.call_site", "full");
+        Mode mode;
+        switch (callSite) {
+            case "full":
+                mode = Mode.FULL;
+                break;
+            case "bounded":
+                mode = Mode.BOUNDED;
+                break;
+            case "sampled":
+                mode = Mode.SAMPLED;
+                break;
+            case "off":
+                mode = Mode.OFF;
+                break;
+            default:
+                System.err.println("\"testfx.async.call_site\" property must be \"full\", \"bounded\", \"sampled\" " +
+                        "or \"off\" but was: \"" + callSite + "\".\nUsing default of \"full\".");
+                mode = Mode.FULL;
+        }
+        DEFAULT = new CallSiteCapture(mode, AsyncExecutors.integerProperty("testfx.async.call_site_depth", 32),
+                AsyncExecutors.integerProperty("testfx.async.call_site_sample_interval", 16));
+    }
+
+    private final Mode mode;
+    private final int depth;
+    private final int sampleInterval;
+    private final AtomicLong calls = new AtomicLong();
+
+    CallSiteCapture(Mode mode, int depth, int sampleInterval) {
+        this.mode = mode;
+        this.depth = Math.max(1, depth);
+        this.sampleInterval = Math.max(1, sampleInterval);
+    }
+
+    Mode getMode() {
+        return mode;
+    }
+
+    /**
+     * Captures the call site of the caller, returning a supplier of its trace, or {@code null} if the call site is
+     * not captured.
+     */
+    Supplier<StackTraceElement[]> capture() {
+        switch (mode) {
+            case FULL:
+                return STACK_WALKER_WALK != null ? walkFrames(Integer.MAX_VALUE) :
+                        new LazyTrace(new Throwable(), Integer.MAX_VALUE);
+            case BOUNDED:
+                return STACK_WALKER_WALK != null ? walkFrames(depth) : new LazyTrace(new Throwable(), depth);
+            case SAMPLED:
+                return calls.getAndIncrement() % sampleInterval == 0 ?
+                        new LazyTrace(new Throwable(), Integer.MAX_VALUE) : null;
+            default:
+                return null;
+        }
+    }
+
+    private static Supplier<StackTraceElement[]> walkFrames(int maxFrames) {
+        Object[] frames;
+        try {
+            Function<Stream<Object>, Object[]> function = stream -> stream
+                    .filter(frame -> !CLASS_NAME.equals(frameClassName(frame)))
+                    .limit(maxFrames)
+                    .toArray();
+            frames = (Object[]) STACK_WALKER_WALK.invoke(function);
+        }
+        catch (Throwable throwable) {
+            return new LazyTrace(new Throwable(), maxFrames);
+        }
+        return () -> {
+            StackTraceElement[] trace = new StackTraceElement[frames.length];
+            for (int i = 0; i < frames.length; i++) {
+                trace[i] = toStackTraceElement(frames[i]);
+            }
+            return trace;
+        };
+    }
+
+    private static String frameClassName(Object frame) {
+        try {
+            return (String) STACK_FRAME_GET_CLASS_NAME.invoke(frame);
+        }
+        catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    private static StackTraceElement toStackTraceElement(Object frame) {
+        try {
+            return (StackTraceElement) STACK_FRAME_TO_STACK_TRACE_ELEMENT.invoke(frame);
+        }
+        catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    /**
+     * The trace of a {@link Throwable} created at the call site. The JVM records the frames when the throwable is
+     * created, but only converts them to {@link StackTraceElement}s when they are first requested.
+     */
+    private static final class LazyTrace implements Supplier<StackTraceElement[]> {
+
+        private final Throwable callSite;
+        private final int depth;
+
+        private LazyTrace(Throwable callSite, int depth) {
+            this.callSite = callSite;
+            this.depth = depth;
+        }
+
+        @Override
+        public StackTraceElement[] get() {
+            List<StackTraceElement> trace = new ArrayList<>(Arrays.asList(callSite.getStackTrace()));
+            trace.removeIf(element -> CLASS_NAME.equals(element.getClassName()));
+            return trace.subList(0, Math.min(depth, trace.size())).toArray(new StackTraceElement[0]);
+        }
+    }
+
+}
@@ -17,15 +17,23 @@
 package org.testfx.util;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Locale;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
 import javafx.scene.paint.Color;
 import javafx.util.Pair;
 
 /**
  * Contains {@link javafx.scene.paint.Color} utility methods.
+ * <p>
+ * Named colors are looked up by name and by value in hash maps. The closest named color of a color is looked up
+ * in a grid of 32x32x32 cells over the RGB cube, where each cell holds the few named colors that can be closest
+ * to a color inside of it, so that only those need to be compared.
  *
  * @see <a href="https://docs.oracle.com/javase/9/docs/api/javafx/scene/doc-files/cssref.html#typecolor">Named Colors</a>
  */
@@ -174,6 +182,16 @@ public final class ColorUtils {
         NAMED_COLORS.add(new Pair<>("YELLOWGREEN", Color.YELLOWGREEN));
     }
 
+    private static final Map<String, Pair<String, Color>> NAMED_COLORS_BY_NAME = new HashMap<>();
+    private static final Map<Color, Pair<String, Color>> NAMED_COLORS_BY_COLOR = new HashMap<>();
+    static {
+        // the first of two named colors with the same value (e.g. "AQUA" and "CYAN") wins, as in a linear search.
+        for (Pair<String, Color> namedColorPair : NAMED_COLORS) {
+            NAMED_COLORS_BY_NAME.putIfAbsent(namedColorPair.getKey(), namedColorPair);
+            NAMED_COLORS_BY_COLOR.putIfAbsent(namedColorPair.getValue(), namedColorPair);
+        }
+    }
+
     private ColorUtils() {}
 
     /**
@@ -187,18 +205,7 @@ public final class ColorUtils {
      */
     private static String getClosestNamedColor(int r, int g, int b) {
         checkColorTriple(r, g, b);
-        Pair<String, Color> closestColorPair = NAMED_COLORS.get(0); // Pick something to start with.
-        double minDistanceSeen = Integer.MAX_VALUE;
-        for (Pair<String, Color> namedColorPair : NAMED_COLORS) {
-            double distance = calculateColorDistSq(Color.color(
-                    r / 255.0, g / 255.0, b / 255.0), namedColorPair.getValue());
-            if (distance < minDistanceSeen) {
-                minDistanceSeen = distance;
-                closestColorPair = namedColorPair;
-            }
-        }
-
-        return closestColorPair.getKey();
+        return NAMED_COLORS.get(ClosestNamedColorIndex.closestNamedColor(r, g, b)).getKey();
     }
 
     /**
@@ -226,8 +233,51 @@ public final class ColorUtils {
      */
     public static Color getClosestNamedColor(Color color) {
         Objects.requireNonNull(color, "color must not be null");
-        return Color.valueOf(getClosestNamedColor((int) (color.getRed() * 255d), (int) (color.getGreen() * 255d),
-                (int) (color.getBlue() * 255d)));
+        int r = (int) (color.getRed() * 255d);
+        int g = (int) (color.getGreen() * 255d);
+        int b = (int) (color.getBlue() * 255d);
+        checkColorTriple(r, g, b);
+        return NAMED_COLORS.get(ClosestNamedColorIndex.closestNamedColor(r, g, b)).getValue();
+    }
+
+    /**
+     * Returns the names of the named colors that are closest to each of the given ARGB color values, e.g. the
+     * pixels of an image read with {@link PixelFormat#getIntArgbInstance()}. The alpha component is ignored.
+     *
+     * @param argbs the ARGB color values to find the closest named colors for
+     * @return the names of the closest named colors, in the order of the given color values
+     */
+    public static String[] getClosestNamedColors(int[] argbs) {
+        Objects.requireNonNull(argbs, "argbs must not be null");
+        String[] namedColors = new String[argbs.length];
+        int lastRgb = -1;
+        String lastNamedColor = null;
+        for (int i = 0; i < argbs.length; i++) {
+            int rgb = argbs[i] & 0xFFFFFF;
+            if (rgb != lastRgb) {
+                lastRgb = rgb;
+                lastNamedColor = NAMED_COLORS.get(ClosestNamedColorIndex.closestNamedColor(
+                    rgb >> 16, (rgb >> 8) & 0xFF, rgb & 0xFF)).getKey();
+            }
+            namedColors[i] = lastNamedColor;
+        }
+        return namedColors;
+    }
+
+    /**
+     * Returns the names of the named colors that are closest to each of the pixels of the given {@code image},
+     * row by row.
+     *
+     * @param image the image to find the closest named colors for
+     * @return the names of the closest named colors, {@code width * height} in row-major order
+     */
+    public static String[] getClosestNamedColors(Image image) {
+        Objects.requireNonNull(image, "image must not be null");
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        int[] argbs = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), argbs, 0, width);
+        return getClosestNamedColors(argbs);
     }
 
     /**
@@ -243,12 +293,7 @@ public final class ColorUtils {
      */
     private static Optional<String> getNamedColor(int r, int g, int b) {
         checkColorTriple(r, g, b);
-        for (Pair<String, Color> namedColorPair : NAMED_COLORS) {
-            if (Color.rgb(r, g, b).equals(namedColorPair.getValue())) {
-                return Optional.of(namedColorPair.getKey());
-            }
-        }
-        return Optional.empty();
+        return Optional.ofNullable(NAMED_COLORS_BY_COLOR.get(Color.rgb(r, g, b))).map(Pair::getKey);
     }
 
     /**
@@ -262,13 +307,7 @@ public final class ColorUtils {
      */
     public static Optional<Color> getNamedColor(String name) {
         Objects.requireNonNull(name, "name must not be null");
-        for (Pair<String, Color> namedColorPair : NAMED_COLORS) {
-            if (name.toUpperCase(Locale.US).equals(namedColorPair.getKey())) {
-                return Optional.of(namedColorPair.getValue());
-            }
-        }
-
-        return Optional.empty();
+        return Optional.ofNullable(NAMED_COLORS_BY_NAME.get(name.toUpperCase(Locale.US))).map(Pair::getValue);
     }
 
     /**
@@ -282,13 +321,7 @@ public final class ColorUtils {
      */
     public static Optional<Color> getNamedColor(Color color) {
         Objects.requireNonNull(color, "color must not be null");
-        for (Pair<String, Color> namedColorPair : NAMED_COLORS) {
-            if (color.equals(namedColorPair.getValue())) {
-                return Optional.of(namedColorPair.getValue());
-            }
-        }
-
-        return Optional.empty();
+        return Optional.ofNullable(NAMED_COLORS_BY_COLOR.get(color)).map(Pair::getValue);
     }
 
     /**
@@ -338,4 +371,103 @@ public final class ColorUtils {
         }
     }
 
+    /**
+     * A grid of 32x32x32 cells over the RGB cube, each holding the indices of the named colors whose distance to
+     * some color of the cell may be the smallest. Built on first use.
+     */
+    private static final class ClosestNamedColorIndex {
+
+        private static final int CELL_BITS = 3;
+        private static final int CELL_SIZE = 1 << CELL_BITS;
+        private static final int CELLS_PER_AXIS = 256 / CELL_SIZE;
+
+        private static final int[] NAMED_RGBS = new int[NAMED_COLORS.size()];
+        private static final int[][] CELL_CANDIDATES = new int[CELLS_PER_AXIS * CELLS_PER_AXIS * CELLS_PER_AXIS][];
+        static {
+            for (int i = 0; i < NAMED_RGBS.length; i++) {
+                Color color = NAMED_COLORS.get(i).getValue();
+                NAMED_RGBS[i] = (int) Math.round(color.getRed() * 255) << 16 |
+                    (int) Math.round(color.getGreen() * 255) << 8 | (int) Math.round(color.getBlue() * 255);
+            }
+            int[] minDistances = new int[NAMED_RGBS.length];
+            for (int cell = 0; cell < CELL_CANDIDATES.length; cell++) {
+                int lowR = (cell / (CELLS_PER_AXIS * CELLS_PER_AXIS)) << CELL_BITS;
+                int lowG = ((cell / CELLS_PER_AXIS) % CELLS_PER_AXIS) << CELL_BITS;
+                int lowB = (cell % CELLS_PER_AXIS) << CELL_BITS;
+                // a named color can only be the closest to some color of the cell if its smallest distance to the
+                // cell is not larger than the largest distance of any named color to the cell.
+                int bound = Integer.MAX_VALUE;
+                int candidates = 0;
+                for (int i = 0; i < NAMED_RGBS.length; i++) {
+                    int rgb = NAMED_RGBS[i];
+                    minDistances[i] = minDistSq(rgb >> 16, lowR) + minDistSq((rgb >> 8) & 0xFF, lowG) +
+                        minDistSq(rgb & 0xFF, lowB);
+                    bound = Math.min(bound, maxDistSq(rgb >> 16, lowR) + maxDistSq((rgb >> 8) & 0xFF, lowG) +
+                        maxDistSq(rgb & 0xFF, lowB));
+                }
+                for (int minDistance : minDistances) {
+                    if (minDistance <= bound) {
+                        candidates++;
+                    }
+                }
+                int[] cellCandidates = new int[candidates];
+                for (int i = 0, j = 0; i < minDistances.length; i++) {
+                    if (minDistances[i] <= bound) {
+                        cellCandidates[j++] = i;
+                    }
+                }
+                CELL_CANDIDATES[cell] = cellCandidates;
+            }
+        }
+
+        /**
+         * Returns the index of the named color closest to the given RGB color value. Ties are resolved by the
+         * {@code double} distance of {@link #calculateColorDistSq(Color, Color)} and then by the order of the
+         * named colors, so that the result is the same as that of comparing against all named colors.
+         */
+        private static int closestNamedColor(int r, int g, int b) {
+            int[] candidates = CELL_CANDIDATES[((r >> CELL_BITS) * CELLS_PER_AXIS + (g >> CELL_BITS)) *
+                CELLS_PER_AXIS + (b >> CELL_BITS)];
+            int closest = candidates[0];
+            int minDistance = Integer.MAX_VALUE;
+            double minExactDistance = Double.NaN;
+            for (int candidate : candidates) {
+                int rgb = NAMED_RGBS[candidate];
+                int distance = sq(r - (rgb >> 16)) + sq(g - ((rgb >> 8) & 0xFF)) + sq(b - (rgb & 0xFF));
+                if (distance < minDistance) {
+                    closest = candidate;
+                    minDistance = distance;
+                    minExactDistance = Double.NaN;
+                }
+                else if (distance == minDistance) {
+                    Color color = Color.color(r / 255.0, g / 255.0, b / 255.0);
+                    if (Double.isNaN(minExactDistance)) {
+                        minExactDistance = calculateColorDistSq(color, NAMED_COLORS.get(closest).getValue());
+                    }
+                    double exactDistance = calculateColorDistSq(color, NAMED_COLORS.get(candidate).getValue());
+                    if (exactDistance < minExactDistance) {
+                        closest = candidate;
+                        minExactDistance = exactDistance;
+                    }
+                }
+            }
+            return closest;
+        }
+
+        private static int minDistSq(int value, int low) {
+            if (value < low) {
+                return sq(low - value);
+            }
+            return value > low + CELL_SIZE - 1 ? sq(value - low - CELL_SIZE + 1) : 0;
+        }
+
+        private static int maxDistSq(int value, int low) {
+            return Math.max(sq(value - low), sq(low + CELL_SIZE - 1 - value));
+        }
+
+        private static int sq(int value) {
+            return value * value;
+        }
+    }
+
 }
@@ -392,7 +392,7 @@ public final class DebugUtils {
      */
     public static Function<StringBuilder, StringBuilder> saveScreenshot(Supplier<Path> capturedImagePath,
                                                                         String indent) {
-        return saveTestImage(captureScreenshot(), capturedImagePath, indent);
+        return saveTestImage(captureScreenshot(), capturedImagePath, indent, true);
     }
 
     /**
@@ -409,7 +409,7 @@ public final class DebugUtils {
     public static Function<StringBuilder, StringBuilder> saveScreenshot(Screen screen,
                                                                         Supplier<Path> capturedImagePath,
                                                                         String indent) {
-        return saveTestImage(captureScreenshot(screen), capturedImagePath, indent);
+        return saveTestImage(captureScreenshot(screen), capturedImagePath, indent, true);
     }
 
     /**
@@ -428,7 +428,7 @@ public final class DebugUtils {
     public static Function<StringBuilder, StringBuilder> saveScreenshot(int screenIndex,
                                                                         Supplier<Path> capturedImagePath,
                                                                         String indent) {
-        return saveTestImage(captureScreenshot(screenIndex), capturedImagePath, indent);
+        return saveTestImage(captureScreenshot(screenIndex), capturedImagePath, indent, true);
     }
 
     /**
@@ -465,7 +465,7 @@ public final class DebugUtils {
      */
     public static Function<StringBuilder, StringBuilder> saveWindow(Window window, Supplier<Path> capturedImagePath,
                                                                     String indent) {
-        return saveTestImage(captureWindow(window), capturedImagePath, indent);
+        return saveTestImage(captureWindow(window), capturedImagePath, indent, true);
     }
 
     /**
@@ -489,7 +489,7 @@ public final class DebugUtils {
      */
     public static Function<StringBuilder, StringBuilder> saveBounds(Bounds bounds, Supplier<Path> capturedImagePath,
                                                                     String indent) {
-        return saveTestImage(captureBounds(bounds), capturedImagePath, indent);
+        return saveTestImage(captureBounds(bounds), capturedImagePath, indent, true);
     }
 
     /**
@@ -514,7 +514,7 @@ public final class DebugUtils {
      */
     public static Function<StringBuilder, StringBuilder> saveBounds(Rectangle2D bounds,
                                                                     Supplier<Path> capturedImagePath, String indent) {
-        return saveTestImage(captureBounds(bounds), capturedImagePath, indent);
+        return saveTestImage(captureBounds(bounds), capturedImagePath, indent, true);
     }
 
     /**
@@ -537,7 +537,7 @@ public final class DebugUtils {
     public static Function<StringBuilder, StringBuilder> saveNode(Node node,
                                                                   Supplier<Path> capturedImagePath,
                                                                   String indent) {
-        return saveTestImage(captureNode(node), capturedImagePath, indent);
+        return saveTestImage(captureNode(node), capturedImagePath, indent, true);
     }
 
     /**
@@ -546,12 +546,27 @@ public final class DebugUtils {
     public static Function<StringBuilder, StringBuilder> saveTestImage(Function<CaptureSupport, Image> captureImage,
                                                                        Supplier<Path> capturedImagePath,
                                                                        String indent) {
+        return saveTestImage(captureImage, capturedImagePath, indent, false);
+    }
+
+    /**
+     * Saves the captured image to the supplied path and, if {@code releaseImage} is {@code true}, hands the image
+     * back to the {@link CaptureSupport} afterwards. Only images that were captured by one of the "capture"-prefixed
+     * methods may be released, as no one else holds on to them.
+     */
+    private static Function<StringBuilder, StringBuilder> saveTestImage(Function<CaptureSupport, Image> captureImage,
+                                                                        Supplier<Path> capturedImagePath,
+                                                                        String indent,
+                                                                        boolean releaseImage) {
         return sb -> {
             CaptureSupport captureSupport = FxService.serviceContext().getCaptureSupport();
             Image errorImage = captureImage.apply(captureSupport);
 
             Path path = capturedImagePath.get();
             captureSupport.saveImage(errorImage, path);
+            if (releaseImage) {
+                captureSupport.releaseImage(errorImage);
+            }
             insertContent("Test image saved at:", path.toAbsolutePath().toString(), indent).apply(sb);
             return sb;
         };
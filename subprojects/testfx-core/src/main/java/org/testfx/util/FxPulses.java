@@ -0,0 +1,176 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.Collections;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import javafx.application.Platform;
+import javafx.scene.Scene;
+import javafx.stage.Window;
+
+import static org.testfx.internal.JavaVersionAdapter.getWindows;
+
+/**
+ * Notifies listeners of the pulses of the scenes of the showing windows. The pulses are observed through
+ * {@code Scene.addPostLayoutPulseListener(Runnable)}, i.e. after the CSS and layout passes, which is only
+ * available on Java 9+. On Java 8 no pulses are reported. Listeners are notified once per pulse, however many
+ * scenes took part in it, on the "JavaFX Application Thread" right after the pulse.
+ * <p>
+ * A listener is added to the scenes of the windows that are showing when {@link #install()} runs, and stays until the
+ * scene is garbage collected. It only counts the pulses, and only posts an event to notify the listeners while there
+ * are any.
+ */
+final class FxPulses {
+
+    private static final MethodHandle ADD_POST_LAYOUT_PULSE_LISTENER;
+    private static final MethodHandle REQUEST_NEXT_PULSE;
+    private static final Set<Scene> SCENES = Collections.newSetFromMap(new WeakHashMap<>());
+    private static final Set<Runnable> LISTENERS = new CopyOnWriteArraySet<>();
+    private static final AtomicLong PULSE_COUNT = new AtomicLong();
+    private static final AtomicBoolean INSTALL_PENDING = new AtomicBoolean();
+    private static boolean pulsePending;
+
+    static {
+        MethodHandle addPostLayoutPulseListener;
+        MethodHandle requestNextPulse;
+        try {
+            addPostLayoutPulseListener = MethodHandles.publicLookup().findVirtual(Scene.class,
+                    "addPostLayoutPulseListener", MethodType.methodType(void.class, Runnable.class));
+            requestNextPulse = MethodHandles.publicLookup().findStatic(Platform.class,
+                    "requestNextPulse", MethodType.methodType(void.class));
+        }
+        catch (NoSuchMethodException | IllegalAccessException e) {
+            addPostLayoutPulseListener = null;
+            requestNextPulse = null;
+        }
+        ADD_POST_LAYOUT_PULSE_LISTENER = addPostLayoutPulseListener;
+        REQUEST_NEXT_PULSE = requestNextPulse;
+    }
+
+    private FxPulses() {}
+
+    /**
+     * Returns whether pulses are reported on this Java version.
+     */
+    static boolean isSupported() {
+        return ADD_POST_LAYOUT_PULSE_LISTENER != null;
+    }
+
+    /**
+     * Returns the number of scene pulses that have been observed so far, counting every scene that took part in
+     * a pulse.
+     */
+    static long getPulseCount() {
+        return PULSE_COUNT.get();
+    }
+
+    static void addListener(Runnable listener) {
+        LISTENERS.add(listener);
+    }
+
+    static void removeListener(Runnable listener) {
+        LISTENERS.remove(listener);
+    }
+
+    /**
+     * Adds the pulse listener to the scenes of the showing windows that do not have it yet. Runs on the
+     * "JavaFX Application Thread", later if called from another thread, unless an install is already pending.
+     * Does nothing if the toolkit is not initialized.
+     */
+    static void install() {
+        if (!isSupported()) {
+            return;
+        }
+        if (!Platform.isFxApplicationThread()) {
+            // an install that is already pending also adds the listener to the scenes that are showing now.
+            if (INSTALL_PENDING.compareAndSet(false, true)) {
+                try {
+                    Platform.runLater(FxPulses::install);
+                }
+                catch (IllegalStateException ignore) {
+                    // the toolkit is not initialized, so there are no windows whose pulses could be observed.
+                    INSTALL_PENDING.set(false);
+                }
+            }
+            return;
+        }
+        INSTALL_PENDING.set(false);
+        for (Window window : getWindows()) {
+            Scene scene = window.getScene();
+            if (window.isShowing() && scene != null && SCENES.add(scene)) {
+                try {
+                    ADD_POST_LAYOUT_PULSE_LISTENER.invoke(scene, (Runnable) FxPulses::pulse);
+                }
+                catch (Throwable throwable) {
+                    throw new IllegalStateException(throwable);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns whether any window shows a scene whose pulses can be observed. Must be called on the "JavaFX
+     * Application Thread".
+     */
+    static boolean hasShowingScenes() {
+        for (Window window : getWindows()) {
+            if (window.isShowing() && window.getScene() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Requests a pulse even if nothing needs to be laid out or rendered, see {@code Platform.requestNextPulse()}.
+     */
+    static void requestPulse() {
+        if (!isSupported()) {
+            return;
+        }
+        try {
+            REQUEST_NEXT_PULSE.invoke();
+        }
+        catch (Throwable throwable) {
+            throw new IllegalStateException(throwable);
+        }
+    }
+
+    private static void pulse() {
+        PULSE_COUNT.incrementAndGet();
+        // the post layout listeners of all scenes run in the same pulse, so notify once it has finished.
+        if (!pulsePending && !LISTENERS.isEmpty()) {
+            pulsePending = true;
+            Platform.runLater(FxPulses::firePulse);
+        }
+    }
+
+    private static void firePulse() {
+        pulsePending = false;
+        for (Runnable listener : LISTENERS) {
+            listener.run();
+        }
+    }
+
+}
@@ -16,14 +16,19 @@
  */
 package org.testfx.util;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Objects;
 import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
@@ -44,6 +49,20 @@ import static org.testfx.internal.JavaVersionAdapter.isNotVisible;
 
 public final class NodeQueryUtils {
 
+    /**
+     * The order in which the nodes of a scene-graph are visited by {@link #traverse(Node, TraversalOrder, Predicate)}.
+     */
+    public enum TraversalOrder {
+        /**
+         * Visits a node before its children and its children's subtrees before its next sibling (pre-order).
+         */
+        DEPTH_FIRST,
+        /**
+         * Visits all nodes of a level before the nodes of the next level (level-order).
+         */
+        BREADTH_FIRST
+    }
+
     private NodeQueryUtils() {}
 
     /**
@@ -106,6 +125,14 @@ public final class NodeQueryUtils {
         return parentNode -> lookupWithPredicate(parentNode, predicate);
     }
 
+    /**
+     * Returns a function that returns a {@code Set} of all {@code Node}s that pass the given {@code predicate},
+     * in the given traversal {@code order}.
+     */
+    public static Function<Node, Set<Node>> byPredicate(Predicate<Node> predicate, TraversalOrder order) {
+        return parentNode -> lookupWithPredicate(parentNode, predicate, order);
+    }
+
     /**
      * Returns a function that returns a {@code Set} of all {@code Node}s that match the given {@code matcher}.
      */
@@ -163,6 +190,87 @@ public final class NodeQueryUtils {
         return input -> combine(input, functions);
     }
 
+    /**
+     * Returns a {@code Spliterator} over the nodes, in depth-first order, of the given {@code parentNode} and its
+     * descendants that pass the given {@code predicate}. The scene-graph is only traversed as far as the
+     * returned {@code Spliterator} is advanced.
+     */
+    public static Spliterator<Node> lookupLazily(Node parentNode, Predicate<Node> predicate) {
+        Spliterator<Node> nodes = traversal(parentNode, TraversalOrder.DEPTH_FIRST);
+        return new Spliterators.AbstractSpliterator<Node>(Long.MAX_VALUE, Spliterator.DISTINCT |
+                Spliterator.NONNULL | Spliterator.ORDERED) {
+            private Node currentNode;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Node> action) {
+                while (nodes.tryAdvance(node -> currentNode = node)) {
+                    if (applyPredicateSafely(predicate, currentNode)) {
+                        action.accept(currentNode);
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * Returns a {@code Spliterator} that visits the given {@code parentNode} and its descendants in the given
+     * {@code order}. The scene-graph is only traversed as far as the returned {@code Spliterator} is advanced.
+     */
+    public static Spliterator<Node> traversal(Node parentNode, TraversalOrder order) {
+        Deque<Node> pendingNodes = new ArrayDeque<>();
+        pendingNodes.add(parentNode);
+        return new Spliterators.AbstractSpliterator<Node>(Long.MAX_VALUE, Spliterator.DISTINCT |
+                Spliterator.NONNULL | Spliterator.ORDERED) {
+            @Override
+            public boolean tryAdvance(Consumer<? super Node> action) {
+                if (pendingNodes.isEmpty()) {
+                    return false;
+                }
+                Node node = nextPendingNode(pendingNodes, order);
+                action.accept(node);
+                return true;
+            }
+        };
+    }
+
+    /**
+     * Visits the given {@code parentNode} and its descendants in the given {@code order} until the given
+     * {@code visitor} returns {@code false}.
+     * <p>
+     * The traversal uses an explicit stack (or queue) instead of recursion, so it neither allocates per node
+     * nor overflows the call stack on deep scene-graphs.
+     */
+    public static void traverse(Node parentNode, TraversalOrder order, Predicate<Node> visitor) {
+        Deque<Node> pendingNodes = new ArrayDeque<>();
+        pendingNodes.add(parentNode);
+        while (!pendingNodes.isEmpty()) {
+            if (!visitor.test(nextPendingNode(pendingNodes, order))) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Removes the next node to visit from the given {@code pendingNodes} and adds its children in its place.
+     */
+    private static Node nextPendingNode(Deque<Node> pendingNodes, TraversalOrder order) {
+        Node node = order == TraversalOrder.DEPTH_FIRST ? pendingNodes.pollLast() : pendingNodes.pollFirst();
+        if (node instanceof Parent) {
+            List<Node> childNodes = ((Parent) node).getChildrenUnmodifiable();
+            if (order == TraversalOrder.DEPTH_FIRST) {
+                for (int i = childNodes.size() - 1; i >= 0; i--) {
+                    pendingNodes.addLast(childNodes.get(i));
+                }
+            }
+            else {
+                pendingNodes.addAll(childNodes);
+            }
+        }
+        return node;
+    }
+
     private static Parent fromWindow(Window window) {
         return window.getScene().getRoot();
     }
@@ -184,16 +292,17 @@ public final class NodeQueryUtils {
     }
 
     private static Set<Node> lookupWithPredicate(Node parentNode, Predicate<Node> predicate) {
+        return lookupWithPredicate(parentNode, predicate, TraversalOrder.DEPTH_FIRST);
+    }
+
+    private static Set<Node> lookupWithPredicate(Node parentNode, Predicate<Node> predicate, TraversalOrder order) {
         Set<Node> resultNodes = new LinkedHashSet<>();
-        if (applyPredicateSafely(predicate, parentNode)) {
-            resultNodes.add(parentNode);
-        }
-        if (parentNode instanceof Parent) {
-            List<Node> childNodes = ((Parent) parentNode).getChildrenUnmodifiable();
-            for (Node childNode : childNodes) {
-                resultNodes.addAll(lookupWithPredicate(childNode, predicate));
+        traverse(parentNode, order, node -> {
+            if (applyPredicateSafely(predicate, node)) {
+                resultNodes.add(node);
             }
-        }
+            return true;
+        });
         return Collections.unmodifiableSet(resultNodes);
     }
 
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import javafx.geometry.Point2D;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.paint.Color;
+
+/**
+ * Samples the colors of many pixels from a single capture of the region that bounds all of them, instead of
+ * capturing each pixel on its own.
+ */
+public final class PixelSamplingUtils {
+
+    private PixelSamplingUtils() {}
+
+    /**
+     * Returns the smallest region with integer bounds that contains all of the given {@code locations}. The region
+     * is at least 2x2 pixels large, as some robots cannot capture smaller (scaled) regions.
+     */
+    public static Rectangle2D boundsOf(Collection<Point2D> locations) {
+        if (locations.isEmpty()) {
+            throw new IllegalArgumentException("locations must not be empty");
+        }
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (Point2D location : locations) {
+            minX = Math.min(minX, Math.floor(location.getX()));
+            minY = Math.min(minY, Math.floor(location.getY()));
+            maxX = Math.max(maxX, Math.floor(location.getX()));
+            maxY = Math.max(maxY, Math.floor(location.getY()));
+        }
+        return new Rectangle2D(minX, minY, Math.max(maxX - minX + 1, 2), Math.max(maxY - minY + 1, 2));
+    }
+
+    /**
+     * Captures the region that bounds all of the given {@code locations} once with the given
+     * {@code captureRegion} function and returns the colors of the pixels at the locations.
+     *
+     * @param locations the locations of the pixels
+     * @param captureRegion captures a region in the same coordinates as the locations
+     * @return the colors of the pixels, in the order of the given locations
+     */
+    public static List<Color> capturePixelColors(Collection<Point2D> locations,
+                                                 Function<Rectangle2D, Image> captureRegion) {
+        Objects.requireNonNull(locations, "locations must not be null");
+        if (locations.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Rectangle2D region = boundsOf(locations);
+        return readPixelColors(captureRegion.apply(region), region, locations);
+    }
+
+    /**
+     * Returns the colors of the pixels at the given {@code locations} of the given {@code image}, which is a
+     * capture of the given {@code region}. The image may be scaled relative to the region.
+     *
+     * @param image the capture of the region
+     * @param region the captured region, in the same coordinates as the locations
+     * @param locations the locations of the pixels, all inside of the region
+     * @return the colors of the pixels, in the order of the given locations
+     */
+    public static List<Color> readPixelColors(Image image, Rectangle2D region, Collection<Point2D> locations) {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        int[] argbs = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), argbs, 0, width);
+        double scaleX = width / region.getWidth();
+        double scaleY = height / region.getHeight();
+        List<Color> colors = new ArrayList<>(locations.size());
+        for (Point2D location : locations) {
+            int x = clamp((int) ((Math.floor(location.getX()) - region.getMinX()) * scaleX), width);
+            int y = clamp((int) ((Math.floor(location.getY()) - region.getMinY()) * scaleY), height);
+            int argb = argbs[y * width + x];
+            colors.add(Color.rgb((argb >> 16) & 0xFF, (argb >> 8) & 0xFF, argb & 0xFF, ((argb >> 24) & 0xFF) / 255d));
+        }
+        return colors;
+    }
+
+    private static int clamp(int value, int size) {
+        return Math.max(0, Math.min(value, size - 1));
+    }
+
+}
@@ -16,9 +16,8 @@
  */
 package org.testfx.util;
 
-import java.time.Duration;
-import java.time.Instant;
-import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
 import java.util.Queue;
 import java.util.concurrent.Callable;
@@ -26,19 +25,27 @@ import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.Semaphore;
-import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 import javafx.application.Platform;
+import javafx.beans.InvalidationListener;
+import javafx.beans.Observable;
 import javafx.beans.value.ChangeListener;
 import javafx.beans.value.ObservableBooleanValue;
+import javafx.beans.value.ObservableValue;
+import javafx.scene.Scene;
+import javafx.stage.Window;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.testfx.internal.JavaVersionAdapter.getWindows;
 
 /**
  * Provides static methods for handling execution on different threads. The
@@ -76,15 +83,79 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
  * somewhere in the application. If the field {@code autoCheckException} is set to
  * {@literal true}, any subsequent calls to one of the {@code async} methods will
  * throw one of those exceptions.
+ * <p>
+ * <strong>Waiting for FX Events</strong>
+ * <p>
+ * By default {@link #waitForFxEvents()} uses an idle detection that returns as soon as all work
+ * scheduled on the "FX application thread" by this class has run, no window is waiting for a
+ * layout pulse and this state has been observed on consecutive round trips to the "FX application
+ * thread". The previous behavior, which blocks the "FX application thread" with a semaphore and then
+ * sleeps a fixed amount of time per attempt, can be restored by setting the system property
+ * {@code testfx.wait.fx_events} to {@code semaphore}.
+ * <p>
+ * The idle detection only sees work that is already queued on the "FX application thread". Unlike the
+ * semaphore mode, it leaves no slack for native input events that the operating system (e.g. for the AWT
+ * or Glass robot) has not delivered to JavaFX yet. Tests that depend on such events arriving should wait
+ * for their effect with {@link #waitFor(long, TimeUnit, Callable)}, or use the semaphore mode.
+ * <p>
+ * <strong>Waiting for Pulses</strong>
+ * <p>
+ * On Java 9+, {@link #waitForPulses(int)} waits for a number of pulses (CSS, layout and rendering passes) of the
+ * showing scenes to complete, and {@link #waitForQuietPulse()} waits for a pulse after which the roots of the
+ * showing scenes need no layout, e.g. to let CSS and layout settle without guessing a sleep duration. Without a
+ * showing scene, there are no pulses to wait for and both call {@link #waitForFxEvents()} instead.
+ * <p>
+ * <strong>Executor</strong>
+ * <p>
+ * The {@code async} methods run on an unbounded pool of cached threads by default. A bounded pool or virtual
+ * threads can be selected by setting the system property {@code testfx.async.executor} to {@code bounded} or
+ * {@code virtual}, or any executor can be set with {@link #setExecutorService(ExecutorService)}. The number of
+ * running and leaked tasks is reported by {@link #getActiveTaskCount()} and {@link #getLeakedTaskCount()}.
+ * <p>
+ * <strong>Call Sites</strong>
+ * <p>
+ * The call site of every {@code async} method is captured, so that it can be printed along with any exception
+ * of the task. How much of the call site is captured is set by the system property
+ * {@code testfx.async.call_site}: {@code full} (the default), {@code bounded} to at most
+ * {@code testfx.async.call_site_depth} frames, {@code sampled} for every
+ * {@code testfx.async.call_site_sample_interval}th call or {@code off}.
  */
 public final class WaitForAsyncUtils {
 
     private static final long CONDITION_SLEEP_IN_MILLIS = 10;
+    private static final long CONDITION_POLL_MIN_IN_MILLIS = 1;
+    private static final long DEPENDENCIES_POLL_MAX_IN_MILLIS = 100;
+    private static final int SLOWEST_WAITS_COUNT = 16;
+    private static final long PULSE_TIMEOUT_IN_MILLIS = 5000;
     private static final long SEMAPHORE_SLEEP_IN_MILLIS = 10;
     private static final int SEMAPHORE_LOOPS_COUNT = 5;
+    private static final int IDLE_QUIET_ROUNDS_COUNT = 2;
+    private static final long IDLE_BACKOFF_IN_MILLIS = 1;
+    private static final boolean SEMAPHORE_FX_EVENTS_WAIT;
     private static final String PAINT_COLLECTOR = "com.sun.javafx.tk.quantum.PaintCollector";
-    private static final ExecutorService EXECUTOR_SERVICE = Executors.newCachedThreadPool(new DefaultThreadFactory());
+    private static volatile ExecutorService executorService = AsyncExecutors.create();
     private static final Queue<Throwable> EXCEPTIONS = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger PENDING_FX_TASKS = new AtomicInteger();
+    private static final AtomicInteger ACTIVE_TASKS = new AtomicInteger();
+    private static final AtomicInteger LEAKED_TASKS = new AtomicInteger();
+    private static final ThreadLocal<WaitStatistics> LAST_WAIT_STATISTICS = new ThreadLocal<>();
+    private static final List<WaitStatistics> SLOWEST_WAITS = new ArrayList<>();
+
+    static {
+        String fxEventsWait = System.getProperty("testfx.wait.fx_events", "idle");
+        switch (fxEventsWait) {
+            case "idle":
+                SEMAPHORE_FX_EVENTS_WAIT = false;
+                break;
+            case "semaphore":
+                SEMAPHORE_FX_EVENTS_WAIT = true;
+                break;
+            default:
+                System.err.println("\"testfx.wait.fx_events\" property must be \"idle\" or \"semaphore\" but was: \"" +
+                        fxEventsWait + "\".\nUsing default of \"idle\".");
+                SEMAPHORE_FX_EVENTS_WAIT = false;
+        }
+    }
 
     /**
      * If {@literal true} any exceptions encountered during execution of the
@@ -149,7 +220,7 @@ public final class WaitForAsyncUtils {
             checkExceptionWrapped();
         }
         Callable<Void> call = new ASyncFXCallable<>(runnable, true);
-        return EXECUTOR_SERVICE.submit(call);
+        return execute(new TrackedFutureTask<>(call));
     }
 
     /**
@@ -170,7 +241,7 @@ public final class WaitForAsyncUtils {
             checkExceptionWrapped();
         }
         Callable<Void> call = new ASyncFXCallable<>(runnable, throwExceptions);
-        return EXECUTOR_SERVICE.submit(call);
+        return execute(new TrackedFutureTask<>(call));
     }
 
     /**
@@ -190,8 +261,7 @@ public final class WaitForAsyncUtils {
             checkExceptionWrapped();
         }
         ASyncFXCallable<T> call = new ASyncFXCallable<>(callable, true);
-        EXECUTOR_SERVICE.submit((Runnable) call); // exception handling not guaranteed
-        return call;
+        return execute(call); // exception handling not guaranteed
     }
 
     /**
@@ -213,7 +283,7 @@ public final class WaitForAsyncUtils {
             checkExceptionWrapped();
         }
         Callable<T> call = new ASyncFXCallable<>(callable, throwExceptions);
-        return EXECUTOR_SERVICE.submit(call); // exception handling not guaranteed
+        return execute(new TrackedFutureTask<>(call)); // exception handling not guaranteed
     }
 
     /**
@@ -259,6 +329,39 @@ public final class WaitForAsyncUtils {
         return call;
     }
 
+    /**
+     * Sets the {@link ExecutorService} that runs the {@code async} methods, replacing the one selected by the
+     * {@code testfx.async.executor} property. The previous executor is shut down, but the tasks it has already
+     * accepted still run to completion.
+     *
+     * @param executorService the executor to run the {@code async} methods with
+     */
+    public static void setExecutorService(ExecutorService executorService) {
+        ExecutorService previousExecutorService = WaitForAsyncUtils.executorService;
+        WaitForAsyncUtils.executorService = Objects.requireNonNull(executorService, "executorService");
+        previousExecutorService.shutdown();
+    }
+
+    /**
+     * Returns the number of tasks of the {@code async} methods that are currently running.
+     *
+     * @return the number of running tasks
+     */
+    public static int getActiveTaskCount() {
+        return ACTIVE_TASKS.get();
+    }
+
+    /**
+     * Returns the number of tasks of the {@code async} and {@code asyncFx} methods that are still unfinished after
+     * a {@link #waitFor(long, TimeUnit, Future)} on them has timed out. Such tasks keep their thread busy, usually
+     * until they are blocked no longer.
+     *
+     * @return the number of leaked tasks
+     */
+    public static int getLeakedTaskCount() {
+        return LEAKED_TASKS.get();
+    }
+
     /**
      * Waits for the given {@link Future} to be set and then returns the
      * future result of type {@code T}.
@@ -296,6 +399,12 @@ public final class WaitForAsyncUtils {
         try {
             return future.get(timeout, timeUnit);
         }
+        catch (TimeoutException exception) {
+            if (future instanceof TrackedFutureTask) {
+                ((TrackedFutureTask<?>) future).leak();
+            }
+            throw exception;
+        }
         catch (ExecutionException exception) {
             // if the computation threw an exception.
             throw new RuntimeException(exception.getCause());
@@ -310,6 +419,9 @@ public final class WaitForAsyncUtils {
      * Waits for given {@link Callable} to return {@literal true} otherwise times out with
      * a {@link TimeoutException}. The condition will be evaluated at least once. This method
      * will wait for the last condition to finish after a timeout.
+     * <p>
+     * The condition is evaluated again after each pulse of a showing scene (on Java 9+), or otherwise
+     * after a polling interval that starts at one millisecond and doubles up to ten milliseconds.
      *
      * @param timeout the timeout to wait for
      * @param timeUnit the time unit {@code timeout} is in
@@ -318,12 +430,115 @@ public final class WaitForAsyncUtils {
      */
     public static void waitFor(long timeout, TimeUnit timeUnit, Callable<Boolean> condition)
             throws TimeoutException {
-        Instant start = Instant.now();
-        while (!callConditionAndReturnResult(condition)) {
-            sleep(CONDITION_SLEEP_IN_MILLIS, MILLISECONDS);
-            if (Duration.between(start, Instant.now()).compareTo(Duration.of(timeout, chronoUnit(timeUnit))) >= 0) {
-                throw new TimeoutException();
+        waitFor(timeout, timeUnit, condition, new Observable[0]);
+    }
+
+    /**
+     * Waits for given {@link Callable} to return {@literal true} otherwise times out with
+     * a {@link TimeoutException}. The condition will be evaluated at least once. This method
+     * will wait for the last condition to finish after a timeout.
+     * <p>
+     * The listeners on the {@code dependencies} are added and removed on the "JavaFX Application Thread", which
+     * is also where they are revalidated after each evaluation of the condition.
+     * <p>
+     * The condition is evaluated again as soon as one of the given {@code dependencies} is invalidated, after
+     * each pulse of a showing scene (on Java 9+), or otherwise after a polling interval that starts at one
+     * millisecond and doubles up to ten milliseconds, or up to a hundred milliseconds if there are dependencies.
+     * The statistics of the wait can be retrieved afterwards via {@link #lastWaitStatistics()}.
+     *
+     * @param timeout the timeout to wait for
+     * @param timeUnit the time unit {@code timeout} is in
+     * @param condition the condition to wait for to be {@literal true}
+     * @param dependencies the observables the condition depends on
+     * @throws TimeoutException if the wait timed out
+     */
+    public static void waitFor(long timeout, TimeUnit timeUnit, Callable<Boolean> condition,
+                               Observable... dependencies) throws TimeoutException {
+        long start = System.nanoTime();
+        long deadline = start + timeUnit.toNanos(timeout);
+        long maxPollNanos = MILLISECONDS.toNanos(dependencies.length > 0 ?
+                DEPENDENCIES_POLL_MAX_IN_MILLIS : CONDITION_SLEEP_IN_MILLIS);
+        ConditionSignal signal = new ConditionSignal();
+        if (dependencies.length > 0) {
+            runOnFxThreadIfInitialized(() -> {
+                for (Observable dependency : dependencies) {
+                    dependency.addListener(signal);
+                }
+                revalidate(dependencies);
+            });
+        }
+        int evaluations = 0;
+        boolean timedOut = false;
+        boolean listening = false;
+        try {
+            long pollNanos = MILLISECONDS.toNanos(CONDITION_POLL_MIN_IN_MILLIS);
+            evaluations++;
+            while (!callConditionAndReturnResult(condition)) {
+                if (!listening) {
+                    // only listen for pulses once the condition does not hold right away.
+                    listening = true;
+                    FxPulses.addListener(signal);
+                    FxPulses.install();
+                }
+                long remainingNanos = deadline - System.nanoTime();
+                if (remainingNanos <= 0) {
+                    timedOut = true;
+                    throw new TimeoutException();
+                }
+                if (signal.await(Math.min(pollNanos, remainingNanos))) {
+                    pollNanos = MILLISECONDS.toNanos(CONDITION_POLL_MIN_IN_MILLIS);
+                }
+                else {
+                    pollNanos = Math.min(pollNanos * 2, maxPollNanos);
+                }
+                if (dependencies.length > 0) {
+                    runOnFxThreadIfInitialized(() -> revalidate(dependencies));
+                }
+                evaluations++;
+            }
+        }
+        finally {
+            FxPulses.removeListener(signal);
+            if (dependencies.length > 0) {
+                runOnFxThreadIfInitialized(() -> {
+                    for (Observable dependency : dependencies) {
+                        dependency.removeListener(signal);
+                    }
+                });
             }
+            recordWaitStatistics(new WaitStatistics(System.nanoTime() - start, evaluations,
+                    signal.invalidationWakeUps, signal.pulseWakeUps, timedOut, new StackTraceElement[0]));
+        }
+    }
+
+    /**
+     * Returns the statistics of the last {@link #waitFor(long, TimeUnit, Callable, Observable...)} (or
+     * {@link #waitFor(long, TimeUnit, Callable)}) of the calling thread, or {@code null} if it has not waited yet.
+     *
+     * @return the statistics of the last wait of the calling thread
+     */
+    public static WaitStatistics lastWaitStatistics() {
+        return LAST_WAIT_STATISTICS.get();
+    }
+
+    /**
+     * Returns the statistics of the slowest waits for conditions, slowest first, including their call sites. At
+     * most {@value #SLOWEST_WAITS_COUNT} waits are kept.
+     *
+     * @return the statistics of the slowest waits
+     */
+    public static List<WaitStatistics> slowestWaitStatistics() {
+        synchronized (SLOWEST_WAITS) {
+            return new ArrayList<>(SLOWEST_WAITS);
+        }
+    }
+
+    /**
+     * Clears the statistics of the slowest waits for conditions.
+     */
+    public static void clearWaitStatistics() {
+        synchronized (SLOWEST_WAITS) {
+            SLOWEST_WAITS.clear();
         }
     }
 
@@ -363,16 +578,150 @@ public final class WaitForAsyncUtils {
      * Waits up to {@code attemptsCount} attempts for the event queue of the
      * "JavaFX Application Thread" to be completed, as well as any new events
      * triggered on it.
+     * <p>
+     * In the default idle detection mode this method returns as soon as the
+     * "JavaFX Application Thread" has been observed idle. Like the semaphore mode,
+     * it always waits until the events queued before the call have been handled,
+     * and then checks for new events for at most as much time as
+     * {@code attemptsCount} attempts of the semaphore mode would sleep. Native
+     * events that have not reached the "JavaFX Application Thread" yet are not
+     * waited for. If the calling thread is interrupted, this method returns
+     * early and keeps its interrupt status set.
      *
      * @param attemptsCount the number of attempts to try
      */
     public static void waitForFxEvents(int attemptsCount) {
-        for (int attempt = 0; attempt < attemptsCount; attempt++) {
-            blockFxThreadWithSemaphore();
-            sleep(SEMAPHORE_SLEEP_IN_MILLIS, MILLISECONDS);
+        if (SEMAPHORE_FX_EVENTS_WAIT) {
+            for (int attempt = 0; attempt < attemptsCount; attempt++) {
+                blockFxThreadWithSemaphore();
+                sleep(SEMAPHORE_SLEEP_IN_MILLIS, MILLISECONDS);
+            }
+        }
+        else {
+            waitForFxIdle(attemptsCount);
+        }
+    }
+
+    /**
+     * Waits until the given number of pulses of the showing scenes have completed, or times out after
+     * {@value #PULSE_TIMEOUT_IN_MILLIS} milliseconds. A pulse is requested for each of them, even if nothing needs to
+     * be laid out or rendered. On Java 8, where pulses can not be observed, or if no scene is showing, this calls
+     * {@link #waitForFxEvents()}.
+     *
+     * @param pulseCount the number of pulses to wait for
+     */
+    public static void waitForPulses(int pulseCount) {
+        try {
+            waitForPulses(PULSE_TIMEOUT_IN_MILLIS, MILLISECONDS, pulseCount);
+        }
+        catch (TimeoutException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
+    /**
+     * Waits until the given number of pulses of the showing scenes have completed, otherwise times out with a
+     * {@link TimeoutException}. A pulse is requested for each of them, even if nothing needs to be laid out or
+     * rendered. On Java 8, where pulses can not be observed, or if no scene is showing, this calls
+     * {@link #waitForFxEvents()}.
+     * <p>
+     * Must not be called on the "JavaFX Application Thread".
+     *
+     * @param timeout the timeout to wait for
+     * @param timeUnit the time unit {@code timeout} is in
+     * @param pulseCount the number of pulses to wait for
+     * @throws TimeoutException if the wait timed out
+     */
+    public static void waitForPulses(long timeout, TimeUnit timeUnit, int pulseCount) throws TimeoutException {
+        if (pulseCount <= 0) {
+            return;
+        }
+        int[] remainingPulses = {pulseCount};
+        waitForPulse(timeout, timeUnit, () -> --remainingPulses[0] == 0);
+    }
+
+    /**
+     * Waits until a pulse of the showing scenes completes after which the root of no showing scene needs to be
+     * laid out and no task scheduled on the "JavaFX Application Thread" by this class is pending, or times out after
+     * {@value #PULSE_TIMEOUT_IN_MILLIS} milliseconds. On Java 8, where pulses can not be observed, or if no scene is
+     * showing, this calls {@link #waitForFxEvents()}.
+     * <p>
+     * Pending CSS is not checked directly. Every pulse applies CSS before it lays out the scenes, so the CSS of
+     * changes made before the pulse has been applied, but style changes made after the layout of the pulse (e.g.
+     * by other {@code Platform.runLater} calls) are only covered if they also request a layout.
+     */
+    public static void waitForQuietPulse() {
+        try {
+            waitForQuietPulse(PULSE_TIMEOUT_IN_MILLIS, MILLISECONDS);
+        }
+        catch (TimeoutException exception) {
+            throw new RuntimeException(exception);
         }
     }
 
+    /**
+     * Waits until a pulse of the showing scenes completes after which the root of no showing scene needs to be
+     * laid out and no task scheduled on the "JavaFX Application Thread" by this class is pending, otherwise times
+     * out with a {@link TimeoutException}. On Java 8, where pulses can not be observed, or if no scene is showing,
+     * this calls {@link #waitForFxEvents()}. Pending CSS is not checked directly, see {@link #waitForQuietPulse()}.
+     * <p>
+     * Must not be called on the "JavaFX Application Thread".
+     *
+     * @param timeout the timeout to wait for
+     * @param timeUnit the time unit {@code timeout} is in
+     * @throws TimeoutException if the wait timed out
+     */
+    public static void waitForQuietPulse(long timeout, TimeUnit timeUnit) throws TimeoutException {
+        waitForPulse(timeout, timeUnit, WaitForAsyncUtils::isFxThreadIdle);
+    }
+
+    /**
+     * Requests pulses until {@code pulseCompleted}, which is called on the "JavaFX Application Thread" after each
+     * pulse, returns {@literal true}. Waits for the events of the "JavaFX Application Thread" instead if no scene is
+     * showing, whose pulses could be observed.
+     */
+    private static void waitForPulse(long timeout, TimeUnit timeUnit, BooleanSupplier pulseCompleted)
+            throws TimeoutException {
+        if (Platform.isFxApplicationThread()) {
+            throw new IllegalStateException("can not wait for pulses on the JavaFX Application Thread");
+        }
+        if (!FxPulses.isSupported()) {
+            waitForFxEvents();
+            return;
+        }
+        // completes with whether pulses were observed.
+        CompletableFuture<Boolean> future = new CompletableFuture<>();
+        Runnable listener = () -> {
+            if (future.isDone()) {
+                return;
+            }
+            if (pulseCompleted.getAsBoolean()) {
+                future.complete(true);
+            }
+            else {
+                FxPulses.requestPulse();
+            }
+        };
+        FxPulses.addListener(listener);
+        try {
+            Platform.runLater(() -> {
+                if (!FxPulses.hasShowingScenes()) {
+                    future.complete(false);
+                    return;
+                }
+                FxPulses.install();
+                FxPulses.requestPulse();
+            });
+            if (waitFor(timeout, timeUnit, future)) {
+                return;
+            }
+        }
+        finally {
+            FxPulses.removeListener(listener);
+        }
+        waitForFxEvents();
+    }
+
     /**
      * Sleeps the current thread for the given duration.
      *
@@ -522,6 +871,19 @@ public final class WaitForAsyncUtils {
         }
     }
 
+    private static <T> Future<T> execute(TrackedFutureTask<T> task) {
+        executorService.execute(() -> {
+            ACTIVE_TASKS.incrementAndGet();
+            try {
+                task.run();
+            }
+            finally {
+                ACTIVE_TASKS.decrementAndGet();
+            }
+        });
+        return task;
+    }
+
     private static <T> T waitForMillis(long millis, Future<T> future) {
         try {
             // exceptions are thrown on current thread
@@ -536,7 +898,15 @@ public final class WaitForAsyncUtils {
         if (Platform.isFxApplicationThread()) {
             runnable.run();
         } else {
-            Platform.runLater(runnable);
+            PENDING_FX_TASKS.incrementAndGet();
+            Platform.runLater(() -> {
+                try {
+                    runnable.run();
+                }
+                finally {
+                    PENDING_FX_TASKS.decrementAndGet();
+                }
+            });
         }
     }
 
@@ -549,6 +919,53 @@ public final class WaitForAsyncUtils {
         }
     }
 
+    /**
+     * Runs the given runnable on the "JavaFX Application Thread", later if called from another thread, as the
+     * listeners and values of observables must not be accessed concurrently with the thread that changes them. If
+     * the toolkit is not initialized, no such thread exists and the runnable is run on the calling thread.
+     */
+    private static void runOnFxThreadIfInitialized(Runnable runnable) {
+        if (Platform.isFxApplicationThread()) {
+            runnable.run();
+            return;
+        }
+        try {
+            Platform.runLater(runnable);
+        }
+        catch (IllegalStateException ignore) {
+            // the toolkit is not initialized.
+            runnable.run();
+        }
+    }
+
+    private static void revalidate(Observable[] dependencies) {
+        for (Observable dependency : dependencies) {
+            if (dependency instanceof ObservableValue) {
+                ((ObservableValue<?>) dependency).getValue();
+            }
+        }
+    }
+
+    private static void recordWaitStatistics(WaitStatistics statistics) {
+        LAST_WAIT_STATISTICS.set(statistics);
+        synchronized (SLOWEST_WAITS) {
+            if (SLOWEST_WAITS.size() == SLOWEST_WAITS_COUNT &&
+                    SLOWEST_WAITS.get(SLOWEST_WAITS_COUNT - 1).getElapsedNanos() >= statistics.getElapsedNanos()) {
+                return;
+            }
+            int index = 0;
+            while (index < SLOWEST_WAITS.size() &&
+                    SLOWEST_WAITS.get(index).getElapsedNanos() >= statistics.getElapsedNanos()) {
+                index++;
+            }
+            // still within the wait, so the trace of this thread is the call site of the wait.
+            SLOWEST_WAITS.add(index, statistics.withCallSite(new Throwable().getStackTrace()));
+            if (SLOWEST_WAITS.size() > SLOWEST_WAITS_COUNT) {
+                SLOWEST_WAITS.remove(SLOWEST_WAITS_COUNT);
+            }
+        }
+    }
+
     private static void blockFxThreadWithSemaphore() {
         Semaphore semaphore = new Semaphore(0);
         runOnFxThread(semaphore::release);
@@ -559,6 +976,86 @@ public final class WaitForAsyncUtils {
         }
     }
 
+    /**
+     * Waits until {@link #IDLE_QUIET_ROUNDS_COUNT} consecutive round trips to the "FX application thread"
+     * found it idle. Like the semaphore mode, the first round trip waits without a time limit until everything
+     * queued so far has run. The further round trips give up once the time the semaphore mode would have slept
+     * for {@code attemptsCount} attempts has elapsed after the first one.
+     */
+    private static void waitForFxIdle(int attemptsCount) {
+        long budgetInNanos = MILLISECONDS.toNanos(attemptsCount * SEMAPHORE_SLEEP_IN_MILLIS);
+        long startInNanos = 0L;
+        boolean firstRound = true;
+        int requiredQuietRounds = Math.min(IDLE_QUIET_ROUNDS_COUNT, attemptsCount);
+        int quietRounds = 0;
+        while (quietRounds < requiredQuietRounds) {
+            long remainingInNanos = budgetInNanos - (System.nanoTime() - startInNanos);
+            boolean idle = checkFxThreadIdle(firstRound ? -1L :
+                    Math.max(remainingInNanos, MILLISECONDS.toNanos(SEMAPHORE_SLEEP_IN_MILLIS)));
+            if (firstRound) {
+                firstRound = false;
+                startInNanos = System.nanoTime();
+            }
+            if (idle) {
+                quietRounds++;
+            }
+            else {
+                quietRounds = 0;
+                if (Thread.currentThread().isInterrupted() || System.nanoTime() - startInNanos >= budgetInNanos) {
+                    return;
+                }
+                sleep(IDLE_BACKOFF_IN_MILLIS, MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Enqueues a marker at the end of the event queue of the "FX application thread" and, once it ran,
+     * returns whether the thread was idle at that point. Everything enqueued before the marker has been
+     * processed at that time, so the thread is idle if no task scheduled by this class is still pending
+     * and no showing window waits for a layout pulse. Returns {@code false} if the marker did not run
+     * within the given timeout, which is unlimited if negative, or the calling thread was interrupted, whose
+     * interrupt status is restored.
+     */
+    private static boolean checkFxThreadIdle(long timeoutInNanos) {
+        if (Platform.isFxApplicationThread()) {
+            return isFxThreadIdle();
+        }
+        Semaphore semaphore = new Semaphore(0);
+        boolean[] idle = new boolean[1];
+        Platform.runLater(() -> {
+            idle[0] = isFxThreadIdle();
+            semaphore.release();
+        });
+        try {
+            if (timeoutInNanos < 0) {
+                semaphore.acquire();
+            }
+            else if (!semaphore.tryAcquire(timeoutInNanos, NANOSECONDS)) {
+                return false;
+            }
+        }
+        catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        return idle[0];
+    }
+
+    @SuppressWarnings("deprecation")
+    private static boolean isFxThreadIdle() {
+        if (PENDING_FX_TASKS.get() > 0) {
+            return false;
+        }
+        for (Window window : getWindows()) {
+            Scene scene = window.getScene();
+            if (window.isShowing() && scene != null && scene.getRoot() != null && scene.getRoot().isNeedsLayout()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private static void printException(Throwable e, StackTraceElement[] trace) {
         StringBuilder out = new StringBuilder("--- Exception in Async Thread ---\n");
         out.append(e.getClass().getName()).append(": ").append(e.getMessage()).append('\n');
@@ -592,26 +1089,97 @@ public final class WaitForAsyncUtils {
         return stackTrace.toString();
     }
 
-    private static ChronoUnit chronoUnit(TimeUnit unit) {
-        Objects.requireNonNull(unit, "unit");
-        switch (unit) {
-            case NANOSECONDS:
-                return ChronoUnit.NANOS;
-            case MICROSECONDS:
-                return ChronoUnit.MICROS;
-            case MILLISECONDS:
-                return ChronoUnit.MILLIS;
-            case SECONDS:
-                return ChronoUnit.SECONDS;
-            case MINUTES:
-                return ChronoUnit.MINUTES;
-            case HOURS:
-                return ChronoUnit.HOURS;
-            case DAYS:
-                return ChronoUnit.DAYS;
-            default:
-                throw new IllegalArgumentException("unknown TimeUnit constant: " + unit);
+    /**
+     * Wakes up a waiting condition when one of its dependencies is invalidated or a pulse completes.
+     */
+    private static final class ConditionSignal implements InvalidationListener, Runnable {
+
+        private boolean invalidated;
+        private boolean pulsed;
+        private int invalidationWakeUps;
+        private int pulseWakeUps;
+
+        @Override
+        public synchronized void invalidated(Observable observable) {
+            invalidated = true;
+            notifyAll();
+        }
+
+        @Override
+        public synchronized void run() {
+            pulsed = true;
+            notifyAll();
+        }
+
+        /**
+         * Waits up to {@code nanos} nanoseconds for an invalidation or a pulse, returning whether one occurred.
+         */
+        synchronized boolean await(long nanos) {
+            long deadline = System.nanoTime() + nanos;
+            long remainingNanos = nanos;
+            while (!invalidated && !pulsed && remainingNanos > 0) {
+                try {
+                    TimeUnit.NANOSECONDS.timedWait(this, remainingNanos);
+                }
+                catch (InterruptedException ignore) {
+                }
+                remainingNanos = deadline - System.nanoTime();
+            }
+            if (invalidated) {
+                invalidationWakeUps++;
+            }
+            else if (pulsed) {
+                pulseWakeUps++;
+            }
+            else {
+                return false;
+            }
+            invalidated = false;
+            pulsed = false;
+            return true;
+        }
+    }
+
+    /**
+     * A {@code FutureTask} of this class, which keeps count of whether it is leaked, see
+     * {@link #getLeakedTaskCount()}.
+     *
+     * @param <X> the result type of the task
+     */
+    private static class TrackedFutureTask<X> extends FutureTask<X> {
+
+        /**
+         * Whether a wait for this task has timed out while it was unfinished.
+         */
+        private final AtomicBoolean leaked = new AtomicBoolean();
+
+        TrackedFutureTask(Callable<X> callable) {
+            super(callable);
+        }
+
+        TrackedFutureTask(Runnable runnable, X result) {
+            super(runnable, result);
+        }
+
+        /**
+         * Counts this task as leaked until it is done.
+         */
+        void leak() {
+            if (leaked.compareAndSet(false, true)) {
+                LEAKED_TASKS.incrementAndGet();
+                if (isDone()) {
+                    done();
+                }
+            }
         }
+
+        @Override
+        protected void done() {
+            if (leaked.compareAndSet(true, false)) {
+                LEAKED_TASKS.decrementAndGet();
+            }
+        }
+
     }
 
     /**
@@ -622,7 +1190,7 @@ public final class WaitForAsyncUtils {
      *
      * @param <X> the return type of the callable
      */
-    private static class ASyncFXCallable<X> extends FutureTask<X> implements Callable<X> {
+    private static class ASyncFXCallable<X> extends TrackedFutureTask<X> implements Callable<X> {
 
         /**
          * If {@literal true}, exceptions will be added to the internal stack.
@@ -630,9 +1198,9 @@ public final class WaitForAsyncUtils {
         private final boolean throwException;
 
         /**
-         * Holds the stacktrace of the caller, for printing, if an Exception occurs.
+         * Holds the call site of the caller, for printing, if an Exception occurs.
          */
-        private final StackTraceElement[] trace;
+        private final Supplier<StackTraceElement[]> callSite;
 
         /**
          * The unhandled exception.
@@ -642,13 +1210,13 @@ public final class WaitForAsyncUtils {
         public ASyncFXCallable(Runnable runnable, boolean throwException) {
             super(runnable, null);
             this.throwException = throwException;
-            trace = Thread.currentThread().getStackTrace();
+            callSite = CallSiteCapture.DEFAULT.capture();
         }
 
         public ASyncFXCallable(Callable<X> callable, boolean throwException) {
             super(callable);
             this.throwException = throwException;
-            trace = Thread.currentThread().getStackTrace();
+            callSite = CallSiteCapture.DEFAULT.capture();
         }
 
         /**
@@ -658,7 +1226,7 @@ public final class WaitForAsyncUtils {
         protected void setException(Throwable throwable) {
             if (throwException) {
                 if (printException) {
-                    printException(throwable, trace);
+                    printException(throwable, callSite != null ? callSite.get() : null);
                 }
                 exception = transformException(throwable);
                 // Add exception to stack of occurred exceptions
@@ -725,16 +1293,4 @@ public final class WaitForAsyncUtils {
         }
 
     }
-
-    private static class DefaultThreadFactory implements ThreadFactory {
-        private final AtomicInteger threadCount = new AtomicInteger(1);
-
-        @Override
-        public Thread newThread(Runnable r) {
-            final Thread thread = new Thread(r);
-            thread.setDaemon(true);
-            thread.setName(String.format("testfx-async-pool-thread-%d", threadCount.getAndIncrement()));
-            return thread;
-        }
-    }
 }
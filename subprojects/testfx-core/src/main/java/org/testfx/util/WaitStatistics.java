@@ -0,0 +1,107 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+/**
+ * The statistics of one call of {@link WaitForAsyncUtils#waitFor(long, java.util.concurrent.TimeUnit,
+ * java.util.concurrent.Callable, javafx.beans.Observable...)}: how long it waited, how often the condition was
+ * evaluated and what caused the evaluations.
+ *
+ * @see WaitForAsyncUtils#lastWaitStatistics()
+ * @see WaitForAsyncUtils#slowestWaitStatistics()
+ */
+public final class WaitStatistics {
+
+    private final long elapsedNanos;
+    private final int evaluations;
+    private final int invalidationWakeUps;
+    private final int pulseWakeUps;
+    private final boolean timedOut;
+    private final StackTraceElement[] callSite;
+
+    WaitStatistics(long elapsedNanos, int evaluations, int invalidationWakeUps, int pulseWakeUps, boolean timedOut,
+                   StackTraceElement[] callSite) {
+        this.elapsedNanos = elapsedNanos;
+        this.evaluations = evaluations;
+        this.invalidationWakeUps = invalidationWakeUps;
+        this.pulseWakeUps = pulseWakeUps;
+        this.timedOut = timedOut;
+        this.callSite = callSite;
+    }
+
+    /**
+     * Returns the time spent in the wait, including the evaluations of the condition.
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * Returns how often the condition was evaluated.
+     */
+    public int getEvaluations() {
+        return evaluations;
+    }
+
+    /**
+     * Returns how often the condition was evaluated because one of its dependencies was invalidated.
+     */
+    public int getInvalidationWakeUps() {
+        return invalidationWakeUps;
+    }
+
+    /**
+     * Returns how often the condition was evaluated because a pulse completed.
+     */
+    public int getPulseWakeUps() {
+        return pulseWakeUps;
+    }
+
+    /**
+     * Returns how often the condition was evaluated because the polling interval passed.
+     */
+    public int getPollWakeUps() {
+        return Math.max(0, evaluations - 1 - invalidationWakeUps - pulseWakeUps);
+    }
+
+    /**
+     * Returns whether the wait timed out before the condition was {@literal true}.
+     */
+    public boolean isTimedOut() {
+        return timedOut;
+    }
+
+    /**
+     * Returns the trace of the caller of the wait. It is only recorded for the waits that are kept as
+     * {@link WaitForAsyncUtils#slowestWaitStatistics() slowest waits}, otherwise it is empty.
+     */
+    public StackTraceElement[] getCallSite() {
+        return callSite.clone();
+    }
+
+    WaitStatistics withCallSite(StackTraceElement[] callSite) {
+        return new WaitStatistics(elapsedNanos, evaluations, invalidationWakeUps, pulseWakeUps, timedOut, callSite);
+    }
+
+    @Override
+    public String toString() {
+        return "WaitStatistics[elapsedMillis=" + elapsedNanos / 1_000_000 + ", evaluations=" + evaluations +
+                ", invalidationWakeUps=" + invalidationWakeUps + ", pulseWakeUps=" + pulseWakeUps +
+                ", timedOut=" + timedOut + (callSite.length > 0 ? ", callSite=" + callSite[0] : "") + "]";
+    }
+
+}
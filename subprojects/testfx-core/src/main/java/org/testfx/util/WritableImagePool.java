@@ -0,0 +1,180 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.WeakHashMap;
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Node;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.scene.SnapshotParameters;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+
+/**
+ * A pool of {@link WritableImage}s keyed by their dimensions, so that the images of snapshots which are no longer
+ * used can be reused by later snapshots of the same size instead of allocating new ones.
+ * <p>
+ * Only images that the pool created itself are taken back. An image must only be {@link #release(Image) released}
+ * once nothing reads from it anymore, as it may be overwritten by the next snapshot of the same size. The pool
+ * holds at most {@value #MAX_IMAGES_PER_SIZE} images of each size and at most {@value #MAX_POOLED_PIXELS} pixels
+ * in total.
+ */
+public final class WritableImagePool {
+
+    private static final int MAX_IMAGES_PER_SIZE = 4;
+    private static final long MAX_POOLED_PIXELS = 16L * 1024 * 1024;
+
+    private static final Map<Long, Deque<WritableImage>> POOL = new HashMap<>();
+    // the images created by the pool, which are the only ones that are taken back. Images do not override equals.
+    private static final Set<WritableImage> CREATED_IMAGES = Collections.newSetFromMap(new WeakHashMap<>());
+    private static long pooledPixels;
+
+    private WritableImagePool() {}
+
+    /**
+     * Returns a pooled image with the given dimensions, or a new one if there is none. The pixels of a pooled
+     * image are those of its last use.
+     */
+    public static WritableImage acquire(int width, int height) {
+        synchronized (POOL) {
+            Deque<WritableImage> images = POOL.get(key(width, height));
+            if (images != null && !images.isEmpty()) {
+                pooledPixels -= (long) width * height;
+                return images.pop();
+            }
+            WritableImage image = new WritableImage(width, height);
+            CREATED_IMAGES.add(image);
+            return image;
+        }
+    }
+
+    /**
+     * Returns the given image to the pool. Only images that were created by the pool are taken back; other
+     * images, and images that do not fit into the pool anymore, are left to the garbage collector.
+     */
+    public static void release(Image image) {
+        if (!(image instanceof WritableImage)) {
+            return;
+        }
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        long pixels = (long) width * height;
+        synchronized (POOL) {
+            if (!CREATED_IMAGES.contains(image) || pooledPixels + pixels > MAX_POOLED_PIXELS) {
+                return;
+            }
+            Deque<WritableImage> images = POOL.get(key(width, height));
+            if (images == null) {
+                images = new ArrayDeque<>();
+                POOL.put(key(width, height), images);
+            }
+            if (images.size() < MAX_IMAGES_PER_SIZE && images.stream().noneMatch(pooledImage -> pooledImage == image)) {
+                images.push((WritableImage) image);
+                pooledPixels += pixels;
+            }
+        }
+    }
+
+    /**
+     * Removes all images from the pool.
+     */
+    public static void clear() {
+        synchronized (POOL) {
+            POOL.clear();
+            pooledPixels = 0;
+        }
+    }
+
+    /**
+     * Takes a snapshot of the given {@code node} like {@link Node#snapshot(SnapshotParameters, WritableImage)}, but
+     * renders it into a pooled image. Without a viewport the bounds of the node in its parent are rendered, after
+     * CSS and layout have been applied to the node (or its scene). Must be called on the JavaFX application thread.
+     *
+     * @param node the node to take the snapshot of
+     * @param parameters the snapshot parameters, or {@code null} for the default parameters
+     * @return the snapshot
+     */
+    public static WritableImage snapshot(Node node, SnapshotParameters parameters) {
+        Objects.requireNonNull(node, "node must not be null");
+        SnapshotParameters snapshotParameters = parameters != null ? parameters : new SnapshotParameters();
+        if (snapshotParameters.getTransform() != null && snapshotParameters.getViewport() == null) {
+            // the size of the snapshot depends on the transformed bounds of the node.
+            return node.snapshot(snapshotParameters, null);
+        }
+        Rectangle2D viewport = snapshotParameters.getViewport();
+        if (viewport == null) {
+            applyCssAndLayout(node);
+            Bounds bounds = node.getBoundsInParent();
+            viewport = new Rectangle2D(bounds.getMinX(), bounds.getMinY(), bounds.getWidth(), bounds.getHeight());
+            snapshotParameters = withViewport(snapshotParameters, viewport);
+        }
+        // the same size that Node#snapshot would create an image with.
+        int width = Math.max((int) Math.ceil(viewport.getMaxX()) - (int) Math.floor(viewport.getMinX()), 1);
+        int height = Math.max((int) Math.ceil(viewport.getMaxY()) - (int) Math.floor(viewport.getMinY()), 1);
+        return node.snapshot(snapshotParameters, acquire(width, height));
+    }
+
+    /**
+     * Takes a snapshot of the given {@code region} of the given {@code scene} like
+     * {@link Scene#snapshot(WritableImage)}, but renders only the region, into a pooled image. Must be called on
+     * the JavaFX application thread.
+     *
+     * @param scene the scene to take the snapshot of
+     * @param region the region in scene coordinates
+     * @return the snapshot
+     */
+    public static WritableImage snapshot(Scene scene, Rectangle2D region) {
+        Objects.requireNonNull(scene, "scene must not be null");
+        SnapshotParameters parameters = new SnapshotParameters();
+        parameters.setFill(scene.getFill());
+        parameters.setCamera(scene.getCamera());
+        parameters.setDepthBuffer(scene.isDepthBuffer());
+        parameters.setViewport(region);
+        return snapshot(scene.getRoot(), parameters);
+    }
+
+    private static void applyCssAndLayout(Node node) {
+        Node root = node.getScene() != null ? node.getScene().getRoot() : node;
+        root.applyCss();
+        if (root instanceof Parent) {
+            ((Parent) root).layout();
+        }
+    }
+
+    private static SnapshotParameters withViewport(SnapshotParameters parameters, Rectangle2D viewport) {
+        SnapshotParameters copy = new SnapshotParameters();
+        copy.setFill(parameters.getFill());
+        copy.setCamera(parameters.getCamera());
+        copy.setDepthBuffer(parameters.isDepthBuffer());
+        copy.setViewport(viewport);
+        return copy;
+    }
+
+    private static long key(int width, int height) {
+        return (long) width << 32 | height;
+    }
+
+}
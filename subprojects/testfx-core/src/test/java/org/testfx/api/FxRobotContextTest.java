@@ -0,0 +1,113 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.api;
+
+import javafx.geometry.Pos;
+import javafx.scene.input.MouseButton;
+import javafx.stage.Stage;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.testfx.TestFXRule;
+import org.testfx.robot.BaseRobot;
+import org.testfx.robot.MouseRobot;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class FxRobotContextTest {
+
+    @Rule
+    public TestFXRule testFXRule = new TestFXRule();
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Test
+    public void contexts_share_stateless_services() {
+        // when:
+        FxRobotContext context0 = new FxRobotContext();
+        FxRobotContext context1 = new FxRobotContext();
+
+        // then:
+        assertThat(context0.getBaseRobot(), is(sameInstance(context1.getBaseRobot())));
+        assertThat(context0.getBaseRobot(), is(sameInstance(FxService.serviceContext().getBaseRobot())));
+        assertThat(context0.getCaptureSupport(), is(sameInstance(context1.getCaptureSupport())));
+        assertThat(context0.getPointLocator(), is(sameInstance(context1.getPointLocator())));
+        assertThat(context0.getWindowFinder(), is(sameInstance(context1.getWindowFinder())));
+    }
+
+    @Test
+    public void contexts_do_not_share_stateful_robots() {
+        // when:
+        FxRobotContext context0 = new FxRobotContext();
+        FxRobotContext context1 = new FxRobotContext();
+
+        // then:
+        assertThat(context0.getMouseRobot(), is(not(sameInstance(context1.getMouseRobot()))));
+        assertThat(context0.getKeyboardRobot(), is(not(sameInstance(context1.getKeyboardRobot()))));
+        assertThat(context0.getClickRobot(), is(sameInstance(context0.getClickRobot())));
+    }
+
+    @Test
+    public void service_context_creates_services_on_first_use() {
+        // given:
+        FxServiceContext serviceContext = new FxServiceContext();
+        FxRobotContext context = new FxRobotContext(serviceContext);
+
+        // when:
+        context.getMoveRobot();
+
+        // then:
+        assertThat(context.getBaseRobot(), is(sameInstance(serviceContext.getBaseRobot())));
+        assertThat(context.getNodeFinder(), is(sameInstance(serviceContext.getNodeFinder())));
+    }
+
+    @Test
+    public void reset() throws Exception {
+        // given:
+        BaseRobot baseRobot = mock(BaseRobot.class);
+        FxServiceContext serviceContext = mock(FxServiceContext.class);
+        when(serviceContext.getBaseRobot()).thenReturn(baseRobot);
+        when(serviceContext.getWindowFinder()).thenReturn(FxService.serviceContext().getWindowFinder());
+        FxRobotContext context = new FxRobotContext(serviceContext);
+        MouseRobot mouseRobot = context.getMouseRobot();
+        mouseRobot.pressNoWait(MouseButton.PRIMARY);
+        context.setPointPosition(Pos.TOP_LEFT);
+        Stage stage = FxToolkit.registerPrimaryStage();
+        context.getWindowFinder().targetWindow(stage);
+
+        // when:
+        context.reset();
+
+        // then:
+        verify(baseRobot).releaseMouse(MouseButton.PRIMARY);
+        assertThat(mouseRobot.getPressedButtons().isEmpty(), is(true));
+        assertThat(context.getPointPosition(), is(Pos.CENTER));
+        assertThat(context.getWindowFinder().targetWindow(), is(nullValue()));
+    }
+
+}
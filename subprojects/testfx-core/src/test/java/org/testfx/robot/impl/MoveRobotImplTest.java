@@ -17,11 +17,15 @@
 package org.testfx.robot.impl;
 
 import javafx.geometry.Point2D;
+import javafx.scene.Scene;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
 
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
 import org.testfx.TestFXRule;
+import org.testfx.api.FxToolkit;
 import org.testfx.robot.BaseRobot;
 import org.testfx.robot.Motion;
 import org.testfx.robot.MouseRobot;
@@ -30,12 +34,14 @@ import org.testfx.robot.SleepRobot;
 import org.testfx.service.query.PointQuery;
 
 import static org.mockito.AdditionalMatchers.not;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 public class MoveRobotImplTest {
 
@@ -205,4 +211,49 @@ public class MoveRobotImplTest {
         verify(mouseRobot, times(1)).move(targetPoint);
     }
 
+    @Test
+    public void moveBy_in_timed_mode() {
+        // given:
+        moveRobot = new MoveRobotImpl(baseRobot, mouseRobot, sleepRobot, MoveRobotImpl.MoveMode.TIMED);
+        Point2D sourcePoint = new Point2D(0, 0);
+        given(baseRobot.retrieveMouse()).willReturn(sourcePoint);
+
+        // when:
+        Point2D targetPoint = new Point2D(1000, 0);
+        moveRobot.moveBy(1000, 0);
+
+        // then:
+        for (double x = 1.0; x <= 5.0; x++) {
+            verify(mouseRobot, times(1)).moveNoWait(new Point2D(x * 1000 / 6, 0));
+        }
+        verify(mouseRobot, times(5)).moveNoWait(not(eq(targetPoint)));
+        verify(mouseRobot, times(1)).move(targetPoint);
+    }
+
+    @Test
+    public void moveBy_in_teleport_mode() throws Exception {
+        // given:
+        FxToolkit.registerPrimaryStage();
+        Region leftRegion = new Region();
+        Region rightRegion = new Region();
+        FxToolkit.setupStage(stage -> {
+            leftRegion.setPrefSize(100, 100);
+            rightRegion.setPrefSize(100, 100);
+            stage.setScene(new Scene(new HBox(leftRegion, rightRegion)));
+            stage.show();
+        });
+        moveRobot = new MoveRobotImpl(baseRobot, mouseRobot, sleepRobot, MoveRobotImpl.MoveMode.TELEPORT);
+        Point2D sourcePoint = leftRegion.localToScreen(50, 50);
+        given(baseRobot.retrieveMouse()).willReturn(sourcePoint);
+
+        // when:
+        moveRobot.moveBy(100, 0);
+
+        // then:
+        verify(mouseRobot, times(1)).moveNoWait(new Point2D(sourcePoint.getX() + 50, sourcePoint.getY()));
+        verify(mouseRobot, times(1)).moveNoWait(any());
+        verify(mouseRobot, times(1)).move(new Point2D(sourcePoint.getX() + 100, sourcePoint.getY()));
+        verifyNoMoreInteractions(sleepRobot);
+    }
+
 }
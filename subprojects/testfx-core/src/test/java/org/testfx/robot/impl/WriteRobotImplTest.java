@@ -16,6 +16,7 @@
  */
 package org.testfx.robot.impl;
 
+import java.util.Arrays;
 import javafx.scene.Scene;
 import javafx.scene.input.KeyCode;
 import javafx.scene.layout.Region;
@@ -32,11 +33,14 @@ import org.testfx.robot.SleepRobot;
 import org.testfx.robot.WriteRobot;
 import org.testfx.service.finder.WindowFinder;
 
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 
 public class WriteRobotImplTest {
 
@@ -105,4 +109,20 @@ public class WriteRobotImplTest {
         verify(baseRobot, times(1)).typeKeyboard(eq(scene), eq(KeyCode.UNDEFINED), eq("e"));
     }
 
+    @Test
+    public void write_string_batched() {
+        // given:
+        writeRobot = new WriteRobotImpl(baseRobot, sleepRobot, windowFinder, true);
+        given(windowFinder.targetWindow()).willReturn(stage);
+
+        // when:
+        writeRobot.write("a\n");
+
+        // then:
+        verify(baseRobot, times(1)).typeKeyboard(eq(scene), eq(Arrays.asList(KeyCode.UNDEFINED, KeyCode.ENTER)),
+            eq("a\n"));
+        verify(baseRobot, never()).typeKeyboard(any(), any(KeyCode.class), any());
+        verifyNoMoreInteractions(sleepRobot);
+    }
+
 }
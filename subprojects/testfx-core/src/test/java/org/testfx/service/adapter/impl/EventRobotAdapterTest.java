@@ -0,0 +1,245 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.adapter.impl;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javafx.geometry.Point2D;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
+import javafx.scene.input.MouseButton;
+import javafx.scene.input.MouseEvent;
+import javafx.scene.input.ScrollEvent;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.stage.Stage;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.testfx.TestFXRule;
+import org.testfx.api.FxToolkit;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class EventRobotAdapterTest {
+
+    @Rule
+    public TestFXRule testFXRule = new TestFXRule();
+
+    EventRobotAdapter robotAdapter;
+    Stage targetStage;
+    Region leftRegion;
+    Region rightRegion;
+    List<MouseEvent> mouseEvents;
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Before
+    public void setup() throws Exception {
+        mouseEvents = new ArrayList<>();
+        targetStage = FxToolkit.setupStage(stage -> {
+            leftRegion = new Region();
+            leftRegion.setPrefSize(100, 100);
+            leftRegion.setStyle("-fx-background-color: magenta;");
+            leftRegion.addEventHandler(MouseEvent.ANY, mouseEvents::add);
+            rightRegion = new Region();
+            rightRegion.setPrefSize(100, 100);
+            rightRegion.setStyle("-fx-background-color: cyan;");
+            stage.setScene(new Scene(new HBox(leftRegion, rightRegion)));
+            stage.show();
+        });
+        robotAdapter = new EventRobotAdapter();
+        robotAdapter.robotCreate();
+    }
+
+    @After
+    public void cleanup() {
+        robotAdapter.robotDestroy();
+    }
+
+    @Test
+    public void mouseMove_press_release() {
+        // given:
+        Point2D point = leftRegion.localToScreen(50, 50);
+
+        // when:
+        robotAdapter.mouseMove(point);
+        robotAdapter.mousePress(MouseButton.PRIMARY);
+        robotAdapter.mouseRelease(MouseButton.PRIMARY);
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        assertThat(robotAdapter.getMouseLocation(), is(point));
+        assertThat(eventTypes(), is(new Object[] {MouseEvent.MOUSE_ENTERED, MouseEvent.MOUSE_MOVED,
+            MouseEvent.MOUSE_PRESSED, MouseEvent.MOUSE_RELEASED, MouseEvent.MOUSE_CLICKED}));
+        assertThat(mouseEvents.get(2).getX(), is(50.0));
+        assertThat(mouseEvents.get(2).isPrimaryButtonDown(), is(true));
+    }
+
+    @Test
+    public void mouse_double_click() {
+        // when:
+        robotAdapter.mouseMove(leftRegion.localToScreen(50, 50));
+        for (int i = 0; i < 2; i++) {
+            robotAdapter.mousePress(MouseButton.PRIMARY);
+            robotAdapter.mouseRelease(MouseButton.PRIMARY);
+        }
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        MouseEvent lastEvent = mouseEvents.get(mouseEvents.size() - 1);
+        assertThat(lastEvent.getEventType(), is(MouseEvent.MOUSE_CLICKED));
+        assertThat(lastEvent.getClickCount(), is(2));
+    }
+
+    @Test
+    public void mouseMove_out_of_node() {
+        // when:
+        robotAdapter.mouseMove(leftRegion.localToScreen(50, 50));
+        robotAdapter.mouseMove(rightRegion.localToScreen(50, 50));
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        assertThat(eventTypes(), is(new Object[] {MouseEvent.MOUSE_ENTERED, MouseEvent.MOUSE_MOVED,
+            MouseEvent.MOUSE_EXITED}));
+    }
+
+    @Test
+    public void mouseMove_while_pressed_drags() {
+        // when:
+        robotAdapter.mouseMove(leftRegion.localToScreen(50, 50));
+        robotAdapter.mousePress(MouseButton.PRIMARY);
+        robotAdapter.mouseMove(rightRegion.localToScreen(50, 50));
+        robotAdapter.mouseRelease(MouseButton.PRIMARY);
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        assertThat(mouseEvents.stream().anyMatch(event -> event.getEventType() == MouseEvent.MOUSE_DRAGGED &&
+            event.getX() == 150.0), is(true));
+        assertThat(mouseEvents.stream().anyMatch(event -> event.getEventType() == MouseEvent.MOUSE_CLICKED),
+            is(false));
+    }
+
+    @Test
+    public void mouseWheel() {
+        // given:
+        List<ScrollEvent> scrollEvents = new ArrayList<>();
+        leftRegion.addEventHandler(ScrollEvent.SCROLL, scrollEvents::add);
+
+        // when:
+        robotAdapter.mouseMove(leftRegion.localToScreen(50, 50));
+        robotAdapter.mouseWheel(2);
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        assertThat(scrollEvents.size(), is(1));
+        assertThat(scrollEvents.get(0).getDeltaY(), is(-80.0));
+    }
+
+    @Test
+    public void keyPress_keyRelease_with_modifiers() {
+        // given:
+        List<KeyEvent> keyEvents = new ArrayList<>();
+        targetStage.getScene().addEventFilter(KeyEvent.ANY, keyEvents::add);
+
+        // when:
+        robotAdapter.keyPress(KeyCode.A);
+        robotAdapter.keyRelease(KeyCode.A);
+        robotAdapter.keyPress(KeyCode.SHIFT);
+        robotAdapter.keyPress(KeyCode.A);
+        robotAdapter.keyRelease(KeyCode.A);
+        robotAdapter.keyRelease(KeyCode.SHIFT);
+        robotAdapter.keyPress(KeyCode.LEFT);
+        robotAdapter.keyRelease(KeyCode.LEFT);
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        StringBuilder typedText = new StringBuilder();
+        keyEvents.stream().filter(event -> event.getEventType() == KeyEvent.KEY_TYPED)
+            .forEach(event -> typedText.append(event.getCharacter()));
+        assertThat(typedText.toString(), is("aA"));
+        assertThat(keyEvents.get(4).getCode(), is(KeyCode.A));
+        assertThat(keyEvents.get(4).isShiftDown(), is(true));
+        assertThat(keyEvents.size(), is(10));
+    }
+
+    @Test
+    public void keyPress_with_shift_types_shifted_characters() {
+        // given:
+        List<KeyEvent> keyEvents = new ArrayList<>();
+        targetStage.getScene().addEventFilter(KeyEvent.KEY_TYPED, keyEvents::add);
+
+        // when:
+        for (KeyCode key : new KeyCode[] {KeyCode.DIGIT1, KeyCode.SLASH, KeyCode.QUOTE}) {
+            robotAdapter.keyPress(key);
+            robotAdapter.keyRelease(key);
+        }
+        robotAdapter.keyPress(KeyCode.SHIFT);
+        for (KeyCode key : new KeyCode[] {KeyCode.DIGIT1, KeyCode.SLASH, KeyCode.QUOTE, KeyCode.SPACE}) {
+            robotAdapter.keyPress(key);
+            robotAdapter.keyRelease(key);
+        }
+        robotAdapter.keyRelease(KeyCode.SHIFT);
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        StringBuilder typedText = new StringBuilder();
+        keyEvents.forEach(event -> typedText.append(event.getCharacter()));
+        assertThat(typedText.toString(), is("1/'!?\" "));
+    }
+
+    @Test
+    public void getCaptureRegion() {
+        // when:
+        Point2D point = leftRegion.localToScreen(90, 10);
+        Image image = robotAdapter.getCaptureRegion(new Rectangle2D(point.getX(), point.getY(), 20, 10));
+
+        // then:
+        assertThat(image.getWidth(), is(20.0));
+        assertThat(image.getPixelReader().getColor(5, 5), is(Color.MAGENTA));
+        assertThat(image.getPixelReader().getColor(15, 5), is(Color.CYAN));
+        assertThat(robotAdapter.getCapturePixelColor(point), is(Color.MAGENTA));
+    }
+
+    @Test
+    public void getCapturePixelColors() {
+        // when:
+        List<Color> colors = robotAdapter.getCapturePixelColors(Arrays.asList(leftRegion.localToScreen(10, 10),
+            rightRegion.localToScreen(90, 90), leftRegion.localToScreen(50, 50)));
+
+        // then:
+        assertThat(colors.toArray(), is(new Object[] {Color.MAGENTA, Color.CYAN, Color.MAGENTA}));
+    }
+
+    private Object[] eventTypes() {
+        return mouseEvents.stream().map(MouseEvent::getEventType).toArray();
+    }
+
+}
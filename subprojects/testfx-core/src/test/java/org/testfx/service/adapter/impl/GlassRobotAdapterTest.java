@@ -49,6 +49,7 @@ import org.testfx.api.FxToolkit;
 import org.testfx.service.locator.PointLocator;
 import org.testfx.service.locator.impl.BoundsLocatorImpl;
 import org.testfx.service.locator.impl.PointLocatorImpl;
+import org.testfx.service.support.ArgbPixels;
 import org.testfx.util.BoundsQueryUtils;
 import org.testfx.util.WaitForAsyncUtils;
 
@@ -241,6 +242,22 @@ public class GlassRobotAdapterTest {
                 (int) regionImage.getHeight() / 2), is(Color.web("magenta")));
     }
 
+    @Test
+    public void getCapturePixels() {
+        // given:
+        assumeThat(System.getenv("TRAVIS_OS_NAME"), is(not(equalTo("osx"))));
+        assumeThat(System.getProperty("prism.order", ""), is(not(equalTo("d3d"))));
+
+        // when:
+        Bounds bounds = BoundsQueryUtils.boundsOnScreen(region);
+        ArgbPixels regionPixels = robotAdapter.getCapturePixels(new Rectangle2D(bounds.getMinX(), bounds.getMinY(),
+                bounds.getWidth(), bounds.getHeight()));
+
+        // then:
+        assertThat(regionPixels.getArgb(regionPixels.getWidth() / 2, regionPixels.getHeight() / 2),
+                is(0xffff00ff));
+    }
+
     @Test
     public void timerWaitForIdle() {
         // when:
@@ -255,4 +272,20 @@ public class GlassRobotAdapterTest {
         assertThat(reachedStatement.get(), is(true));
     }
 
+    @Test
+    public void invocationStatistics() {
+        // given:
+        robotAdapter.getMouseLocation();
+        robotAdapter.resetInvocationStatistics();
+
+        // when:
+        robotAdapter.mouseMove(regionCenter);
+        robotAdapter.getMouseLocation();
+
+        // then:
+        WaitForAsyncUtils.waitForFxEvents();
+        assertThat(robotAdapter.getInvocationCount(), is(3L));
+        assertThat(robotAdapter.getInvocationTimeInNanos() > 0, is(true));
+    }
+
 }
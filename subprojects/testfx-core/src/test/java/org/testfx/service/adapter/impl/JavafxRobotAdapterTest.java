@@ -16,6 +16,8 @@
  */
 package org.testfx.service.adapter.impl;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CountDownLatch;
@@ -33,6 +35,7 @@ import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.input.KeyCode;
+import javafx.scene.input.KeyEvent;
 import javafx.scene.input.MouseButton;
 import javafx.scene.layout.Priority;
 import javafx.scene.layout.Region;
@@ -229,6 +232,25 @@ public class JavafxRobotAdapterTest {
         verifyThat(textArea, TextInputControlMatchers.hasText(text));
     }
 
+    @Test
+    public void keyTypeAll_fires_events_in_order() {
+        // given:
+        List<KeyEvent> keyEvents = new ArrayList<>();
+        targetStage.getScene().addEventFilter(KeyEvent.ANY, keyEvents::add);
+
+        // when:
+        robotAdapter.keyTypeAll(Arrays.asList(KeyCode.UNDEFINED, KeyCode.ENTER), "a\n");
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        assertThat(keyEvents.stream().map(KeyEvent::getEventType).collect(Collectors.toList()), is(Arrays.asList(
+            KeyEvent.KEY_PRESSED, KeyEvent.KEY_TYPED, KeyEvent.KEY_RELEASED,
+            KeyEvent.KEY_PRESSED, KeyEvent.KEY_TYPED, KeyEvent.KEY_RELEASED)));
+        assertThat(keyEvents.get(1).getCharacter(), is("a"));
+        assertThat(keyEvents.get(3).getCode(), is(KeyCode.ENTER));
+        assertThat(keyEvents.get(4).getCharacter(), is("\n"));
+    }
+
     @Test
     public void keyType_unicode_sequences() {
         // given:
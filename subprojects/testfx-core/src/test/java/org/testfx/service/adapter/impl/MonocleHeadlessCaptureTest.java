@@ -0,0 +1,91 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.adapter.impl;
+
+import javafx.geometry.Bounds;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Scene;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.testfx.TestFXRule;
+import org.testfx.api.FxToolkit;
+import org.testfx.service.support.ArgbPixels;
+import org.testfx.util.BoundsQueryUtils;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class MonocleHeadlessCaptureTest {
+
+    @Rule
+    public TestFXRule testFXRule = new TestFXRule();
+
+    Region region;
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Before
+    public void setup() throws Exception {
+        assumeTrue(MonocleHeadlessCapture.isAvailable());
+        FxToolkit.setupStage(stage -> {
+            region = new Region();
+            region.setStyle("-fx-background-color: magenta;");
+            stage.setScene(new Scene(new StackPane(region), 100, 100));
+            stage.show();
+        });
+        WaitForAsyncUtils.waitForFxEvents();
+    }
+
+    @Test
+    public void capture() {
+        // given:
+        Bounds bounds = BoundsQueryUtils.boundsOnScreen(region);
+
+        // when:
+        ArgbPixels pixels = MonocleHeadlessCapture.capture(new Rectangle2D(bounds.getMinX() + 10,
+                bounds.getMinY() + 10, 20, 10));
+
+        // then:
+        assertThat(pixels.getWidth(), is(20));
+        assertThat(pixels.getHeight(), is(10));
+        for (int argb : pixels.getArgbs()) {
+            assertThat(argb, is(0xffff00ff));
+        }
+    }
+
+    @Test
+    public void capture_outside_of_screen() {
+        // when:
+        ArgbPixels pixels = MonocleHeadlessCapture.capture(new Rectangle2D(-2, -2, 4, 4));
+
+        // then:
+        assertThat(pixels.getArgb(0, 0), is(0));
+        assertThat(pixels.getArgb(1, 1), is(0));
+        assertThat(pixels.getArgbs().length, is(16));
+    }
+
+}
@@ -18,6 +18,7 @@ package org.testfx.service.finder.impl;
 
 import java.util.List;
 import java.util.concurrent.TimeoutException;
+import java.util.regex.Pattern;
 import javafx.scene.Scene;
 import javafx.scene.layout.Region;
 import javafx.stage.Stage;
@@ -30,6 +31,7 @@ import org.junit.Rule;
 import org.junit.Test;
 import org.testfx.TestFXRule;
 import org.testfx.api.FxToolkit;
+import org.testfx.util.WaitForAsyncUtils;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 
@@ -172,6 +174,50 @@ public class WindowFinderImplTest {
         assertThat(windowFinder.window("otherWindow"), CoreMatchers.is(otherWindow));
     }
 
+    @Test
+    public void listTargetWindows_ordered_by_proximity() {
+        // given:
+        windowFinder.targetWindow(windowInWindow);
+
+        // when:
+        List<Window> orderedWindows = windowFinder.listTargetWindows();
+
+        // then:
+        assertThat(orderedWindows.get(0), CoreMatchers.is(windowInWindow));
+        assertThat(orderedWindows.get(1), CoreMatchers.is(windowInWindowInWindow));
+        assertThat(orderedWindows.indexOf(window) > 1, CoreMatchers.is(true));
+        assertThat(orderedWindows.indexOf(otherWindow) > 1, CoreMatchers.is(true));
+    }
+
+    @Test
+    public void listWindows_reflects_shown_and_hidden_windows() throws TimeoutException {
+        // given:
+        windowFinder.listWindows();
+        WaitForAsyncUtils.waitForFxEvents();
+        Stage newWindow = FxToolkit.setupFixture(() -> {
+            Stage stage = new Stage();
+            stage.show();
+            return stage;
+        });
+
+        // when:
+        List<Window> windowsAfterShow = windowFinder.listWindows();
+        FxToolkit.setupFixture(newWindow::close);
+        List<Window> windowsAfterHide = windowFinder.listWindows();
+
+        // then:
+        assertThat(windowsAfterShow, CoreMatchers.hasItems((Window) newWindow));
+        assertThat(windowsAfterHide.contains(newWindow), CoreMatchers.is(false));
+    }
+
+    @Test
+    public void window_stageTitlePattern() {
+        // expect:
+        assertThat(windowFinder.window(Pattern.compile("other.*")), CoreMatchers.is(otherWindow));
+        assertThat(windowFinder.window(Pattern.compile("OTHERWINDOW", Pattern.CASE_INSENSITIVE)),
+            CoreMatchers.is(otherWindow));
+    }
+
     @Test
     public void window_scene() {
         // expect:
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.finder.impl;
+
+import java.util.List;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.testfx.TestFXRule;
+import org.testfx.api.FxToolkit;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class WindowRegistryTest {
+
+    @Rule
+    public TestFXRule testFXRule = new TestFXRule();
+
+    ObservableList<Window> windows;
+    WindowRegistry windowRegistry;
+    Stage window;
+    Stage windowInWindow;
+    Stage windowInWindowInWindow;
+    Stage otherWindow;
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Before
+    public void setup() throws Exception {
+        FxToolkit.setupFixture(() -> {
+            window = new Stage();
+            windowInWindow = new Stage();
+            windowInWindow.initOwner(window);
+            windowInWindowInWindow = new Stage();
+            windowInWindowInWindow.initOwner(windowInWindow);
+            otherWindow = new Stage();
+        });
+        windows = FXCollections.observableArrayList(window, otherWindow, windowInWindow, windowInWindowInWindow);
+        windowRegistry = new WindowRegistry(windows);
+        windowRegistry.getWindows();
+        WaitForAsyncUtils.waitForFxEvents();
+    }
+
+    @Test
+    public void getWindows_is_cached_until_windows_change() throws Exception {
+        // given:
+        List<Window> cachedWindows = windowRegistry.getWindows();
+
+        // expect:
+        assertThat(windowRegistry.getWindows(), is(sameInstance(cachedWindows)));
+
+        // when:
+        FxToolkit.setupFixture(() -> windows.remove(otherWindow));
+
+        // then:
+        assertThat(windowRegistry.getWindows().toArray(),
+            is(new Object[] {window, windowInWindow, windowInWindowInWindow}));
+    }
+
+    @Test
+    public void getWindowsByProximityTo() {
+        // when:
+        List<Window> orderedWindows = windowRegistry.getWindowsByProximityTo(windowInWindow);
+
+        // then:
+        assertThat(orderedWindows.toArray(),
+            is(new Object[] {windowInWindow, windowInWindowInWindow, window, otherWindow}));
+        assertThat(windowRegistry.getWindowsByProximityTo(windowInWindow), is(sameInstance(orderedWindows)));
+    }
+
+    @Test
+    public void getWindowsByProximityTo_without_target_window() {
+        // expect:
+        assertThat(windowRegistry.getWindowsByProximityTo(null).toArray(),
+            is(new Object[] {window, otherWindow, windowInWindow, windowInWindowInWindow}));
+    }
+
+    @Test
+    public void getWindowsByProximityTo_is_updated_when_windows_change() throws Exception {
+        // given:
+        windowRegistry.getWindowsByProximityTo(window);
+
+        // when:
+        FxToolkit.setupFixture(() -> windows.remove(windowInWindow));
+
+        // then:
+        assertThat(windowRegistry.getWindowsByProximityTo(window).toArray(),
+            is(new Object[] {window, windowInWindowInWindow, otherWindow}));
+    }
+
+}
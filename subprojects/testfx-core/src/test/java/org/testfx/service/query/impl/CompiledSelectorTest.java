@@ -0,0 +1,142 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.query.impl;
+
+import java.util.Optional;
+import javafx.css.PseudoClass;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.testfx.TestFXRule;
+import org.testfx.api.FxToolkit;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class CompiledSelectorTest {
+
+    @Rule
+    public TestFXRule testFXRule = new TestFXRule();
+
+    VBox root;
+    HBox row;
+    Label cell0;
+    Label cell1;
+    Label looseCell;
+    Button button;
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Before
+    public void setup() throws Exception {
+        FxToolkit.setupFixture(() -> {
+            cell0 = new Label("0");
+            cell0.getStyleClass().add("cell");
+            cell1 = new Label("1");
+            cell1.getStyleClass().add("cell");
+            row = new HBox(cell0, cell1);
+            row.getStyleClass().add("row");
+            looseCell = new Label("loose");
+            looseCell.getStyleClass().add("cell");
+            button = new Button("button");
+            root = new VBox(row, looseCell, button);
+            root.setId("root");
+        });
+    }
+
+    @Test
+    public void compile_is_cached() {
+        assertThat(CompiledSelector.compile("#root .cell"), is(sameInstance(CompiledSelector.compile("#root .cell"))));
+    }
+
+    @Test
+    public void compile_unsupported_selector() {
+        assertThat(CompiledSelector.tryCompile(".cell[text=0]"), is(Optional.empty()));
+        assertThat(CompiledSelector.tryCompile(".row >"), is(Optional.empty()));
+        assertThat(CompiledSelector.tryCompile(""), is(Optional.empty()));
+        assertThatThrownBy(() -> CompiledSelector.compile(".cell + .cell"))
+            .isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void test_style_class_and_id() {
+        assertThat(CompiledSelector.compile(".cell").test(cell0), is(true));
+        assertThat(CompiledSelector.compile(".cell.label").test(cell0), is(true));
+        assertThat(CompiledSelector.compile(".cell").test(button), is(false));
+        assertThat(CompiledSelector.compile("#root").test(root), is(true));
+    }
+
+    @Test
+    public void test_type_and_universal() {
+        assertThat(CompiledSelector.compile("Label.cell").test(cell0), is(true));
+        assertThat(CompiledSelector.compile("Button.cell").test(cell0), is(false));
+        assertThat(CompiledSelector.compile("*").test(button), is(true));
+    }
+
+    @Test
+    public void test_descendant_combinator() {
+        assertThat(CompiledSelector.compile("#root .cell").test(cell0), is(true));
+        assertThat(CompiledSelector.compile("#root .cell").test(looseCell), is(true));
+        assertThat(CompiledSelector.compile(".row .cell").test(looseCell), is(false));
+    }
+
+    @Test
+    public void test_child_combinator() {
+        assertThat(CompiledSelector.compile(".row > .cell").test(cell0), is(true));
+        assertThat(CompiledSelector.compile("#root>.cell").test(cell0), is(false));
+        assertThat(CompiledSelector.compile("#root > .cell").test(looseCell), is(true));
+        assertThat(CompiledSelector.compile("#root > * > .cell").test(cell1), is(true));
+    }
+
+    @Test
+    public void test_selector_group() {
+        assertThat(CompiledSelector.compile(".row > .cell, .button").test(button), is(true));
+        assertThat(CompiledSelector.compile(".row > .cell, .button").test(looseCell), is(false));
+    }
+
+    @Test
+    public void test_pseudo_class() {
+        // given:
+        cell1.pseudoClassStateChanged(PseudoClass.getPseudoClass("selected"), true);
+
+        // then:
+        assertThat(CompiledSelector.compile(".cell:selected").test(cell0), is(false));
+        assertThat(CompiledSelector.compile(".cell:selected").test(cell1), is(true));
+    }
+
+    @Test
+    public void lookup_with_combinators() {
+        // when:
+        Object[] result = new NodeQueryImpl().from(root).lookup("#root > .row .cell").queryAll().toArray();
+
+        // then:
+        assertThat(result, is(new Object[] {cell0, cell1}));
+        assertThat(result, is(root.lookupAll("#root > .row .cell").toArray()));
+    }
+
+}
@@ -16,13 +16,19 @@
  */
 package org.testfx.service.query.impl;
 
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Predicate;
+import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TabPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
@@ -329,4 +335,131 @@ public class NodeQueryImplTest {
         assertThat(result, hasItems(button1));
     }
 
+    @Test
+    public void lazy_lookup_select_selectAt() {
+        // when:
+        Set<Node> result = new NodeQueryImpl(true)
+            .from(rootOfScene(scene))
+            .lookup(bySelector(".button"))
+            .match(hasId("button1"))
+            .nth(0)
+            .queryAll();
+
+        // then:
+        assertThat(result, hasItems(button1));
+    }
+
+    @Test
+    public void lookup_by_predicate_is_run_when_called() {
+        // given:
+        NodeQuery query = new NodeQueryImpl(false)
+            .from(rootOfScene(scene))
+            .lookup((Node node) -> node instanceof Label && ((Label) node).getText().equals("2"));
+
+        // when:
+        label1.setText("2");
+        label2.setText("two");
+        Set<Node> result = query.queryAll();
+
+        // then:
+        assertThat(result, is(Collections.singleton(label2)));
+    }
+
+    @Test
+    public void lazy_lookup_is_run_by_query() {
+        // given:
+        NodeQuery lazyQuery = new NodeQueryImpl(true)
+            .from(rootOfScene(scene))
+            .lookup(bySelector(".label"))
+            .match((Label label) -> label.getText().equals("2"));
+
+        // when:
+        label1.setText("2");
+        label2.setText("two");
+        Node result = lazyQuery.query();
+
+        // then:
+        assertThat(result, is(label1));
+    }
+
+    @Test
+    public void lazy_query_stops_at_first_match() {
+        // given:
+        Set<Node> visitedNodes = new HashSet<>();
+        Predicate<Node> isVisitedLabel = node -> visitedNodes.add(node) && node instanceof Label;
+
+        // when:
+        Node result = new NodeQueryImpl(true)
+            .from(rootOfScene(scene))
+            .lookup(isVisitedLabel)
+            .query();
+
+        // then:
+        assertThat(result, is(label0));
+        assertThat(visitedNodes.contains(button0), is(false));
+    }
+
+    @Test
+    public void lazy_lookup_by_text_stops_at_first_match() {
+        // given:
+        boolean[] traversed = new boolean[1];
+        Pane unvisitedPane = new Pane(new Label("text")) {
+            @Override
+            public ObservableList<Node> getChildrenUnmodifiable() {
+                traversed[0] = true;
+                return super.getChildrenUnmodifiable();
+            }
+        };
+        Label textLabel = new Label("text");
+        VBox parentNode = new VBox(textLabel, unvisitedPane);
+
+        // when:
+        Node result = new NodeQueryImpl(true)
+            .from(parentNode)
+            .lookup("text")
+            .query();
+
+        // then:
+        assertThat(result, is(textLabel));
+        assertThat(traversed[0], is(false));
+    }
+
+    @Test
+    public void lookup_by_id_in_unselected_tab_with_index() throws Exception {
+        // given:
+        Label hiddenLabel = new Label("hidden");
+        hiddenLabel.setId("hidden");
+        TabPane tabPane = new TabPane(new Tab("first", new Label("first")), new Tab("second", hiddenLabel));
+        FxToolkit.setupStage(stage -> scene = new Scene(new StackPane(tabPane)));
+        SceneGraphIndex.attach(scene);
+
+        // when:
+        Set<Node> result;
+        try {
+            result = nodeQuery
+                .from(tabPane)
+                .lookup("#hidden")
+                .queryAll();
+        }
+        finally {
+            SceneGraphIndex.detach(scene);
+        }
+
+        // then:
+        assertThat(result, is(Collections.singleton(hiddenLabel)));
+    }
+
+    @Test
+    public void lazy_tryQuery_absent() {
+        // when:
+        Optional<Node> result = new NodeQueryImpl(true)
+            .from(rootOfScene(scene))
+            .lookup(bySelector(".label"))
+            .nth(99)
+            .tryQuery();
+
+        // then:
+        assertThat(result, is(Optional.empty()));
+    }
+
 }
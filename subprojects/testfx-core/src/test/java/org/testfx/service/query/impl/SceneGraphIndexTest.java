@@ -0,0 +1,198 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.query.impl;
+
+import java.util.Set;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.Labeled;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+import javafx.scene.layout.VBox;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.testfx.TestFXRule;
+import org.testfx.api.FxToolkit;
+
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.testfx.util.WaitForAsyncUtils.waitForAsyncFx;
+
+public class SceneGraphIndexTest {
+
+    @Rule
+    public TestFXRule testFXRule = new TestFXRule();
+
+    Scene scene;
+    VBox root;
+    HBox labels;
+    Label label0;
+    Label label1;
+    Button button0;
+    Button button1;
+    SceneGraphIndex index;
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Before
+    public void setup() throws Exception {
+        FxToolkit.setupStage(stage -> {
+            label0 = new Label("0");
+            label1 = new Label("1");
+            labels = new HBox(label0, label1);
+            labels.setId("labels");
+            button0 = new Button("0");
+            button1 = new Button("1");
+            button1.setId("button1");
+            root = new VBox(labels, new StackPane(button0, button1));
+            scene = new Scene(root);
+        });
+        index = SceneGraphIndex.attach(scene);
+    }
+
+    @After
+    public void cleanup() {
+        SceneGraphIndex.detach(scene);
+    }
+
+    @Test
+    public void attach_returns_attached_index() {
+        assertThat(SceneGraphIndex.attach(scene), is(index));
+    }
+
+    @Test
+    public void lookupById() {
+        assertThat(index.lookupById(root, "button1"), hasItems(button1));
+        assertThat(index.lookupById(labels, "button1").isEmpty(), is(true));
+    }
+
+    @Test
+    public void lookupByStyleClass_in_tree_order() {
+        // when:
+        Set<Node> result = index.lookupByStyleClass(root, "label");
+
+        // then:
+        assertThat(result.toArray(), is(new Object[] {label0, label1}));
+    }
+
+    @Test
+    public void lookupByText_in_tree_order() {
+        // when:
+        Set<Node> result = index.lookupByText(root, "0");
+
+        // then:
+        assertThat(result.toArray(), is(new Object[] {label0, button0}));
+    }
+
+    @Test
+    public void lookupByType() {
+        // when:
+        Set<Labeled> result = index.lookupByType(root, Labeled.class);
+
+        // then:
+        assertThat(result.toArray(), is(new Object[] {label0, label1, button0, button1}));
+    }
+
+    @Test
+    public void updates_on_id_change() {
+        // when:
+        waitForAsyncFx(1000, () -> button1.setId("renamed"));
+
+        // then:
+        assertThat(index.lookupById(root, "button1").isEmpty(), is(true));
+        assertThat(index.lookupById(root, "renamed"), hasItems(button1));
+    }
+
+    @Test
+    public void updates_on_style_class_change() {
+        // when:
+        waitForAsyncFx(1000, () -> label1.getStyleClass().add("highlighted"));
+
+        // then:
+        assertThat(index.lookupByStyleClass(root, "highlighted").toArray(), is(new Object[] {label1}));
+    }
+
+    @Test
+    public void updates_on_text_change() {
+        // when:
+        waitForAsyncFx(1000, () -> label1.setText("0"));
+
+        // then:
+        assertThat(index.lookupByText(root, "0").toArray(), is(new Object[] {label0, label1, button0}));
+    }
+
+    @Test
+    public void updates_on_children_change() {
+        // given:
+        Label label2 = waitForAsyncFx(1000, () -> {
+            Label label = new Label("2");
+            label.setId("label2");
+            return label;
+        });
+
+        // when:
+        waitForAsyncFx(1000, () -> labels.getChildren().add(label2));
+
+        // then:
+        assertThat(index.lookupById(root, "label2"), hasItems(label2));
+
+        // when:
+        waitForAsyncFx(1000, () -> root.getChildren().remove(labels));
+
+        // then:
+        assertThat(index.lookupById(root, "label2").isEmpty(), is(true));
+        assertThat(index.lookupById(root, "labels").isEmpty(), is(true));
+        assertThat(index.contains(label0), is(false));
+    }
+
+    @Test
+    public void keeps_moved_nodes() {
+        // when:
+        waitForAsyncFx(1000, () -> ((StackPane) button1.getParent()).getChildren().add(label0));
+
+        // then:
+        assertThat(index.lookupByText(root, "0").toArray(), is(new Object[] {button0, label0}));
+    }
+
+    @Test
+    public void lookup_with_index_equals_lookup_without_index() {
+        // when:
+        final Object[] indexedById = new NodeQueryImpl().from(root).lookup("#button1").queryAll().toArray();
+        final Object[] indexedByClass = new NodeQueryImpl().from(root).lookup(".button").queryAll().toArray();
+        final Object[] indexedByText = new NodeQueryImpl().from(labels).lookup("1").queryAll().toArray();
+        SceneGraphIndex.detach(scene);
+        Object[] traversedById = new NodeQueryImpl().from(root).lookup("#button1").queryAll().toArray();
+        Object[] traversedByClass = new NodeQueryImpl().from(root).lookup(".button").queryAll().toArray();
+        Object[] traversedByText = new NodeQueryImpl().from(labels).lookup("1").queryAll().toArray();
+
+        // then:
+        assertThat(indexedById, is(traversedById));
+        assertThat(indexedByClass, is(traversedByClass));
+        assertThat(indexedByText, is(traversedByText));
+    }
+
+}
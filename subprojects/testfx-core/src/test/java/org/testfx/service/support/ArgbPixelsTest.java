@@ -0,0 +1,76 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support;
+
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ArgbPixelsTest {
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Test
+    public void of_image() {
+        // given:
+        WritableImage image = new WritableImage(3, 2);
+        image.getPixelWriter().setColor(2, 1, Color.BLUE);
+        image.getPixelWriter().setColor(0, 1, Color.RED);
+
+        // when:
+        ArgbPixels pixels = ArgbPixels.of(image);
+
+        // then:
+        assertThat(pixels.getWidth(), is(3));
+        assertThat(pixels.getHeight(), is(2));
+        assertThat(pixels.getArgb(2, 1), is(0xff0000ff));
+        assertThat(pixels.getArgbs()[3], is(0xffff0000));
+    }
+
+    @Test
+    public void toImage() {
+        // given:
+        ArgbPixels pixels = new ArgbPixels(2, 1, new int[] {0xff00ff00, 0x80ffffff});
+
+        // when:
+        WritableImage image = pixels.toImage();
+
+        // then:
+        assertThat(image.getWidth(), is(2.0));
+        assertThat(image.getPixelReader().getColor(0, 0), is(Color.LIME));
+        assertThat(ArgbPixels.of(image).getArgbs(), is(pixels.getArgbs()));
+    }
+
+    @Test
+    public void pixels_of_wrong_size() {
+        assertThatThrownBy(() -> new ArgbPixels(2, 2, new int[3]))
+            .isExactlyInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new ArgbPixels(2, 2, new int[4]).getArgb(2, 0))
+            .isExactlyInstanceOf(IndexOutOfBoundsException.class);
+    }
+
+}
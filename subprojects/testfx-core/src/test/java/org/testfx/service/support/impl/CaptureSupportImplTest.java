@@ -23,12 +23,15 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.geometry.Rectangle2D;
 import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
 import javafx.scene.layout.Pane;
 import javafx.scene.layout.StackPane;
 import javafx.stage.Stage;
@@ -50,6 +53,7 @@ import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.greaterThanOrEqualTo;
 import static org.testfx.api.FxAssert.verifyThat;
 
@@ -216,6 +220,28 @@ public class CaptureSupportImplTest extends FxRobot {
         verifyThat(result.getNonMatchFactor(), closeTo(0.02, /* tolerance */ 0.01));
     }
 
+    @Test
+    public void match_images_with_custom_matcher_on_calling_thread() {
+        // given:
+        Image image0 = new WritableImage(400, 400);
+        Image image1 = new WritableImage(400, 400);
+        Set<Thread> matchThreads = ConcurrentHashMap.newKeySet();
+        PixelMatcherRgb matcher = new PixelMatcherRgb() {
+            @Override
+            protected boolean matchArgb(int argb0, int argb1) {
+                matchThreads.add(Thread.currentThread());
+                return true;
+            }
+        };
+
+        // when:
+        PixelMatcherResult result = capturer.matchImages(image0, image1, matcher);
+
+        // then:
+        assertThat(result.getMatchPixels(), is(160000L));
+        assertThat(matchThreads, contains(Thread.currentThread()));
+    }
+
     private Path resourcePath(Class<?> contextClass, String resourceName) {
         try {
             URL url = contextClass.getResource(resourceName);
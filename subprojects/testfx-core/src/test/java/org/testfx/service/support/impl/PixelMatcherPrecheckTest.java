@@ -0,0 +1,187 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support.impl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import javafx.embed.swing.SwingFXUtils;
+import javafx.scene.image.Image;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+import javax.imageio.ImageIO;
+
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.testfx.api.FxToolkit;
+import org.testfx.service.support.PixelMatcherResult;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PixelMatcherPrecheckTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Test
+    public void match_identical_images() {
+        // given:
+        WritableImage image0 = createImage(20, 20, Color.BLACK, 0);
+        WritableImage image1 = createImage(20, 20, Color.BLACK, 0);
+
+        // when:
+        PixelMatcherResult result = new PixelMatcherPrecheck(0.9).match(image0, image1);
+
+        // then:
+        assertThat(result.getMatchPixels(), is(400L));
+        assertThat(result.getMatchImage().getPixelReader().getArgb(3, 4),
+            is(new PixelMatcherRgb().match(image0, image1).getMatchImage().getPixelReader().getArgb(3, 4)));
+    }
+
+    @Test
+    public void match_clearly_different_images_returns_early() {
+        // given:
+        WritableImage image0 = createImage(20, 20, Color.BLACK, 0);
+        WritableImage image1 = createImage(20, 20, Color.BLACK, 10);
+
+        // when:
+        PixelMatcherResult result = new PixelMatcherPrecheck(0.9).match(image0, image1);
+
+        // then:
+        assertThat(result.getMatchPixels(), is(0L));
+        assertThat(result.getTotalPixels(), is(400L));
+        assertThat(result.getNonMatchMask().isPresent(), is(false));
+        assertThat(result.getMatchImage().getPixelReader().getArgb(0, 19),
+            is(new PixelMatcherRgb().match(image0, image1).getMatchImage().getPixelReader().getArgb(0, 19)));
+    }
+
+    @Test
+    public void match_similar_images_in_full() {
+        // given:
+        WritableImage image0 = createImage(20, 20, Color.BLACK, 0);
+        WritableImage image1 = createImage(20, 20, Color.BLACK, 1);
+
+        // when:
+        PixelMatcherResult result = new PixelMatcherPrecheck(0.9).match(image0, image1);
+
+        // then:
+        assertThat(result.getMatchPixels(), is(new PixelMatcherRgb().match(image0, image1).getMatchPixels()));
+        assertThat(result.getMatchPixels(), is(380L));
+    }
+
+    @Test
+    public void match_images_with_scattered_differences_in_full() {
+        // given:
+        WritableImage image0 = createImage(32, 32, Color.BLACK, 0);
+        WritableImage image1 = createImage(32, 32, Color.BLACK, 0);
+        for (int y = 0; y < 32; y += 2) {
+            for (int x = 0; x < 32; x += 2) {
+                image1.getPixelWriter().setColor(x, y, Color.WHITE);
+            }
+        }
+
+        // when:
+        PixelMatcherResult result = new PixelMatcherPrecheck(0.5).match(image0, image1);
+
+        // then:
+        assertThat(result.getMatchPixels(), is(new PixelMatcherRgb().match(image0, image1).getMatchPixels()));
+        assertThat(result.getMatchFactor(), is(0.75));
+    }
+
+    @Test
+    public void signature_of_loaded_image_is_cached() throws IOException {
+        // given:
+        Path imagePath = testFolder.newFile("image.png").toPath();
+        ImageIO.write(SwingFXUtils.fromFXImage(createImage(20, 12, Color.BLUE, 3), null), "png",
+            imagePath.toFile());
+        System.setProperty("testfx.capture.signature_dir", testFolder.newFolder("signatures").toString());
+        ImageSignature signature;
+        ImageSignature reloadedSignature;
+        Image image;
+        try {
+            image = new CaptureSupportImpl(null).loadImage(imagePath);
+
+            // when:
+            signature = ImageSignature.of(image);
+            reloadedSignature = ImageSignature.load(imagePath, createImage(20, 12, Color.BLACK, 0));
+        }
+        finally {
+            System.clearProperty("testfx.capture.signature_dir");
+        }
+
+        // then:
+        assertThat(ImageSignature.of(image), is(sameInstance(signature)));
+        assertThat(reloadedSignature, is(not(sameInstance(signature))));
+        assertThat(reloadedSignature.getDigest(), is(signature.getDigest()));
+        assertThat(reloadedSignature.getThumbnail(), is(signature.getThumbnail()));
+        assertThat(signature.getThumbnail().length, is(6));
+    }
+
+    @Test
+    public void signature_of_loaded_image_is_not_computed_by_default() throws IOException {
+        // given:
+        Path imagePath = testFolder.newFile("image.png").toPath();
+        ImageIO.write(SwingFXUtils.fromFXImage(createImage(20, 12, Color.BLUE, 3), null), "png",
+            imagePath.toFile());
+
+        // when:
+        Image image = new CaptureSupportImpl(null).loadImage(imagePath);
+
+        // then:
+        assertThat(ImageSignature.cached(image), is(nullValue()));
+    }
+
+    @Test
+    public void thumbnail_averages_blocks() {
+        // given:
+        int[] argbs = new int[9 * 2];
+        for (int x = 0; x < 9; x++) {
+            argbs[x] = 0xff000000 | (x < 8 ? 0x10 : 0x80);
+            argbs[9 + x] = 0xff000000 | (x < 8 ? 0x30 : 0x80);
+        }
+
+        // when:
+        ImageSignature signature = ImageSignature.compute(argbs, 9, 2);
+
+        // then:
+        assertThat(signature.getThumbnail(), is(new int[] {0xff000020, 0xff000080}));
+    }
+
+    /**
+     * Creates an image of the given color whose first {@code whiteRows} rows are white.
+     */
+    private static WritableImage createImage(int width, int height, Color color, int whiteRows) {
+        WritableImage image = new WritableImage(width, height);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.getPixelWriter().setColor(x, y, y < whiteRows ? Color.WHITE : color);
+            }
+        }
+        return image;
+    }
+
+}
@@ -0,0 +1,241 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support.impl;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+import org.testfx.service.support.ArgbPixels;
+import org.testfx.service.support.PixelMatcherResult;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PixelMatcherRgbTest {
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Test
+    public void matchArgb_equals_matchColors() {
+        Random random = new Random(42);
+        for (double minColorDistFactor : new double[] {0.0, 0.05, 0.2, 0.5, 1.0}) {
+            PixelMatcherRgb matcher = new PixelMatcherRgb(minColorDistFactor, 0.75);
+            for (int i = 0; i < 100000; i++) {
+                int argb0 = random.nextInt();
+                int argb1 = random.nextBoolean() ? random.nextInt() : argb0 ^ (random.nextInt() & 0x3f3f3f);
+                Color color0 = PixelMatcherBase.toColor(argb0);
+                Color color1 = PixelMatcherBase.toColor(argb1);
+                assertThat(matcher.matchArgb(argb0, argb1), is(matcher.matchColors(color0, color1)));
+                assertThat(matcher.createMatchArgb(argb0, argb1),
+                    is(PixelMatcherBase.toArgb(matcher.createMatchColor(color0, color1))));
+            }
+        }
+    }
+
+    @Test
+    public void match() {
+        // given:
+        WritableImage image0 = new WritableImage(2, 2);
+        WritableImage image1 = new WritableImage(2, 2);
+        image0.getPixelWriter().setColor(0, 0, Color.WHITE);
+        image1.getPixelWriter().setColor(0, 0, Color.WHITE);
+        image0.getPixelWriter().setColor(1, 0, Color.BLACK);
+        image1.getPixelWriter().setColor(1, 0, Color.WHITE);
+
+        // when:
+        PixelMatcherResult result = new PixelMatcherRgb().match(image0, image1);
+
+        // then:
+        assertThat(result.getMatchPixels(), is(3L));
+        assertThat(result.getTotalPixels(), is(4L));
+        assertThat(result.getMatchImage().getPixelReader().getArgb(0, 0),
+            is(PixelMatcherBase.toArgb(new PixelMatcherRgb().createMatchColor(Color.WHITE, Color.WHITE))));
+        assertThat(result.getMatchImage().getPixelReader().getColor(1, 0), is(Color.RED));
+    }
+
+    @Test
+    public void match_renders_match_image_on_first_request() {
+        // given:
+        WritableImage image0 = new WritableImage(3, 2);
+        WritableImage image1 = new WritableImage(3, 2);
+        image0.getPixelWriter().setColor(2, 1, Color.BLACK);
+        image1.getPixelWriter().setColor(2, 1, Color.WHITE);
+        AtomicInteger renderedPixels = new AtomicInteger();
+        PixelMatcherRgb matcher = new PixelMatcherRgb() {
+            @Override
+            protected int createMatchArgb(int argb0, int argb1) {
+                renderedPixels.incrementAndGet();
+                return super.createMatchArgb(argb0, argb1);
+            }
+        };
+
+        // when:
+        PixelMatcherResult result = matcher.match(image0, image1);
+
+        // then:
+        assertThat(renderedPixels.get(), is(0));
+        assertThat(result.getNonMatchPixels(), is(1L));
+        assertThat(result.getNonMatchMask().get(), is(BitSet.valueOf(new long[] {1L << 5})));
+        assertThat(result.getMatchImage(), is(sameInstance(result.getMatchImage())));
+        assertThat(renderedPixels.get(), is(5));
+        assertThat(result.getMatchImage().getPixelReader().getColor(2, 1), is(Color.RED));
+    }
+
+    @Test
+    public void match_uses_overridden_color_methods() {
+        // given:
+        WritableImage image0 = new WritableImage(2, 1);
+        WritableImage image1 = new WritableImage(2, 1);
+        image0.getPixelWriter().setColor(1, 0, Color.BLACK);
+        image1.getPixelWriter().setColor(1, 0, Color.WHITE);
+        PixelMatcherRgb matcher = new PixelMatcherRgb() {
+            @Override
+            public boolean matchColors(Color color0, Color color1) {
+                return true;
+            }
+
+            @Override
+            public Color createMatchColor(Color color0, Color color1) {
+                return Color.BLUE;
+            }
+        };
+
+        // when:
+        PixelMatcherResult result = matcher.match(image0, image1);
+
+        // then:
+        assertThat(result.getMatchPixels(), is(2L));
+        assertThat(result.getMatchImage().getPixelReader().getColor(1, 0), is(Color.BLUE));
+    }
+
+    @Test
+    public void match_in_parallel_bands() {
+        // given:
+        Random random = new Random(42);
+        WritableImage image0 = new WritableImage(300, 700);
+        WritableImage image1 = new WritableImage(300, 700);
+        for (int y = 0; y < 700; y++) {
+            for (int x = 0; x < 300; x++) {
+                int argb = random.nextInt() | 0xff000000;
+                image0.getPixelWriter().setArgb(x, y, argb);
+                image1.getPixelWriter().setArgb(x, y, random.nextInt(4) == 0 ? argb ^ 0x808080 : argb);
+            }
+        }
+        PixelMatcherRgb matcher = new PixelMatcherRgb();
+
+        // when:
+        PixelMatcherResult sequentialResult = matcher.match(image0, image1);
+        PixelMatcherResult parallelResult = matcher.match(image0, image1, new ForkJoinPool(4), 1.0);
+
+        // then:
+        assertThat(parallelResult.getMatchPixels(), is(sequentialResult.getMatchPixels()));
+        assertThat(parallelResult.getTotalPixels(), is(210000L));
+        assertThat(parallelResult.getNonMatchMask(), is(sequentialResult.getNonMatchMask()));
+        int[] sequentialArgbs = new int[210000];
+        int[] parallelArgbs = new int[210000];
+        sequentialResult.getMatchImage().getPixelReader()
+            .getPixels(0, 0, 300, 700, PixelFormat.getIntArgbInstance(), sequentialArgbs, 0, 300);
+        parallelResult.getMatchImage().getPixelReader()
+            .getPixels(0, 0, 300, 700, PixelFormat.getIntArgbInstance(), parallelArgbs, 0, 300);
+        assertThat(parallelArgbs, is(sequentialArgbs));
+    }
+
+    @Test
+    public void match_stops_when_non_match_budget_is_exceeded() {
+        // given:
+        WritableImage image0 = new WritableImage(10, 10);
+        WritableImage image1 = new WritableImage(10, 10);
+        for (int y = 0; y < 10; y++) {
+            for (int x = 0; x < 10; x++) {
+                image0.getPixelWriter().setColor(x, y, Color.BLACK);
+                image1.getPixelWriter().setColor(x, y, y < 5 ? Color.WHITE : Color.BLACK);
+            }
+        }
+
+        // when:
+        PixelMatcherResult result = new PixelMatcherRgb().match(image0, image1, null, 0.1);
+
+        // then:
+        assertThat(result.getMatchPixels(), is(0L));
+        assertThat(result.getTotalPixels(), is(100L));
+        assertThat(result.getMatchImage().getPixelReader().getColor(0, 1), is(Color.RED));
+        assertThat(result.getMatchImage().getPixelReader().getArgb(0, 2), is(0));
+        assertThat(result.getNonMatchMask().get().cardinality(), is(20));
+    }
+
+    @Test
+    public void match_pixels_like_images() {
+        // given:
+        Random random = new Random(42);
+        WritableImage image0 = new WritableImage(300, 700);
+        WritableImage image1 = new WritableImage(300, 700);
+        for (int y = 0; y < 700; y++) {
+            for (int x = 0; x < 300; x++) {
+                int argb = random.nextInt() | 0xff000000;
+                image0.getPixelWriter().setArgb(x, y, argb);
+                image1.getPixelWriter().setArgb(x, y, random.nextInt(4) == 0 ? argb ^ 0x808080 : argb);
+            }
+        }
+        PixelMatcherRgb matcher = new PixelMatcherRgb();
+
+        // when:
+        PixelMatcherResult imageResult = matcher.match(image0, image1);
+        PixelMatcherResult pixelsResult = matcher.match(ArgbPixels.of(image0), ArgbPixels.of(image1),
+            new ForkJoinPool(4), 1.0);
+
+        // then:
+        assertThat(pixelsResult.getMatchPixels(), is(imageResult.getMatchPixels()));
+        assertThat(pixelsResult.getTotalPixels(), is(210000L));
+        assertThat(ArgbPixels.of(pixelsResult.getMatchImage()).getArgbs(),
+            is(ArgbPixels.of(imageResult.getMatchImage()).getArgbs()));
+    }
+
+    @Test
+    public void match_pixels_of_different_sizes() {
+        // given:
+        ArgbPixels pixels0 = new ArgbPixels(3, 1, new int[] {0xffffffff, 0xffffffff, 0xffffffff});
+        ArgbPixels pixels1 = new ArgbPixels(2, 2, new int[] {0xffffffff, 0xff000000, 0xffffffff, 0xffffffff});
+
+        // when:
+        PixelMatcherResult result = new PixelMatcherRgb().match(pixels0, pixels1);
+
+        // then:
+        assertThat(result.getTotalPixels(), is(6L));
+        assertThat(result.getMatchPixels(), is(2L));
+        assertThat(result.getMatchImage().getPixelReader().getColor(1, 0), is(Color.RED));
+    }
+
+    @Test
+    public void match_with_invalid_non_match_budget() {
+        assertThatThrownBy(() -> new PixelMatcherRgb().match(new WritableImage(1, 1), new WritableImage(1, 1),
+            null, 1.5)).isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+}
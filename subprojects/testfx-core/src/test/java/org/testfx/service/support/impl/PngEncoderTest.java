@@ -0,0 +1,172 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.service.support.impl;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.zip.Deflater;
+import javafx.scene.image.WritableImage;
+import javax.imageio.ImageIO;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+import org.testfx.service.support.ArgbPixels;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PngEncoderTest {
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Test
+    public void write_decodes_to_same_rgb_pixels() throws IOException {
+        // given:
+        Random random = new Random(42);
+        WritableImage image = new WritableImage(301, 257);
+        for (int y = 0; y < 257; y++) {
+            for (int x = 0; x < 301; x++) {
+                image.getPixelWriter().setArgb(x, y, random.nextInt(3) == 0 ? random.nextInt() | 0xff000000 :
+                    0xff336699);
+            }
+        }
+
+        // when:
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        PngEncoder.write(image, outputStream, Deflater.DEFAULT_COMPRESSION);
+        BufferedImage decodedImage = ImageIO.read(new ByteArrayInputStream(outputStream.toByteArray()));
+
+        // then:
+        assertThat(decodedImage.getWidth(), is(301));
+        assertThat(decodedImage.getHeight(), is(257));
+        for (int y = 0; y < 257; y++) {
+            for (int x = 0; x < 301; x++) {
+                assertThat(decodedImage.getRGB(x, y), is(image.getPixelReader().getArgb(x, y)));
+            }
+        }
+    }
+
+    @Test
+    public void write_translucent_pixels_as_rgba() throws IOException {
+        // given:
+        Random random = new Random(42);
+        WritableImage image = new WritableImage(301, 257);
+        for (int y = 0; y < 257; y++) {
+            for (int x = 0; x < 301; x++) {
+                image.getPixelWriter().setArgb(x, y, random.nextInt());
+            }
+        }
+
+        // when:
+        ByteArrayOutputStream imageStream = new ByteArrayOutputStream();
+        PngEncoder.write(image, imageStream, Deflater.DEFAULT_COMPRESSION);
+        ByteArrayOutputStream pixelsStream = new ByteArrayOutputStream();
+        PngEncoder.write(new ArgbPixels(1, 1, new int[] {0x80ff8000}), pixelsStream, Deflater.DEFAULT_COMPRESSION);
+
+        // then:
+        BufferedImage decodedImage = ImageIO.read(new ByteArrayInputStream(imageStream.toByteArray()));
+        assertThat(decodedImage.getColorModel().hasAlpha(), is(true));
+        for (int y = 0; y < 257; y++) {
+            for (int x = 0; x < 301; x++) {
+                assertThat(decodedImage.getRGB(x, y), is(image.getPixelReader().getArgb(x, y)));
+            }
+        }
+        BufferedImage decodedPixels = ImageIO.read(new ByteArrayInputStream(pixelsStream.toByteArray()));
+        assertThat(decodedPixels.getRGB(0, 0), is(0x80ff8000));
+    }
+
+    @Test
+    public void write_opaque_pixels_as_rgb() throws IOException {
+        // given:
+        WritableImage image = new WritableImage(10, 10);
+        image.getPixelWriter().setArgb(3, 4, 0xff336699);
+
+        // when:
+        ByteArrayOutputStream translucentStream = new ByteArrayOutputStream();
+        PngEncoder.write(image, translucentStream, Deflater.DEFAULT_COMPRESSION);
+        ByteArrayOutputStream opaqueStream = new ByteArrayOutputStream();
+        PngEncoder.write(new ArgbPixels(1, 1, new int[] {0xff336699}), opaqueStream, Deflater.DEFAULT_COMPRESSION);
+
+        // then:
+        BufferedImage decodedTranslucent = ImageIO.read(new ByteArrayInputStream(translucentStream.toByteArray()));
+        assertThat(decodedTranslucent.getColorModel().hasAlpha(), is(true));
+        BufferedImage decodedOpaque = ImageIO.read(new ByteArrayInputStream(opaqueStream.toByteArray()));
+        assertThat(decodedOpaque.getColorModel().hasAlpha(), is(false));
+        assertThat(decodedOpaque.getRGB(0, 0), is(0xff336699));
+    }
+
+    @Test
+    public void write_pixels_like_image() throws IOException {
+        // given:
+        Random random = new Random(42);
+        WritableImage image = new WritableImage(301, 257);
+        for (int y = 0; y < 257; y++) {
+            for (int x = 0; x < 301; x++) {
+                image.getPixelWriter().setArgb(x, y, random.nextInt() | 0xff000000);
+            }
+        }
+
+        // when:
+        ByteArrayOutputStream imageStream = new ByteArrayOutputStream();
+        PngEncoder.write(image, imageStream, Deflater.DEFAULT_COMPRESSION);
+        ByteArrayOutputStream pixelsStream = new ByteArrayOutputStream();
+        PngEncoder.write(ArgbPixels.of(image), pixelsStream, Deflater.DEFAULT_COMPRESSION);
+
+        // then:
+        assertThat(pixelsStream.toByteArray(), is(imageStream.toByteArray()));
+    }
+
+    @Test
+    public void write_image_once() throws IOException {
+        // given:
+        WritableImage image = new WritableImage(10, 10);
+
+        // when:
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        PngEncoder.write(image, outputStream, Deflater.BEST_SPEED);
+
+        // then:
+        String content = new String(outputStream.toByteArray(), StandardCharsets.ISO_8859_1);
+        assertThat(content.indexOf("IHDR"), is(content.lastIndexOf("IHDR")));
+        assertThat(content.indexOf("IEND"), is(content.length() - 8));
+    }
+
+    @Test
+    public void compression_level_is_applied() throws IOException {
+        // given:
+        WritableImage image = new WritableImage(200, 200);
+
+        // when:
+        ByteArrayOutputStream storedStream = new ByteArrayOutputStream();
+        PngEncoder.write(image, storedStream, Deflater.NO_COMPRESSION);
+        ByteArrayOutputStream compressedStream = new ByteArrayOutputStream();
+        PngEncoder.write(image, compressedStream, Deflater.BEST_COMPRESSION);
+
+        // then:
+        assertThat(storedStream.size() > 200 * 200 * 3, is(true));
+        assertThat(compressedStream.size() < 1000, is(true));
+    }
+
+}
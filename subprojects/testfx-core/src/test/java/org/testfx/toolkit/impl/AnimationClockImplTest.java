@@ -0,0 +1,108 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.toolkit.impl;
+
+import java.util.concurrent.TimeUnit;
+import javafx.animation.KeyFrame;
+import javafx.animation.KeyValue;
+import javafx.animation.Timeline;
+import javafx.beans.property.DoubleProperty;
+import javafx.beans.property.SimpleDoubleProperty;
+import javafx.util.Duration;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+import org.testfx.toolkit.AnimationClock;
+import org.testfx.util.WaitForAsyncUtils;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class AnimationClockImplTest {
+
+    AnimationClock animationClock = new AnimationClockImpl();
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @After
+    public void cleanup() {
+        animationClock.stopVirtualTime();
+    }
+
+    @Test
+    public void advance_runs_animation_to_end() throws Exception {
+        // given:
+        DoubleProperty value = new SimpleDoubleProperty(0);
+        animationClock.startVirtualTime(0);
+        Timeline timeline = new Timeline(new KeyFrame(Duration.seconds(10), new KeyValue(value, 100)));
+        WaitForAsyncUtils.waitForAsyncFx(1000, timeline::play);
+
+        // when:
+        animationClock.advance(5, TimeUnit.SECONDS);
+
+        // then:
+        assertThat(WaitForAsyncUtils.waitForAsyncFx(1000, value::get), is(50.0));
+
+        // when:
+        animationClock.advance(5, TimeUnit.SECONDS);
+
+        // then:
+        assertThat(WaitForAsyncUtils.waitForAsyncFx(1000, value::get), is(100.0));
+    }
+
+    @Test
+    public void virtual_time_stands_still_without_rate() throws Exception {
+        // given:
+        DoubleProperty value = new SimpleDoubleProperty(0);
+        animationClock.startVirtualTime(0);
+        Timeline timeline = new Timeline(new KeyFrame(Duration.millis(100), new KeyValue(value, 100)));
+        WaitForAsyncUtils.waitForAsyncFx(1000, timeline::play);
+
+        // when:
+        Thread.sleep(200);
+
+        // then:
+        assertThat(WaitForAsyncUtils.waitForAsyncFx(1000, value::get), is(0.0));
+    }
+
+    @Test
+    public void virtual_time_runs_at_rate() throws Exception {
+        // given:
+        DoubleProperty value = new SimpleDoubleProperty(0);
+        animationClock.startVirtualTime(100);
+        Timeline timeline = new Timeline(new KeyFrame(Duration.seconds(10), new KeyValue(value, 100)));
+
+        // when:
+        WaitForAsyncUtils.waitForAsyncFx(1000, timeline::play);
+
+        // then:
+        WaitForAsyncUtils.waitFor(2, TimeUnit.SECONDS, () -> value.get() == 100.0);
+    }
+
+    @Test
+    public void advance_in_real_time() {
+        assertThatThrownBy(() -> animationClock.advance(1, TimeUnit.SECONDS))
+                .isExactlyInstanceOf(IllegalStateException.class);
+    }
+
+}
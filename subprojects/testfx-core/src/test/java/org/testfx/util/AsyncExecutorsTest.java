@@ -0,0 +1,106 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class AsyncExecutorsTest {
+
+    @Test
+    public void bounded_executor_rejects_tasks_beyond_its_queue() throws Exception {
+        // given:
+        ExecutorService executorService = AsyncExecutors.create("bounded", 1, 1, "abort");
+        CountDownLatch latch = new CountDownLatch(1);
+
+        // when:
+        Future<?> running = executorService.submit(() -> {
+            latch.await();
+            return null;
+        });
+        Future<?> queued = executorService.submit(() -> { });
+
+        // then:
+        try {
+            assertThatThrownBy(() -> executorService.submit(() -> { }))
+                    .isExactlyInstanceOf(RejectedExecutionException.class);
+        }
+        finally {
+            latch.countDown();
+        }
+        running.get();
+        queued.get();
+        executorService.shutdown();
+    }
+
+    @Test
+    public void bounded_executor_runs_rejected_tasks_on_caller() throws Exception {
+        // given:
+        ExecutorService executorService = AsyncExecutors.create("bounded", 1, 1, "caller_runs");
+        CountDownLatch latch = new CountDownLatch(1);
+        executorService.submit(() -> {
+            latch.await();
+            return null;
+        });
+        executorService.submit(() -> { });
+
+        // when:
+        Thread[] thread = new Thread[1];
+        executorService.submit(() -> thread[0] = Thread.currentThread());
+        latch.countDown();
+
+        // then:
+        assertThat(thread[0], is(Thread.currentThread()));
+        executorService.shutdown();
+    }
+
+    @Test
+    public void virtual_executor_runs_virtual_threads() throws Exception {
+        // given:
+        Method isVirtual = virtualThreadsMethod();
+        ExecutorService executorService = AsyncExecutors.create("virtual", 1, 1, "abort");
+
+        // when:
+        Thread thread = executorService.submit(Thread::currentThread).get();
+
+        // then:
+        assertThat(isVirtual.invoke(thread), is(true));
+        assertThat(thread.isDaemon(), is(true));
+        executorService.shutdown();
+    }
+
+    private static Method virtualThreadsMethod() {
+        try {
+            return Thread.class.getMethod("isVirtual");
+        }
+        catch (NoSuchMethodException e) {
+            assumeTrue("virtual threads require Java 21+", false);
+            return null;
+        }
+    }
+
+}
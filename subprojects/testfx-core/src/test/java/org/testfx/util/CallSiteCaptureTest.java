@@ -0,0 +1,78 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import org.junit.Test;
+import org.testfx.util.CallSiteCapture.Mode;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class CallSiteCaptureTest {
+
+    @Test
+    public void capture_full() {
+        // when:
+        StackTraceElement[] trace = new CallSiteCapture(Mode.FULL, 1, 1).capture().get();
+
+        // then:
+        assertThat(trace.length > 1, is(true));
+        assertThat(trace[0].getClassName(), is(CallSiteCaptureTest.class.getName()));
+        assertThat(trace[0].getMethodName(), is("capture_full"));
+    }
+
+    @Test
+    public void capture_bounded() {
+        // when:
+        StackTraceElement[] trace = new CallSiteCapture(Mode.BOUNDED, 2, 1).capture().get();
+
+        // then:
+        assertThat(trace.length, is(2));
+        assertThat(trace[0].getClassName(), is(CallSiteCaptureTest.class.getName()));
+        assertThat(trace[0].getMethodName(), is("capture_bounded"));
+    }
+
+    @Test
+    public void capture_sampled() {
+        // given:
+        CallSiteCapture callSiteCapture = new CallSiteCapture(Mode.SAMPLED, 1, 3);
+
+        // when:
+        List<Supplier<StackTraceElement[]>> callSites = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            callSites.add(callSiteCapture.capture());
+        }
+
+        // then:
+        assertThat(callSites.get(0), is(notNullValue()));
+        assertThat(callSites.get(1), is(nullValue()));
+        assertThat(callSites.get(2), is(nullValue()));
+        assertThat(callSites.get(3).get()[0].getMethodName(), is("capture_sampled"));
+    }
+
+    @Test
+    public void capture_off() {
+        assertThat(new CallSiteCapture(Mode.OFF, 1, 1).capture(), is(nullValue()));
+    }
+
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class ColorUtilsTest {
+
+    static List<String> namedColors;
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+        namedColors = new ArrayList<>();
+        for (Field field : Color.class.getFields()) {
+            if (Modifier.isStatic(field.getModifiers()) && field.getType() == Color.class &&
+                    ColorUtils.getNamedColor(field.getName()).isPresent()) {
+                namedColors.add(field.getName());
+            }
+        }
+        Collections.sort(namedColors);
+    }
+
+    @Test
+    public void getClosestNamedColor_equals_linear_search() {
+        Random random = new Random(42);
+        for (int i = 0; i < 200000; i++) {
+            int rgb = random.nextInt(0x1000000);
+            assertThat(ColorUtils.getClosestNamedColor(rgb), is(closestNamedColor(rgb)));
+        }
+        for (String namedColor : namedColors) {
+            int rgb = Integer.parseInt(ColorUtils.getNamedColor(namedColor).get().toString().substring(2, 8), 16);
+            assertThat(ColorUtils.getClosestNamedColor(rgb), is(closestNamedColor(rgb)));
+        }
+    }
+
+    @Test
+    public void getClosestNamedColor_color() {
+        assertThat(ColorUtils.getClosestNamedColor(Color.rgb(250, 5, 5)), is(Color.RED));
+        assertThat(ColorUtils.getClosestNamedColor(Color.CYAN), is(Color.AQUA));
+    }
+
+    @Test
+    public void getNamedColor() {
+        assertThat(ColorUtils.getNamedColor("aliceBlue"), is(Optional.of(Color.ALICEBLUE)));
+        assertThat(ColorUtils.getNamedColor("transparent"), is(Optional.empty()));
+        assertThat(ColorUtils.getNamedColor(Color.WHEAT), is(Optional.of(Color.WHEAT)));
+        assertThat(ColorUtils.getNamedColor(Color.rgb(1, 2, 3)), is(Optional.empty()));
+        assertThat(ColorUtils.getNamedColor(0x00FFFF), is(Optional.of("AQUA")));
+        assertThat(ColorUtils.getNamedColor(0x010203), is(Optional.empty()));
+    }
+
+    @Test
+    public void getClosestNamedColors_image() {
+        // given:
+        WritableImage image = new WritableImage(2, 2);
+        image.getPixelWriter().setColor(0, 0, Color.rgb(250, 5, 5));
+        image.getPixelWriter().setColor(1, 0, Color.rgb(250, 5, 5));
+        image.getPixelWriter().setColor(0, 1, Color.rgb(5, 5, 250));
+        image.getPixelWriter().setColor(1, 1, Color.WHEAT);
+
+        // when:
+        String[] result = ColorUtils.getClosestNamedColors(image);
+
+        // then:
+        assertThat(result, is(new String[] {"RED", "RED", "BLUE", "WHEAT"}));
+    }
+
+    private static String closestNamedColor(int rgb) {
+        Color color = Color.rgb(rgb >> 16, (rgb >> 8) & 0xFF, rgb & 0xFF);
+        String closestNamedColor = null;
+        double minDistance = Double.MAX_VALUE;
+        for (String namedColor : namedColors) {
+            double distance = ColorUtils.calculateColorDistSq(color, ColorUtils.getNamedColor(namedColor).get());
+            if (distance < minDistance) {
+                minDistance = distance;
+                closestNamedColor = namedColor;
+            }
+        }
+        return closestNamedColor;
+    }
+
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import javafx.scene.Group;
+import javafx.scene.Node;
+import javafx.scene.layout.Region;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.testfx.TestFXRule;
+import org.testfx.api.FxToolkit;
+import org.testfx.util.NodeQueryUtils.TraversalOrder;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class NodeQueryUtilsTest {
+
+    @Rule
+    public TestFXRule testFXRule = new TestFXRule();
+
+    Group root;
+    Group group0;
+    Group group1;
+    Region region00;
+    Region region01;
+    Region region10;
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Before
+    public void setup() {
+        region00 = new Region();
+        region01 = new Region();
+        region10 = new Region();
+        group0 = new Group(region00, region01);
+        group1 = new Group(region10);
+        root = new Group(group0, group1);
+    }
+
+    @Test
+    public void traverse_depth_first() {
+        // when:
+        List<Node> visitedNodes = new ArrayList<>();
+        NodeQueryUtils.traverse(root, TraversalOrder.DEPTH_FIRST, visitedNodes::add);
+
+        // then:
+        assertThat(visitedNodes.toArray(), is(new Object[] {root, group0, region00, region01, group1, region10}));
+    }
+
+    @Test
+    public void traverse_breadth_first() {
+        // when:
+        List<Node> visitedNodes = new ArrayList<>();
+        NodeQueryUtils.traverse(root, TraversalOrder.BREADTH_FIRST, visitedNodes::add);
+
+        // then:
+        assertThat(visitedNodes.toArray(), is(new Object[] {root, group0, group1, region00, region01, region10}));
+    }
+
+    @Test
+    public void traverse_stops_when_visitor_returns_false() {
+        // when:
+        List<Node> visitedNodes = new ArrayList<>();
+        NodeQueryUtils.traverse(root, TraversalOrder.DEPTH_FIRST, node -> visitedNodes.add(node) && node != group0);
+
+        // then:
+        assertThat(visitedNodes.toArray(), is(new Object[] {root, group0}));
+    }
+
+    @Test
+    public void byPredicate_in_breadth_first_order() {
+        // when:
+        Set<Node> result = NodeQueryUtils.byPredicate(node -> node instanceof Region, TraversalOrder.BREADTH_FIRST)
+            .apply(root);
+
+        // then:
+        assertThat(result.toArray(), is(new Object[] {region00, region01, region10}));
+    }
+
+    @Test
+    public void lookupLazily_first() {
+        // given:
+        Node[] firstNode = new Node[1];
+
+        // when:
+        boolean found = NodeQueryUtils.lookupLazily(root, node -> node instanceof Region)
+            .tryAdvance(node -> firstNode[0] = node);
+
+        // then:
+        assertThat(found, is(true));
+        assertThat(firstNode[0], is(region00));
+    }
+
+    @Test
+    public void lookupLazily_absent() {
+        // when:
+        boolean found = NodeQueryUtils.lookupLazily(group1, node -> node == region00).tryAdvance(node -> { });
+
+        // then:
+        assertThat(found, is(false));
+    }
+
+    @Test
+    public void byPredicate_on_deep_scene_graph() {
+        // given:
+        Region leaf = new Region();
+        Node deepRoot = leaf;
+        for (int i = 0; i < 20000; i++) {
+            deepRoot = new Group(deepRoot);
+        }
+
+        // when:
+        Set<Node> result = NodeQueryUtils.byPredicate(node -> node instanceof Region).apply(deepRoot);
+
+        // then:
+        assertThat(result.toArray(), is(new Object[] {leaf}));
+    }
+
+}
@@ -0,0 +1,97 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import javafx.geometry.Point2D;
+import javafx.geometry.Rectangle2D;
+import javafx.scene.image.WritableImage;
+import javafx.scene.paint.Color;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class PixelSamplingUtilsTest {
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @Test
+    public void boundsOf() {
+        // expect:
+        assertThat(PixelSamplingUtils.boundsOf(Arrays.asList(new Point2D(10.5, 20.5), new Point2D(3, 40.9))),
+            is(new Rectangle2D(3, 20, 8, 21)));
+        assertThat(PixelSamplingUtils.boundsOf(Collections.singletonList(new Point2D(7, 8))),
+            is(new Rectangle2D(7, 8, 2, 2)));
+        assertThatThrownBy(() -> PixelSamplingUtils.boundsOf(Collections.emptyList()))
+            .isExactlyInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void capturePixelColors_captures_once() {
+        // given:
+        List<Rectangle2D> capturedRegions = new ArrayList<>();
+
+        // when:
+        List<Color> colors = PixelSamplingUtils.capturePixelColors(
+            Arrays.asList(new Point2D(10, 10), new Point2D(14, 12), new Point2D(10, 12)), region -> {
+                capturedRegions.add(region);
+                WritableImage image = new WritableImage((int) region.getWidth(), (int) region.getHeight());
+                image.getPixelWriter().setColor(0, 0, Color.RED);
+                image.getPixelWriter().setColor(4, 2, Color.BLUE);
+                return image;
+            });
+
+        // then:
+        assertThat(capturedRegions, is(Collections.singletonList(new Rectangle2D(10, 10, 5, 3))));
+        assertThat(colors.toArray(), is(new Object[] {Color.RED, Color.BLUE, Color.TRANSPARENT}));
+    }
+
+    @Test
+    public void capturePixelColors_without_locations() {
+        // expect:
+        assertThat(PixelSamplingUtils.capturePixelColors(Collections.emptyList(), region -> {
+            throw new AssertionError("must not capture");
+        }), is(Collections.emptyList()));
+    }
+
+    @Test
+    public void readPixelColors_from_scaled_image() {
+        // given:
+        WritableImage image = new WritableImage(20, 20);
+        image.getPixelWriter().setColor(10, 10, Color.GREEN);
+        image.getPixelWriter().setColor(18, 18, Color.YELLOW);
+
+        // when:
+        List<Color> colors = PixelSamplingUtils.readPixelColors(image, new Rectangle2D(100, 100, 10, 10),
+            Arrays.asList(new Point2D(105, 105), new Point2D(109.5, 109.5)));
+
+        // then:
+        assertThat(colors.toArray(), is(new Object[] {Color.GREEN, Color.YELLOW}));
+    }
+
+}
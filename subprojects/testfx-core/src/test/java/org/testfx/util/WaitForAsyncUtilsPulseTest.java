@@ -0,0 +1,116 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.scene.Scene;
+import javafx.scene.layout.Region;
+import javafx.scene.layout.StackPane;
+
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.testfx.TestFXRule;
+import org.testfx.api.FxToolkit;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.Assume.assumeTrue;
+
+public class WaitForAsyncUtilsPulseTest {
+
+    @Rule
+    public TestFXRule testFXRule = new TestFXRule();
+
+    StackPane root;
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+        assumeTrue(FxPulses.isSupported());
+    }
+
+    @Before
+    public void setup() throws Exception {
+        FxToolkit.setupStage(stage -> {
+            root = new StackPane(new Region());
+            stage.setScene(new Scene(root, 100, 100));
+            stage.show();
+        });
+    }
+
+    @Test
+    public void waitForPulses() throws Exception {
+        // given:
+        long pulseCount = FxPulses.getPulseCount();
+
+        // when:
+        WaitForAsyncUtils.waitForPulses(1000, MILLISECONDS, 3);
+
+        // then:
+        assertThat(FxPulses.getPulseCount() - pulseCount >= 3, is(true));
+    }
+
+    @Test
+    public void waitForQuietPulse_after_layout() throws Exception {
+        // given:
+        AtomicInteger layoutCount = new AtomicInteger();
+        Region region = new Region() {
+            @Override
+            protected void layoutChildren() {
+                layoutCount.incrementAndGet();
+                super.layoutChildren();
+            }
+        };
+        WaitForAsyncUtils.asyncFx(() -> root.getChildren().add(region));
+
+        // when:
+        WaitForAsyncUtils.waitForQuietPulse(1000, MILLISECONDS);
+
+        // then:
+        assertThat(layoutCount.get() > 0, is(true));
+        assertThat(root.isNeedsLayout(), is(false));
+    }
+
+    @Test
+    public void waitForPulses_without_showing_scenes() throws Exception {
+        // given:
+        FxToolkit.hideStage();
+        assumeTrue(WaitForAsyncUtils.waitForAsyncFx(1000, () -> !FxPulses.hasShowingScenes()));
+
+        // when:
+        WaitForAsyncUtils.waitForPulses(500, MILLISECONDS, 1);
+        WaitForAsyncUtils.waitForQuietPulse(500, MILLISECONDS);
+    }
+
+    @Test
+    public void waitForPulses_on_fx_thread() {
+        assertThatThrownBy(() -> WaitForAsyncUtils.waitForAsyncFx(1000, () -> {
+            try {
+                WaitForAsyncUtils.waitForPulses(1000, MILLISECONDS, 1);
+            }
+            catch (TimeoutException e) {
+                throw new RuntimeException(e);
+            }
+        })).hasRootCauseExactlyInstanceOf(IllegalStateException.class);
+    }
+
+}
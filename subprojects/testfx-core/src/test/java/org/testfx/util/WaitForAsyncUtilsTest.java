@@ -16,12 +16,21 @@
  */
 package org.testfx.util;
 
+import java.util.Arrays;
 import java.util.concurrent.Callable;
 import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.TimeoutException;
 import javafx.beans.property.BooleanProperty;
+import javafx.beans.property.IntegerProperty;
 import javafx.beans.property.SimpleBooleanProperty;
+import javafx.beans.property.SimpleIntegerProperty;
+import javafx.scene.Scene;
+import javafx.scene.layout.Pane;
+import javafx.scene.layout.Region;
 
 import org.hamcrest.CoreMatchers;
 import org.junit.BeforeClass;
@@ -32,6 +41,7 @@ import org.junit.rules.Timeout;
 import org.testfx.api.FxToolkit;
 
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.junit.Assert.assertTrue;
@@ -266,6 +276,47 @@ public class WaitForAsyncUtilsTest {
         })).hasCauseExactlyInstanceOf(UnsupportedOperationException.class);
     }
 
+    @Test
+    public void waitFor_with_booleanCallable_and_dependency() throws Exception {
+        // given:
+        IntegerProperty property = new SimpleIntegerProperty(0);
+
+        // when:
+        WaitForAsyncUtils.async(() -> {
+            for (int i = 1; i <= 3; i++) {
+                Thread.sleep(50);
+                property.set(i);
+            }
+            return null;
+        });
+
+        // then:
+        WaitForAsyncUtils.waitFor(1000, MILLISECONDS, () -> property.get() == 3, property);
+        WaitStatistics statistics = WaitForAsyncUtils.lastWaitStatistics();
+        assertThat(statistics.isTimedOut(), CoreMatchers.is(false));
+        assertThat(statistics.getInvalidationWakeUps() >= 3, CoreMatchers.is(true));
+        assertThat(statistics.getEvaluations(), CoreMatchers.is(1 + statistics.getInvalidationWakeUps() +
+                statistics.getPulseWakeUps() + statistics.getPollWakeUps()));
+    }
+
+    @Test
+    public void waitFor_with_booleanCallable_records_slowest_waits() {
+        // given:
+        WaitForAsyncUtils.clearWaitStatistics();
+
+        // when:
+        assertThatThrownBy(() -> WaitForAsyncUtils.waitFor(100, MILLISECONDS, () -> false))
+                .isExactlyInstanceOf(TimeoutException.class);
+
+        // then:
+        WaitStatistics statistics = WaitForAsyncUtils.slowestWaitStatistics().get(0);
+        assertThat(statistics.isTimedOut(), CoreMatchers.is(true));
+        assertThat(statistics.getElapsedNanos() >= MILLISECONDS.toNanos(100), CoreMatchers.is(true));
+        assertThat(Arrays.stream(statistics.getCallSite()).anyMatch(element ->
+                element.getMethodName().equals("waitFor_with_booleanCallable_records_slowest_waits")),
+                CoreMatchers.is(true));
+    }
+
     @Test
     public void waitFor_with_booleanValue() throws Exception {
         // given:
@@ -299,6 +350,58 @@ public class WaitForAsyncUtilsTest {
                 .isExactlyInstanceOf(TimeoutException.class);
     }
 
+    @Test
+    public void waitForFxEvents_waits_for_pending_layout() throws Exception {
+        // given:
+        Pane root = new Pane();
+        FxToolkit.setupStage(stage -> {
+            stage.setScene(new Scene(root, 100, 100));
+            stage.show();
+        });
+        Region region = new Region();
+        region.setPrefSize(40, 30);
+
+        try {
+            // when:
+            WaitForAsyncUtils.asyncFx(() -> root.getChildren().add(region));
+            WaitForAsyncUtils.waitForFxEvents();
+
+            // then:
+            assertThat(region.getWidth(), CoreMatchers.is(40.0));
+        }
+        finally {
+            FxToolkit.hideStage();
+        }
+    }
+
+    @Test
+    public void waitForFxEvents_waits_for_slow_fx_tasks() {
+        // given:
+        BooleanProperty property = new SimpleBooleanProperty(false);
+        WaitForAsyncUtils.asyncFx(() -> {
+            WaitForAsyncUtils.sleep(200, MILLISECONDS);
+            property.set(true);
+        });
+
+        // when:
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        assertThat(property.get(), CoreMatchers.is(true));
+    }
+
+    @Test
+    public void waitForFxEvents_keeps_interrupt_status() {
+        // given:
+        Thread.currentThread().interrupt();
+
+        // when:
+        WaitForAsyncUtils.waitForFxEvents();
+
+        // then:
+        assertThat(Thread.interrupted(), CoreMatchers.is(true));
+    }
+
     @Test
     public void daemonThreads() throws Exception {
         final Future<Thread> future = WaitForAsyncUtils.async(Thread::currentThread);
@@ -306,6 +409,51 @@ public class WaitForAsyncUtilsTest {
         assertThat(thread.isDaemon(), CoreMatchers.is(true));
     }
 
+    @Test
+    public void leakedTaskCount() throws Exception {
+        // given:
+        CountDownLatch latch = new CountDownLatch(1);
+        Future<Void> future = WaitForAsyncUtils.async(() -> {
+            latch.await();
+            return null;
+        });
+
+        // when:
+        assertThatThrownBy(() -> WaitForAsyncUtils.waitFor(50, MILLISECONDS, future))
+                .isExactlyInstanceOf(TimeoutException.class);
+
+        // then:
+        assertThat(WaitForAsyncUtils.getActiveTaskCount() > 0, CoreMatchers.is(true));
+        assertThat(WaitForAsyncUtils.getLeakedTaskCount(), CoreMatchers.is(1));
+        latch.countDown();
+        WaitForAsyncUtils.waitFor(future);
+        // the future wakes its waiters before the task is no longer counted as leaked.
+        WaitForAsyncUtils.waitFor(1, SECONDS, () -> WaitForAsyncUtils.getLeakedTaskCount() == 0);
+    }
+
+    @Test
+    public void setExecutorService() throws Exception {
+        // given:
+        ExecutorService executorService = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "custom-async-thread");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // when:
+        WaitForAsyncUtils.setExecutorService(executorService);
+
+        // then:
+        try {
+            assertThat(WaitForAsyncUtils.async(() -> Thread.currentThread().getName()).get(),
+                    CoreMatchers.is("custom-async-thread"));
+        }
+        finally {
+            WaitForAsyncUtils.setExecutorService(AsyncExecutors.create());
+        }
+        assertThat(executorService.isShutdown(), CoreMatchers.is(true));
+    }
+
     void waitForException(Future<?> f) throws InterruptedException {
         Thread.sleep(50);
         assertTrue(f.isDone());
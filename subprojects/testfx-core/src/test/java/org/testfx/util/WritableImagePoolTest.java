@@ -0,0 +1,123 @@
+/*
+ * Copyright 2013-2014 SmartBear Software
+ * Copyright 2014-2024 The TestFX Contributors
+ *
+ * Licensed under the EUPL, Version 1.1 or - as soon they will be approved by the
+ * European Commission - subsequent versions of the EUPL (the "Licence"); You may
+ * not use this work except in compliance with the Licence.
+ *
+ * You may obtain a copy of the Licence at:
+ * http://ec.europa.eu/idabc/eupl.html
+ *
+ * Unless required by applicable law or agreed to in writing, software distributed
+ * under the Licence is distributed on an "AS IS" basis, WITHOUT WARRANTIES OR
+ * CONDITIONS OF ANY KIND, either express or implied. See the Licence for the
+ * specific language governing permissions and limitations under the Licence.
+ */
+package org.testfx.util;
+
+import javafx.geometry.Rectangle2D;
+import javafx.scene.Scene;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import javafx.scene.image.WritableImage;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Region;
+import javafx.scene.paint.Color;
+import javafx.scene.shape.Rectangle;
+
+import org.junit.After;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.testfx.api.FxToolkit;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+public class WritableImagePoolTest {
+
+    @BeforeClass
+    public static void setupSpec() throws Exception {
+        FxToolkit.registerPrimaryStage();
+    }
+
+    @After
+    public void cleanup() {
+        WritableImagePool.clear();
+    }
+
+    @Test
+    public void acquire_reuses_released_image_of_same_size() {
+        // given:
+        WritableImage image = WritableImagePool.acquire(10, 20);
+
+        // when:
+        WritableImagePool.release(image);
+
+        // then:
+        assertThat(WritableImagePool.acquire(20, 10), is(not(sameInstance(image))));
+        assertThat(WritableImagePool.acquire(10, 20), is(sameInstance(image)));
+        assertThat(WritableImagePool.acquire(10, 20), is(not(sameInstance(image))));
+    }
+
+    @Test
+    public void release_ignores_images_not_created_by_pool() {
+        // given:
+        WritableImage image = new WritableImage(10, 20);
+
+        // when:
+        WritableImagePool.release(image);
+
+        // then:
+        assertThat(WritableImagePool.acquire(10, 20), is(not(sameInstance(image))));
+    }
+
+    @Test
+    public void snapshot_node_equals_node_snapshot() throws Exception {
+        // given:
+        Rectangle rectangle = new Rectangle(10.5, 20.25, Color.BLUE);
+        rectangle.setTranslateX(3.5);
+
+        // when:
+        Image[] snapshots = FxToolkit.setupFixture(() ->
+            new Image[] {WritableImagePool.snapshot(rectangle, null), rectangle.snapshot(null, null)});
+
+        // then:
+        assertThat(argbs(snapshots[0]), is(argbs(snapshots[1])));
+    }
+
+    @Test
+    public void snapshot_scene_region() throws Exception {
+        // given:
+        Region leftRegion = new Region();
+        leftRegion.setPrefSize(50, 50);
+        leftRegion.setStyle("-fx-background-color: magenta;");
+        Region rightRegion = new Region();
+        rightRegion.setPrefSize(50, 50);
+        rightRegion.setStyle("-fx-background-color: cyan;");
+        Scene scene = FxToolkit.setupFixture(() -> new Scene(new HBox(leftRegion, rightRegion)));
+
+        // when:
+        Image snapshot = FxToolkit.setupFixture(() ->
+            WritableImagePool.snapshot(scene, new Rectangle2D(45, 10, 10, 5)));
+
+        // then:
+        assertThat(snapshot.getWidth(), is(10.0));
+        assertThat(snapshot.getHeight(), is(5.0));
+        assertThat(snapshot.getPixelReader().getColor(2, 2), is(Color.MAGENTA));
+        assertThat(snapshot.getPixelReader().getColor(7, 2), is(Color.CYAN));
+    }
+
+    private static int[] argbs(Image image) {
+        int width = (int) image.getWidth();
+        int height = (int) image.getHeight();
+        int[] argbs = new int[width * height + 2];
+        argbs[0] = width;
+        argbs[1] = height;
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), argbs, 2, width);
+        return argbs;
+    }
+
+}